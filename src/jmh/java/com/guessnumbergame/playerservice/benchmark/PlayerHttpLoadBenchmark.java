@@ -0,0 +1,136 @@
+package com.guessnumbergame.playerservice.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.config.thread.VirtualThreadConfig;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Compares the throughput of {@code GET /players/{id}} on platform and on
+ * virtual threads under a concurrent load.
+ * <p>
+ * The application is started with the {@code dev} profile, the embedded
+ * PostgreSQL and the disabled caches, so each request queries the database.
+ * The {@code virtualThreads} parameter switches the
+ * {@link VirtualThreadConfig}. The responses other than {@code 200 OK}, e.g.
+ * when a request waits for a pooled connection longer than the connection
+ * timeout, are still counted in the throughput, so they are also reported as
+ * the {@code errors} secondary result.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(400)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PlayerHttpLoadBenchmark {
+
+  private static final String SQL_INSERT_PLAYERS = "INSERT INTO player (username, best_attempts_count) "
+      + "SELECT 'player' || i, i % 50 + 1 FROM generate_series(1, ?) AS i";
+
+  private static final String SQL_SELECT_IDS = "SELECT id FROM player";
+
+  @Param({ "1000" })
+  private int playersCount;
+
+  @Param({ "false", "true" })
+  private boolean virtualThreads;
+
+  private EmbeddedPostgres embeddedPostgres;
+
+  private ConfigurableApplicationContext applicationContext;
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  private URI[] playerUris;
+
+  @Setup
+  public void start() throws IOException {
+    this.embeddedPostgres = EmbeddedPostgres.builder().start();
+    String url = this.embeddedPostgres.getJdbcUrl("postgres", "postgres")
+        + "&currentSchema=guess_number_game_dev";
+    this.applicationContext = new SpringApplicationBuilder(Application.class)
+        .profiles("dev")
+        .run(
+            "--server.port=0",
+            "--spring.datasource.url=" + url,
+            "--spring.jpa.show-sql=false",
+            "--spring.cache.type=none",
+            "--logging.level.root=WARN",
+            "--logging.level.com.guessnumbergame.playerservice=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--app.security.addAdmin=false",
+            "--app.profiling.restControllers=false",
+            "--app.profiling.services=false",
+            "--app.threads.virtual=" + this.virtualThreads);
+    JdbcTemplate jdbcTemplate = this.applicationContext.getBean(JdbcTemplate.class);
+    jdbcTemplate.update(SQL_INSERT_PLAYERS, this.playersCount);
+    List<Long> ids = jdbcTemplate.queryForList(SQL_SELECT_IDS, Long.class);
+    String port = this.applicationContext.getEnvironment().getProperty("local.server.port");
+    this.playerUris = ids.stream()
+        .map(id -> URI.create("http://localhost:" + port + "/players/" + id))
+        .toArray(URI[]::new);
+  }
+
+  @TearDown
+  public void stop() throws IOException {
+    this.applicationContext.close();
+    this.embeddedPostgres.close();
+  }
+
+  @Benchmark
+  public int getById(Responses responses) throws IOException, InterruptedException {
+    URI uri = this.playerUris[ThreadLocalRandom.current().nextInt(this.playerUris.length)];
+    HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+    int statusCode = this.httpClient.send(request, HttpResponse.BodyHandlers.discarding())
+        .statusCode();
+    if (statusCode != HttpStatus.OK.value()) {
+      responses.errors++;
+    }
+    return statusCode;
+  }
+
+  /**
+   * The per-thread count of the responses other than {@code 200 OK}.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Responses {
+
+    public long errors;
+
+  }
+
+}
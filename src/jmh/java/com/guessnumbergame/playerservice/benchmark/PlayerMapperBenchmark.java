@@ -0,0 +1,71 @@
+package com.guessnumbergame.playerservice.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.entity.PlayerEntity;
+import com.guessnumbergame.playerservice.mapper.PlayerMapper;
+import com.guessnumbergame.playerservice.mapper.PlayerMapperImpl;
+
+/**
+ * Measures the conversions of the {@link PlayerMapper}.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlayerMapperBenchmark {
+
+  @Param({ "1", "100", "1000" })
+  private int playersCount;
+
+  private final PlayerMapper playerMapper = new PlayerMapperImpl();
+
+  private List<PlayerSummary> playerSummaries;
+
+  private List<PlayerEntity> playerEntities;
+
+  @Setup
+  public void createPlayers() {
+    this.playerSummaries = new ArrayList<>(this.playersCount);
+    this.playerEntities = new ArrayList<>(this.playersCount);
+    for (int i = 1; i <= this.playersCount; i++) {
+      this.playerSummaries.add(new PlayerSummary((long) i, "player" + i, i % 50 + 1));
+      PlayerEntity playerEntity = new PlayerEntity();
+      playerEntity.setId((long) i);
+      playerEntity.setUsername("player" + i);
+      playerEntity.setBestAttemptsCount(i % 50 + 1);
+      this.playerEntities.add(playerEntity);
+    }
+  }
+
+  @Benchmark
+  public List<PlayerSummary> playerEntityToPlayerSummary() {
+    return this.playerMapper.playerEntityToPlayerSummary(this.playerEntities);
+  }
+
+  @Benchmark
+  public List<PlayerEntity> playerSummaryToPlayerEntity() {
+    return this.playerMapper.playerSummaryToPlayerEntity(this.playerSummaries);
+  }
+
+}
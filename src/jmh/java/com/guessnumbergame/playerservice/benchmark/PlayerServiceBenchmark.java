@@ -0,0 +1,126 @@
+package com.guessnumbergame.playerservice.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.config.cache.CacheConfig;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.profiling.ProfilingServicesAspect;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Measures the {@link PlayerService} reads against an embedded PostgreSQL.
+ * <p>
+ * The application is started with the {@code dev} profile and the embedded
+ * database. The {@code profilingServices} parameter switches the
+ * {@link ProfilingServicesAspect}, so the difference between its values is the
+ * overhead of the aspect.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlayerServiceBenchmark {
+
+  private static final String SQL_INSERT_PLAYERS = "INSERT INTO player (username, best_attempts_count) "
+      + "SELECT 'player' || i, i % 50 + 1 FROM generate_series(1, ?) AS i";
+
+  private static final String SQL_SELECT_IDS = "SELECT id FROM player";
+
+  @Param({ "1000" })
+  private int playersCount;
+
+  @Param({ "false", "true" })
+  private boolean profilingServices;
+
+  private EmbeddedPostgres embeddedPostgres;
+
+  private ConfigurableApplicationContext applicationContext;
+
+  private PlayerService playerService;
+
+  private Cache playersByIdCache;
+
+  private Long[] ids;
+
+  @Setup
+  public void start() throws IOException {
+    this.embeddedPostgres = EmbeddedPostgres.builder().start();
+    String url = this.embeddedPostgres.getJdbcUrl("postgres", "postgres")
+        + "&currentSchema=guess_number_game_dev";
+    this.applicationContext = new SpringApplicationBuilder(Application.class)
+        .profiles("dev")
+        .run(
+            "--server.port=0",
+            "--spring.datasource.url=" + url,
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.guessnumbergame.playerservice=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--app.security.addAdmin=false",
+            "--app.profiling.services=" + this.profilingServices);
+    JdbcTemplate jdbcTemplate = this.applicationContext.getBean(JdbcTemplate.class);
+    jdbcTemplate.update(SQL_INSERT_PLAYERS, this.playersCount);
+    List<Long> ids = jdbcTemplate.queryForList(SQL_SELECT_IDS, Long.class);
+    this.ids = ids.toArray(Long[]::new);
+    this.playerService = this.applicationContext.getBean(PlayerService.class);
+    this.playersByIdCache = this.applicationContext.getBean(CacheManager.class)
+        .getCache(CacheConfig.PLAYERS_BY_ID);
+  }
+
+  @TearDown
+  public void stop() throws IOException {
+    this.applicationContext.close();
+    this.embeddedPostgres.close();
+  }
+
+  @Benchmark
+  public List<PlayerSummary> getAll() {
+    return this.playerService.getAll();
+  }
+
+  @Benchmark
+  public PlayerSummary getById_cached() {
+    return this.playerService.getById(randomId());
+  }
+
+  @Benchmark
+  public PlayerSummary getById_uncached() {
+    Long id = randomId();
+    this.playersByIdCache.evict(id);
+    return this.playerService.getById(id);
+  }
+
+  private Long randomId() {
+    return this.ids[ThreadLocalRandom.current().nextInt(this.ids.length)];
+  }
+
+}
@@ -0,0 +1,59 @@
+package com.guessnumbergame.playerservice.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+
+/**
+ * Measures the JSON serialization of {@link PlayerSummary} lists, as they are
+ * written by the {@code GET /players} responses.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlayerSummaryJsonBenchmark {
+
+  @Param({ "1", "100", "1000" })
+  private int playersCount;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private List<PlayerSummary> players;
+
+  @Setup
+  public void createPlayers() {
+    this.players = new ArrayList<>(this.playersCount);
+    for (int i = 1; i <= this.playersCount; i++) {
+      this.players.add(new PlayerSummary((long) i, "player" + i, i % 50 + 1));
+    }
+  }
+
+  @Benchmark
+  public byte[] writeValueAsBytes() throws JsonProcessingException {
+    return this.objectMapper.writeValueAsBytes(this.players);
+  }
+
+}
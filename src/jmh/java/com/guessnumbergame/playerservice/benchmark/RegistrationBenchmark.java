@@ -0,0 +1,120 @@
+package com.guessnumbergame.playerservice.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.UserDetailsManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.User;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Measures the throughput of the registration writes against an embedded
+ * PostgreSQL.
+ * <p>
+ * The {@code separateStatements} benchmark is the former registration: the
+ * {@link UserDetailsManager} inserts the user and the authorities and then the
+ * {@link PlayerService} inserts the player through JPA. The
+ * {@code singleStatement} benchmark is the current registration by
+ * {@link PlayerRepository#createWithUser}. Both run in one transaction with a
+ * precomputed password hash, so only the database writes are compared.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RegistrationBenchmark {
+
+  private final AtomicLong usernameCounter = new AtomicLong();
+
+  private EmbeddedPostgres embeddedPostgres;
+
+  private ConfigurableApplicationContext applicationContext;
+
+  private UserDetailsManager userDetailsManager;
+
+  private PlayerService playerService;
+
+  private PlayerRepository playerRepository;
+
+  private TransactionTemplate transactionTemplate;
+
+  private String passwordHash;
+
+  @Setup
+  public void start() throws IOException {
+    this.embeddedPostgres = EmbeddedPostgres.builder().start();
+    String url = this.embeddedPostgres.getJdbcUrl("postgres", "postgres")
+        + "&currentSchema=guess_number_game_dev";
+    this.applicationContext = new SpringApplicationBuilder(Application.class)
+        .profiles("dev")
+        .run(
+            "--server.port=0",
+            "--spring.datasource.url=" + url,
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.guessnumbergame.playerservice=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--app.security.addAdmin=false");
+    this.userDetailsManager = this.applicationContext.getBean(UserDetailsManager.class);
+    this.playerService = this.applicationContext.getBean(PlayerService.class);
+    this.playerRepository = this.applicationContext.getBean(PlayerRepository.class);
+    this.transactionTemplate = this.applicationContext.getBean(TransactionTemplate.class);
+    this.passwordHash = "{bcrypt}" + new BCryptPasswordEncoder().encode("password");
+  }
+
+  @TearDown
+  public void stop() throws IOException {
+    this.applicationContext.close();
+    this.embeddedPostgres.close();
+  }
+
+  @Benchmark
+  public PlayerSummary separateStatements() {
+    User user = nextUser();
+    return this.transactionTemplate.execute(status -> {
+      this.userDetailsManager.createUser(user);
+      return this.playerService.create(new PlayerSummary(null, user.getUsername(), null));
+    });
+  }
+
+  @Benchmark
+  public PlayerSummary singleStatement() {
+    User user = nextUser();
+    return this.transactionTemplate
+        .execute(status -> this.playerRepository.createWithUser(user));
+  }
+
+  private User nextUser() {
+    return new User("user" + this.usernameCounter.incrementAndGet(), this.passwordHash);
+  }
+
+}
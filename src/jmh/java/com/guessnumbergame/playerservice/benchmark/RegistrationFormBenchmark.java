@@ -0,0 +1,63 @@
+package com.guessnumbergame.playerservice.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.guessnumbergame.playerservice.dto.RegistrationForm;
+import com.guessnumbergame.playerservice.dto.User;
+
+/**
+ * Measures {@link RegistrationForm#toUser(PasswordEncoder)}.
+ * <p>
+ * The {@code noop} encoder shows the cost of decoding the credentials, the
+ * {@code bcrypt} encoder is the one used by the application.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RegistrationFormBenchmark {
+
+  @Param({ "noop", "bcrypt" })
+  private String passwordEncoderName;
+
+  private PasswordEncoder passwordEncoder;
+
+  private final RegistrationForm registrationForm = new RegistrationForm(Base64.getEncoder()
+      .encodeToString("username:password".getBytes(StandardCharsets.UTF_8)));
+
+  @SuppressWarnings("deprecation")
+  @Setup
+  public void createPasswordEncoder() {
+    this.passwordEncoder = "bcrypt".equals(this.passwordEncoderName)
+        ? new BCryptPasswordEncoder()
+        : NoOpPasswordEncoder.getInstance();
+  }
+
+  @Benchmark
+  public User toUser() {
+    return this.registrationForm.toUser(this.passwordEncoder);
+  }
+
+}
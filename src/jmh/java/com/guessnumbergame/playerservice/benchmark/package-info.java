@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks of the player read and write paths.
+ */
+package com.guessnumbergame.playerservice.benchmark;
\ No newline at end of file
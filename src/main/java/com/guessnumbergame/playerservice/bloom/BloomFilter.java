@@ -0,0 +1,137 @@
+package com.guessnumbergame.playerservice.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter of strings.
+ * <p>
+ * The filter never reports an added string as absent, but may report an
+ * absent string as present with the false positive probability it was sized
+ * for. The strings can't be removed.
+ * <p>
+ * Each string sets {@code k} bits chosen by double hashing of its 64-bit hash.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerUsernameFilter
+ */
+final class BloomFilter {
+
+  private static final double LN_2 = Math.log(2);
+
+  private final AtomicLongArray words;
+
+  private final long bitCount;
+
+  private final int hashCount;
+
+  private BloomFilter(long bitCount, int hashCount) {
+    this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) / 64));
+    this.bitCount = bitCount;
+    this.hashCount = hashCount;
+  }
+
+  /**
+   * Creates the filter sized for the given count of strings and the false
+   * positive probability.
+   * 
+   * @param expectedInsertions a {@code long} representing the expected count
+   *        of strings
+   * @param falsePositiveProbability a {@code double} representing the desired
+   *        false positive probability
+   * @return a new empty {@code BloomFilter}
+   */
+  static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException(
+          "Expected insertions must be positive: " + expectedInsertions);
+    }
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException(
+          "False positive probability must be in (0, 1): " + falsePositiveProbability);
+    }
+    long bitCount = Math.max(64,
+        (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN_2 * LN_2)));
+    int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN_2));
+    return new BloomFilter(bitCount, hashCount);
+  }
+
+  /**
+   * Adds the string to the filter.
+   * 
+   * @param value a {@code String} to add
+   */
+  void put(String value) {
+    long hash1 = hash(value);
+    long hash2 = secondHash(hash1);
+    for (int i = 0; i < this.hashCount; i++) {
+      long bit = bit(hash1, hash2, i);
+      long mask = 1L << bit;
+      int wordIndex = (int) (bit >>> 6);
+      if ((this.words.get(wordIndex) & mask) == 0) {
+        this.words.getAndAccumulate(wordIndex, mask, (word, bits) -> word | bits);
+      }
+    }
+  }
+
+  /**
+   * Checks whether the string might have been added to the filter.
+   * 
+   * @param value a {@code String} to check
+   * @return {@code false} if the string definitely wasn't added
+   */
+  boolean mightContain(String value) {
+    long hash1 = hash(value);
+    long hash2 = secondHash(hash1);
+    for (int i = 0; i < this.hashCount; i++) {
+      long bit = bit(hash1, hash2, i);
+      if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the size of the filter in bytes.
+   * 
+   * @return a {@code long} representing the memory taken by the bits
+   */
+  long byteSize() {
+    return this.words.length() * 8L;
+  }
+
+  int hashCount() {
+    return this.hashCount;
+  }
+
+  private long bit(long hash1, long hash2, int i) {
+    return Math.floorMod(hash1 + i * hash2, this.bitCount);
+  }
+
+  private static long hash(String value) {
+    long hash = 0xCBF29CE484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001B3L;
+    }
+    return mix(hash);
+  }
+
+  private static long secondHash(long hash1) {
+    return mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+}
@@ -0,0 +1,162 @@
+package com.guessnumbergame.playerservice.bloom;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Bloom filter of usernames of all existing players.
+ * <p>
+ * The filter allows to answer that a player with the given username doesn't
+ * exist without querying the {@link PlayerRepository}. Until the filter is
+ * loaded, every username might exist.
+ * <p>
+ * A username is added before the player is inserted, so it's never absent
+ * from the filter while the player exists. The usernames being inserted are
+ * also added to the filter which is being rebuilt. The usernames of deleted
+ * players can't be removed and are dropped by the periodic rebuild.
+ * <p>
+ * The usernames of players inserted by other instances of the service are
+ * added on the {@link PlayerChangeNotifiedEvent}, and the filter is rebuilt
+ * on the {@link ChangeNotificationsMissedEvent}.
+ * <p>
+ * The size of the filter is chosen by the expected count of players and the
+ * false positive probability. The rebuilt filter is sized for at least twice
+ * the current count of players.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see BloomFilter
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlayerUsernameFilter {
+
+  private final PlayerRepository playerRepository;
+
+  @Value("${app.players.username-filter.expected-insertions}")
+  private long expectedInsertions;
+
+  @Value("${app.players.username-filter.false-positive-probability}")
+  private double falsePositiveProbability;
+
+  private final Map<String, Integer> pendingUsernames = new HashMap<>();
+
+  private volatile BloomFilter current;
+
+  private BloomFilter building;
+
+  /**
+   * Checks whether the player with the given username might exist.
+   * 
+   * @param username a {@code String} representing the player's username
+   * @return {@code false} if the player with the given username definitely
+   *         doesn't exist
+   */
+  public boolean mightContain(String username) {
+    BloomFilter filter = this.current;
+    return filter == null || filter.mightContain(username);
+  }
+
+  /**
+   * Adds the username of the player which is being inserted.<br />
+   * If there's an active transaction, the username is also kept for the
+   * filter which is being rebuilt until the transaction completes and is added
+   * again after the commit.
+   * 
+   * @param username a {@code String} representing the player's username
+   */
+  public synchronized void put(String username) {
+    doPut(username);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      this.pendingUsernames.merge(username, 1, Integer::sum);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+        @Override
+        public void afterCompletion(int status) {
+          release(username, status == STATUS_COMMITTED);
+        }
+
+      });
+    }
+  }
+
+  @EventListener
+  public void onPlayerChangeNotified(PlayerChangeNotifiedEvent event) {
+    if (!event.isDeleted()) {
+      put(event.getUsername());
+    }
+  }
+
+  private synchronized void release(String username, boolean committed) {
+    if (committed) {
+      doPut(username);
+    }
+    this.pendingUsernames.computeIfPresent(username, (key, count) -> count == 1 ? null : count - 1);
+  }
+
+  private void doPut(String username) {
+    if (this.current != null) {
+      this.current.put(username);
+    }
+    if (this.building != null) {
+      this.building.put(username);
+    }
+  }
+
+  /**
+   * Loads the usernames of all players from the repository and replaces the
+   * current filter.
+   */
+  @EventListener({ ApplicationReadyEvent.class, ChangeNotificationsMissedEvent.class })
+  @Scheduled(initialDelayString = "${app.players.username-filter.rebuild-delay}",
+      fixedDelayString = "${app.players.username-filter.rebuild-delay}")
+  @Transactional(readOnly = true)
+  public void load() {
+    long playersCount = this.playerRepository.count();
+    BloomFilter loadedFilter = BloomFilter.create(
+        Math.max(this.expectedInsertions, playersCount * 2), this.falsePositiveProbability);
+    synchronized (this) {
+      if (this.building != null) {
+        return;
+      }
+      this.building = loadedFilter;
+    }
+    this.playerRepository.excludeFromChangesWatermark();
+    try (Stream<String> usernames = this.playerRepository.streamAllUsernames()) {
+      usernames.forEach(loadedFilter::put);
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        this.building = null;
+      }
+      throw e;
+    }
+    synchronized (this) {
+      this.pendingUsernames.keySet().forEach(loadedFilter::put);
+      this.current = loadedFilter;
+      this.building = null;
+    }
+    log.info("Loaded the username filter: {} bytes, {} hash functions",
+        loadedFilter.byteSize(), loadedFilter.hashCount());
+  }
+
+}
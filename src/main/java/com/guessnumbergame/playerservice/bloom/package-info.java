@@ -0,0 +1,4 @@
+/**
+ * Bloom filters over players.
+ */
+package com.guessnumbergame.playerservice.bloom;
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.guessnumbergame.playerservice.buffer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+import com.guessnumbergame.playerservice.exception.BestResultBufferFullException;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The write-behind buffer of best results.
+ * <p>
+ * The submitted results are kept in memory and only the best result per
+ * player is kept. The buffer is periodically flushed to the
+ * {@link PlayerRepository} by one set-based statement. The results which
+ * failed to be flushed are returned to the buffer.
+ * <p>
+ * The buffer holds a limited count of players. A result for a new player is
+ * rejected with the {@link BestResultBufferFullException} when the buffer is
+ * full. The buffer is flushed and closed on shutdown.
+ * <p>
+ * The buffer publishes the following metrics:
+ * <ul>
+ * <li>{@code best.results.buffer.size} - the count of players waiting to be
+ * flushed;</li>
+ * <li>{@code best.results.buffer.submissions} - the count of submitted
+ * results;</li>
+ * <li>{@code best.results.buffer.rejections} - the count of rejected
+ * results;</li>
+ * <li>{@code best.results.buffer.flush} - the latency of flushes;</li>
+ * <li>{@code best.results.buffer.coalescing.ratio} - the count of results
+ * per flushed player.</li>
+ * </ul>
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerRepository
+ */
+@Component
+@Slf4j
+public class BestResultBuffer {
+
+  private final PlayerRepository playerRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final ApplicationContext applicationContext;
+
+  private final boolean enabled;
+
+  private final int capacity;
+
+  private final Duration retryAfter;
+
+  private final Map<Long, Integer> bestAttemptsCounts = new ConcurrentHashMap<>();
+
+  private final AtomicLong pendingSubmissions = new AtomicLong();
+
+  private final Counter submissions;
+
+  private final Counter rejections;
+
+  private final Timer flushTimer;
+
+  private final DistributionSummary coalescingRatio;
+
+  private volatile boolean closed;
+
+  public BestResultBuffer(PlayerRepository playerRepository,
+      TransactionTemplate transactionTemplate, ApplicationContext applicationContext,
+      MeterRegistry meterRegistry,
+      @Value("${app.players.best-results.write-behind.enabled}") boolean enabled,
+      @Value("${app.players.best-results.write-behind.capacity}") int capacity,
+      @Value("${app.players.best-results.write-behind.flush-delay}") Duration flushDelay) {
+    this.playerRepository = playerRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.applicationContext = applicationContext;
+    this.enabled = enabled;
+    this.capacity = capacity;
+    this.retryAfter = flushDelay.compareTo(Duration.ofSeconds(1)) < 0
+        ? Duration.ofSeconds(1)
+        : flushDelay;
+    Gauge.builder("best.results.buffer.size", this.bestAttemptsCounts, Map::size)
+        .description("The count of players waiting to be flushed")
+        .register(meterRegistry);
+    this.submissions = Counter.builder("best.results.buffer.submissions")
+        .description("The count of submitted results")
+        .register(meterRegistry);
+    this.rejections = Counter.builder("best.results.buffer.rejections")
+        .description("The count of results rejected because the buffer was full")
+        .register(meterRegistry);
+    this.flushTimer = Timer.builder("best.results.buffer.flush")
+        .description("The latency of flushing the buffer")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.coalescingRatio = DistributionSummary.builder("best.results.buffer.coalescing.ratio")
+        .description("The count of results per flushed player")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Shows whether the results should be submitted to the buffer instead of
+   * being saved immediately.
+   * 
+   * @return {@code true} if the write-behind mode is enabled
+   */
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * Accepts the result of the player. Keeps the best result if the player
+   * already has one in the buffer.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @param bestAttemptsCount an {@code int} representing the attempts count of
+   *        the finished game
+   * @throws BestResultBufferFullException if the buffer is full or closed
+   */
+  public void submit(Long id, int bestAttemptsCount) {
+    if (this.closed
+        || this.bestAttemptsCounts.size() >= this.capacity
+            && !this.bestAttemptsCounts.containsKey(id)) {
+      this.rejections.increment();
+      throw new BestResultBufferFullException(this.retryAfter);
+    }
+    this.bestAttemptsCounts.merge(id, bestAttemptsCount, Math::min);
+    this.pendingSubmissions.incrementAndGet();
+    this.submissions.increment();
+  }
+
+  /**
+   * Saves the buffered results into the repository.
+   */
+  @Scheduled(initialDelayString = "${app.players.best-results.write-behind.flush-delay}",
+      fixedDelayString = "${app.players.best-results.write-behind.flush-delay}")
+  public synchronized void flush() {
+    if (this.bestAttemptsCounts.isEmpty()) {
+      return;
+    }
+    SortedMap<Long, Integer> flushedCounts = new TreeMap<>();
+    for (Long id : this.bestAttemptsCounts.keySet()) {
+      Integer bestAttemptsCount = this.bestAttemptsCounts.remove(id);
+      if (bestAttemptsCount != null) {
+        flushedCounts.put(id, bestAttemptsCount);
+      }
+    }
+    long flushedSubmissions = this.pendingSubmissions.getAndSet(0);
+    try {
+      int changedCount = this.flushTimer.recordCallable(() -> this.transactionTemplate
+          .execute(status -> save(flushedCounts)));
+      this.coalescingRatio.record((double) flushedSubmissions / flushedCounts.size());
+      log.debug("Flushed {} results for {} players, {} players changed", flushedSubmissions,
+          flushedCounts.size(), changedCount);
+    } catch (Exception e) {
+      log.error("Failed to flush {} results, returning them to the buffer", flushedCounts.size(),
+          e);
+      flushedCounts.forEach((id, bestAttemptsCount) -> this.bestAttemptsCounts.merge(id,
+          bestAttemptsCount, Math::min));
+      this.pendingSubmissions.addAndGet(flushedSubmissions);
+    }
+  }
+
+  private int save(SortedMap<Long, Integer> flushedCounts) {
+    int changedCount = 0;
+    for (PlayerSummary player : this.playerRepository.improveBestResults(flushedCounts)) {
+      this.applicationContext.publishEvent(new PlayerSavedEvent(player));
+      changedCount++;
+    }
+    return changedCount;
+  }
+
+  /**
+   * Closes the buffer and flushes the remaining results.
+   */
+  @PreDestroy
+  public void close() {
+    this.closed = true;
+    flush();
+    if (!this.bestAttemptsCounts.isEmpty()) {
+      log.error("Lost {} results which failed to be flushed on shutdown: {}",
+          this.bestAttemptsCounts.size(), this.bestAttemptsCounts);
+    }
+  }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Write-behind buffer of best results.
+ */
+package com.guessnumbergame.playerservice.buffer;
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.guessnumbergame.playerservice.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.guessnumbergame.playerservice.config.cache.CacheConfig;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.PlayerDeletedEvent;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the caches of players current.
+ * <p>
+ * A saved player is written through into the caches and a deleted player is
+ * evicted from them. The versions of a saved or deleted player are evicted,
+ * because the saved player doesn't contain the version. The changes are
+ * applied after the transaction which changed the player is committed, so
+ * the rolled back changes never reach the caches.
+ * <p>
+ * A player changed by any instance of the service is evicted from the caches
+ * on the {@link PlayerChangeNotifiedEvent}, and all caches are cleared on the
+ * {@link ChangeNotificationsMissedEvent}.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see CacheConfig
+ */
+@Component
+@RequiredArgsConstructor
+public class PlayerCacheUpdater {
+
+  private final CacheManager cacheManager;
+
+  @TransactionalEventListener
+  public void onPlayerSaved(PlayerSavedEvent event) {
+    PlayerSummary player = event.getPlayer();
+    getCache(CacheConfig.PLAYERS_BY_ID).put(player.getId(), player);
+    getCache(CacheConfig.PLAYERS_BY_USERNAME).put(player.getUsername(), player);
+    getCache(CacheConfig.PLAYER_VERSIONS_BY_ID).evict(player.getId());
+    getCache(CacheConfig.PLAYER_VERSIONS_BY_USERNAME).evict(player.getUsername());
+  }
+
+  @TransactionalEventListener
+  public void onPlayerDeleted(PlayerDeletedEvent event) {
+    getCache(CacheConfig.PLAYERS_BY_ID).evict(event.getId());
+    getCache(CacheConfig.PLAYER_VERSIONS_BY_ID).evict(event.getId());
+    if (event.getUsername() != null) {
+      getCache(CacheConfig.PLAYERS_BY_USERNAME).evict(event.getUsername());
+      getCache(CacheConfig.PLAYER_VERSIONS_BY_USERNAME).evict(event.getUsername());
+    }
+  }
+
+  @EventListener
+  public void onPlayerChangeNotified(PlayerChangeNotifiedEvent event) {
+    getCache(CacheConfig.PLAYERS_BY_ID).evict(event.getId());
+    getCache(CacheConfig.PLAYERS_BY_USERNAME).evict(event.getUsername());
+    getCache(CacheConfig.PLAYER_VERSIONS_BY_ID).evict(event.getId());
+    getCache(CacheConfig.PLAYER_VERSIONS_BY_USERNAME).evict(event.getUsername());
+  }
+
+  @EventListener(ChangeNotificationsMissedEvent.class)
+  public void onChangeNotificationsMissed() {
+    getCache(CacheConfig.PLAYERS_BY_ID).clear();
+    getCache(CacheConfig.PLAYERS_BY_USERNAME).clear();
+    getCache(CacheConfig.PLAYER_VERSIONS_BY_ID).clear();
+    getCache(CacheConfig.PLAYER_VERSIONS_BY_USERNAME).clear();
+  }
+
+  private Cache getCache(String name) {
+    Cache cache = this.cacheManager.getCache(name);
+    if (cache == null) {
+      throw new IllegalStateException("Can't find cache '" + name + "'");
+    }
+    return cache;
+  }
+
+}
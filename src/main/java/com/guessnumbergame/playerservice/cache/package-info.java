@@ -0,0 +1,4 @@
+/**
+ * Updaters of the caches of players.
+ */
+package com.guessnumbergame.playerservice.cache;
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.guessnumbergame.playerservice.changes;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically deletes the tombstones of the players deleted earlier than
+ * {@code app.players.changes.tombstone-retention} before the watermark of the
+ * changes.
+ * <p>
+ * The tombstones are inserted by a trigger when the players are deleted and
+ * are returned by {@link PlayerService#getChanges(String, int)}, which rejects
+ * the tokens older than the retention before the watermark too. The
+ * watermark is found by the database clock and never moves back, so a
+ * tombstone is deleted only after the tokens which could need it are
+ * rejected.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerRepository#deleteTombstonesBefore(java.time.Instant)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlayerTombstoneCleaner {
+
+  private final PlayerRepository playerRepository;
+
+  @Value("${app.players.changes.tombstone-retention}")
+  private Duration tombstoneRetention;
+
+  @Value("${app.players.changes.settle-delay}")
+  private Duration changesSettleDelay;
+
+  /**
+   * Deletes the tombstones older than the retention.
+   */
+  @Scheduled(initialDelayString = "${app.players.changes.tombstone-cleanup-delay}",
+      fixedDelayString = "${app.players.changes.tombstone-cleanup-delay}")
+  @Transactional
+  public void deleteExpiredTombstones() {
+    int deletedCount = this.playerRepository.deleteTombstonesBefore(this.playerRepository
+        .findChangesWatermark(this.changesSettleDelay).minus(this.tombstoneRetention));
+    log.debug("Deleted {} expired player tombstones", deletedCount);
+  }
+
+}
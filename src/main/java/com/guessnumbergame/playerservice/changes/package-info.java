@@ -0,0 +1,4 @@
+/**
+ * Maintenance of the changes of players.
+ */
+package com.guessnumbergame.playerservice.changes;
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.guessnumbergame.playerservice.config.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache settings.
+ * <p>
+ * The caches are provided by Caffeine and are configured by the
+ * {@code spring.cache.*} properties. Their hit, miss and eviction statistics
+ * are published as the {@code cache.*} metrics.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  /**
+   * The cache of {@code PlayerSummary} objects by the player's id.
+   */
+  public static final String PLAYERS_BY_ID = "playersById";
+
+  /**
+   * The cache of {@code PlayerSummary} objects by the player's username.
+   */
+  public static final String PLAYERS_BY_USERNAME = "playersByUsername";
+
+  /**
+   * The cache of {@code PlayerVersion} objects by the player's id.
+   */
+  public static final String PLAYER_VERSIONS_BY_ID = "playerVersionsById";
+
+  /**
+   * The cache of {@code PlayerVersion} objects by the player's username.
+   */
+  public static final String PLAYER_VERSIONS_BY_USERNAME = "playerVersionsByUsername";
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Cache configuration.
+ */
+package com.guessnumbergame.playerservice.config.cache;
\ No newline at end of file
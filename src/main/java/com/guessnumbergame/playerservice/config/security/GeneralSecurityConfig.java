@@ -1,24 +1,50 @@
 package com.guessnumbergame.playerservice.config.security;
 
+import java.time.Duration;
+import java.util.Map;
+
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.JdbcUserDetailsManager;
 import org.springframework.security.provisioning.UserDetailsManager;
 
 import com.guessnumbergame.playerservice.dto.User;
 import com.guessnumbergame.playerservice.mapper.PlayerMapper;
+import com.guessnumbergame.playerservice.security.BoundedPasswordEncoder;
+import com.guessnumbergame.playerservice.security.CachingUserDetailsManager;
+import com.guessnumbergame.playerservice.security.CalibratedBCryptPasswordEncoder;
+import com.guessnumbergame.playerservice.security.EventPublishingUserDetailsManager;
+import com.guessnumbergame.playerservice.security.JdbcUserDetailsPasswordManager;
 import com.guessnumbergame.playerservice.service.PlayerService;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * General security settings.
+ * <p>
+ * The users are cached by the {@code CachingUserDetailsManager} if
+ * {@code app.security.users-cache.enabled} is {@code true}. The changes of the
+ * users are published as the {@code UserChangedEvent}.
+ * The HTTP Basic authentications are cached by the
+ * {@code CachingAuthenticationProvider} if
+ * {@code app.security.credentials-cache.enabled} is {@code true}.
+ * <p>
+ * The passwords are hashed and verified by the {@code BoundedPasswordEncoder}
+ * on a pool of one thread per CPU, so a burst of registrations or logins
+ * can't take all request threads and CPUs. The BCrypt strength is calibrated
+ * at startup to fit {@code app.security.password-hashing.target-time}. The
+ * hashes are prefixed with {@code {bcrypt}} and are rehashed on successful
+ * logins if they were made with another strength or without the prefix.
  * 
  * @author Luke Sukhanov
  * @version 1.0
@@ -27,14 +53,40 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GeneralSecurityConfig {
 
+  private static final String BCRYPT_ID = "bcrypt";
+
   @Bean
-  UserDetailsManager defaultUserDetailsManager(DataSource dataSource) {
-    return new JdbcUserDetailsManager(dataSource);
+  UserDetailsManager defaultUserDetailsManager(DataSource dataSource,
+      ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+      @Value("${app.security.users-cache.enabled}") boolean usersCacheEnabled,
+      @Value("${app.security.users-cache.time-to-live}") Duration usersCacheTimeToLive,
+      @Value("${app.security.users-cache.maximum-size}") long usersCacheMaximumSize) {
+    JdbcUserDetailsManager jdbcUserDetailsManager = new JdbcUserDetailsPasswordManager(dataSource);
+    UserDetailsManager userDetailsManager = usersCacheEnabled
+        ? new CachingUserDetailsManager(jdbcUserDetailsManager, meterRegistry,
+            usersCacheTimeToLive, usersCacheMaximumSize)
+        : jdbcUserDetailsManager;
+    return new EventPublishingUserDetailsManager(userDetailsManager, eventPublisher);
   }
 
   @Bean
-  PasswordEncoder defaultPasswordEncoder() {
-    return new BCryptPasswordEncoder();
+  PasswordEncoder defaultPasswordEncoder(MeterRegistry meterRegistry,
+      @Value("${app.security.password-hashing.target-time}") Duration targetTime,
+      @Value("${app.security.password-hashing.min-strength}") int minStrength,
+      @Value("${app.security.password-hashing.max-strength}") int maxStrength,
+      @Value("${app.security.password-hashing.queue-capacity}") int queueCapacity,
+      @Value("${app.security.password-hashing.retry-after}") Duration retryAfter) {
+    CalibratedBCryptPasswordEncoder bcrypt = CalibratedBCryptPasswordEncoder
+        .calibrate(targetTime, minStrength, maxStrength);
+    Gauge.builder("password.hashing.strength", bcrypt,
+        CalibratedBCryptPasswordEncoder::getStrength)
+        .description("The calibrated BCrypt strength")
+        .register(meterRegistry);
+    DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(
+        BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+    delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    return new BoundedPasswordEncoder(delegatingPasswordEncoder,
+        Runtime.getRuntime().availableProcessors(), queueCapacity, retryAfter, meterRegistry);
   }
 
   @Bean
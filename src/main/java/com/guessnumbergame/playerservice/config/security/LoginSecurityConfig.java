@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,15 +18,19 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.guessnumbergame.playerservice.controller.LoginController;
+import com.guessnumbergame.playerservice.exception.PasswordHashingRejectedException;
 
 import lombok.RequiredArgsConstructor;
 
 /**
  * Security configuration for the {@code /login} endpoint.
+ * <p>
+ * In the token mode the HTTP session isn't created on login.
  * 
  * @author Luke Sukhanov
  * @version 1.0
  * @see LoginController
+ * @see TokenSecurityConfig
  */
 @Configuration
 @RequiredArgsConstructor
@@ -36,7 +41,8 @@ public class LoginSecurityConfig {
 
   @Bean
   @Order(2)
-  SecurityFilterChain loginSecurityFilterChain(HttpSecurity http) throws Exception {
+  SecurityFilterChain loginSecurityFilterChain(HttpSecurity http,
+      @Value("${app.security.token.enabled}") boolean tokenEnabled) throws Exception {
     return http
         .securityMatcher("/login")
         .securityContext(securityContext -> securityContext
@@ -55,7 +61,9 @@ public class LoginSecurityConfig {
         .anonymous(anonymous -> anonymous
             .disable())
         .sessionManagement(sessionManagement -> sessionManagement
-            .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+            .sessionCreationPolicy(tokenEnabled
+                ? SessionCreationPolicy.STATELESS
+                : SessionCreationPolicy.IF_REQUIRED))
         .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
             .requestMatchers(HttpMethod.POST, "/login").permitAll())
         .build();
@@ -77,6 +85,12 @@ public class LoginSecurityConfig {
   @Bean
   AuthenticationEntryPoint loginAuthenticationEntryPoint() {
     return (request, response, e) -> {
+      if (e instanceof PasswordHashingRejectedException rejected) {
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+            String.valueOf(rejected.getRetryAfter().toSeconds()));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getMessage());
+        return;
+      }
       response.sendError(HttpStatus.UNAUTHORIZED.value(),
           HttpStatus.UNAUTHORIZED.getReasonPhrase());
     };
@@ -2,14 +2,18 @@ package com.guessnumbergame.playerservice.config.security;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
@@ -17,15 +21,21 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.guessnumbergame.playerservice.controller.PlayerController;
+import com.guessnumbergame.playerservice.exception.PasswordHashingRejectedException;
 
 import lombok.RequiredArgsConstructor;
 
 /**
  * Security configuration for the {@code /players/**} endpoints.
+ * <p>
+ * In the token mode the endpoints also accept the {@code Authorization: Bearer}
+ * header with the token issued by the {@code /login} endpoint, and the HTTP
+ * sessions aren't created.
  * 
  * @author Luke Sukhanov
  * @version 1.0
  * @see PlayerController
+ * @see TokenSecurityConfig
  */
 @Configuration
 @RequiredArgsConstructor
@@ -36,7 +46,17 @@ public class PlayerSecurityConfig {
 
   @Bean
   @Order(1)
-  SecurityFilterChain playerSecurityFilterChain(HttpSecurity http) throws Exception {
+  SecurityFilterChain playerSecurityFilterChain(HttpSecurity http,
+      ObjectProvider<JwtDecoder> tokenDecoder,
+      ObjectProvider<JwtAuthenticationConverter> tokenAuthenticationConverter) throws Exception {
+    JwtDecoder decoder = tokenDecoder.getIfAvailable();
+    if (decoder != null) {
+      http.oauth2ResourceServer(oauth2ResourceServer -> oauth2ResourceServer
+          .authenticationEntryPoint(playerAuthenticationEntryPoint())
+          .jwt(jwt -> jwt
+              .decoder(decoder)
+              .jwtAuthenticationConverter(tokenAuthenticationConverter.getObject())));
+    }
     return http
         .securityMatcher("/players/**")
         .securityContext(securityContext -> securityContext
@@ -55,10 +75,14 @@ public class PlayerSecurityConfig {
         .anonymous(anonymous -> anonymous
             .disable())
         .sessionManagement(sessionManagement -> sessionManagement
-            .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+            .sessionCreationPolicy(decoder == null
+                ? SessionCreationPolicy.IF_REQUIRED
+                : SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
             .requestMatchers(HttpMethod.GET, "/players/**").permitAll()
             .requestMatchers(HttpMethod.POST, "/players").permitAll()
+            .requestMatchers(HttpMethod.POST, "/players/batch").hasRole("ADMIN")
+            .requestMatchers(HttpMethod.POST, "/players/bestResults").hasRole("ADMIN")
             .requestMatchers(HttpMethod.PUT, "/players/**").hasRole("USER")
             .requestMatchers(HttpMethod.PATCH, "/players/**").hasRole("USER")
             .requestMatchers(HttpMethod.DELETE, "/players/**").hasRole("ADMIN"))
@@ -70,7 +94,7 @@ public class PlayerSecurityConfig {
     CorsConfiguration configuration = new CorsConfiguration();
     configuration.setAllowedOrigins(Arrays.asList(this.corsOrigins));
     configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE"));
-    configuration.setAllowedHeaders(Arrays.asList("Content-Type", "X-CSRF-TOKEN"));
+    configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-CSRF-TOKEN"));
     configuration.setExposedHeaders(Arrays.asList("Location"));
     configuration.setAllowCredentials(true);
     configuration.setMaxAge(3600L);
@@ -82,6 +106,12 @@ public class PlayerSecurityConfig {
   @Bean
   AuthenticationEntryPoint playerAuthenticationEntryPoint() {
     return (request, response, e) -> {
+      if (e instanceof PasswordHashingRejectedException rejected) {
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+            String.valueOf(rejected.getRetryAfter().toSeconds()));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getMessage());
+        return;
+      }
       response.sendError(HttpStatus.UNAUTHORIZED.value(),
           HttpStatus.UNAUTHORIZED.getReasonPhrase());
     };
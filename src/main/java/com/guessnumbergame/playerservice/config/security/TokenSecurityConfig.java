@@ -0,0 +1,88 @@
+package com.guessnumbergame.playerservice.config.security;
+
+import java.util.Base64;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import com.guessnumbergame.playerservice.service.impl.JwtTokenService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+/**
+ * Security settings of the stateless token mode.
+ * <p>
+ * If {@code app.security.token.enabled} is {@code true}, the {@code /login}
+ * endpoint issues a JWT signed with HMAC SHA-256 and the {@code /players/**}
+ * endpoints accept it as the {@code Authorization: Bearer} header. Both filter
+ * chains don't create HTTP sessions then.
+ * <p>
+ * The signing key is built once from the Base64-encoded
+ * {@code app.security.token.secret}, which must be at least 256 bits long.
+ * The tokens are verified locally with this key, without any session store or
+ * database lookup.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see JwtTokenService
+ * @see PlayerSecurityConfig
+ * @see LoginSecurityConfig
+ */
+@Configuration
+@ConditionalOnProperty("app.security.token.enabled")
+public class TokenSecurityConfig {
+
+  /**
+   * The claim containing the user's authorities.
+   */
+  public static final String ROLES_CLAIM = "roles";
+
+  private static final int MIN_SECRET_LENGTH = 32;
+
+  @Bean
+  SecretKey tokenSecretKey(@Value("${app.security.token.secret}") String secret) {
+    byte[] secretBytes = Base64.getDecoder().decode(secret);
+    if (secretBytes.length < MIN_SECRET_LENGTH) {
+      throw new IllegalStateException("The token secret must be at least 256 bits long");
+    }
+    return new SecretKeySpec(secretBytes, "HmacSHA256");
+  }
+
+  @Bean
+  JwtEncoder tokenEncoder(SecretKey tokenSecretKey) {
+    return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSecretKey));
+  }
+
+  @Bean
+  JwtDecoder tokenDecoder(SecretKey tokenSecretKey,
+      @Value("${app.security.token.issuer}") String issuer) {
+    NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(tokenSecretKey)
+        .macAlgorithm(MacAlgorithm.HS256)
+        .build();
+    decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+    return decoder;
+  }
+
+  @Bean
+  JwtAuthenticationConverter tokenAuthenticationConverter() {
+    JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+    authoritiesConverter.setAuthoritiesClaimName(ROLES_CLAIM);
+    authoritiesConverter.setAuthorityPrefix("");
+    JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+    converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+    return converter;
+  }
+
+}
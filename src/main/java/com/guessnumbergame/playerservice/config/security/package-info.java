@@ -1,7 +1,8 @@
 /**
  * Security configurations for the different endpoints.<br />
  * There's also a {@link GeneralSecurityConfig} class which contains general security
- * settings.
+ * settings and a {@link TokenSecurityConfig} class which contains the settings
+ * of the stateless token mode.
  * <p>
  * Security filter chains are checked in the following order:
  * <ul>
@@ -11,6 +12,7 @@
  *  <li>{@code logoutSecurityFilterChain}</li>
  *  <li>{@code errorSecurityFilterChain}</li>
  *  <li>{@code registrationSecurityFilterChain}</li>
+ *  <li>{@code actuatorSecurityFilterChain}</li>
  * </ul>
  */
 package com.guessnumbergame.playerservice.config.security;
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.guessnumbergame.playerservice.config.thread;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual thread settings.
+ * <p>
+ * If {@code app.threads.virtual} is {@code true}, the Tomcat requests and the
+ * asynchronous work (the {@code applicationTaskExecutor}, which also runs the
+ * streaming MVC responses) are executed on virtual threads instead of the
+ * platform thread pools.
+ * <p>
+ * A virtual thread waiting for a connection from the Hikari pool or for
+ * PostgreSQL parks and releases its carrier, so the pool keeps its size and
+ * limits the concurrent queries. The PostgreSQL driver is at least 42.6.0,
+ * which doesn't use {@code synchronized} blocks around socket I/O, so the
+ * carriers aren't pinned by the queries.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty("app.threads.virtual")
+@Slf4j
+public class VirtualThreadConfig {
+
+  @Bean
+  TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+    log.info("Tomcat requests are handled on virtual threads");
+    return protocolHandler -> protocolHandler
+        .setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+  AsyncTaskExecutor applicationTaskExecutor() {
+    return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+}
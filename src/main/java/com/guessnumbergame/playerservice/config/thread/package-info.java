@@ -0,0 +1,4 @@
+/**
+ * Thread configuration.
+ */
+package com.guessnumbergame.playerservice.config.thread;
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.guessnumbergame.playerservice.controller;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -10,6 +12,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.guessnumbergame.playerservice.dto.AccessToken;
+import com.guessnumbergame.playerservice.service.TokenService;
+
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -18,15 +24,21 @@ import lombok.extern.slf4j.Slf4j;
  * The endpoint {@code /login} is used.
  * <p>
  * The JSON format is used for the response body.
+ * <p>
+ * In the token mode the response also contains a signed access token, which
+ * is used instead of the HTTP session.
  * 
  * @author Luke Sukhanov
  * @version 1.0
  */
 @RestController
 @RequestMapping(value = "/login", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
 @Slf4j
 public class LoginController {
 
+  private final ObjectProvider<TokenService> tokenService;
+
   /**
    * Authenticates the user.
    * <p>
@@ -45,6 +57,12 @@ public class LoginController {
    * <p>
    * Status: 200<br />
    * Body: {username: "vasya"}
+   * <p>
+   * <i>Successful authentication in the token mode</i>
+   * <p>
+   * Status: 200<br />
+   * Body: {username: "vasya", accessToken: "eyJ...", tokenType: "Bearer",
+   * expiresIn: 900}
    * 
    * @return a {@code ResponseEntity} with the status {@code 200} and the body
    *         containing the authenticated username
@@ -58,7 +76,15 @@ public class LoginController {
       return ResponseEntity.noContent().build();
     }
     String username = authentication.getName();
-    Map<String, String> responseBody = Map.of("username", username);
+    Map<String, Object> responseBody = new LinkedHashMap<>();
+    responseBody.put("username", username);
+    TokenService tokenService = this.tokenService.getIfAvailable();
+    if (tokenService != null) {
+      AccessToken accessToken = tokenService.issue(authentication);
+      responseBody.put("accessToken", accessToken.getToken());
+      responseBody.put("tokenType", accessToken.getTokenType());
+      responseBody.put("expiresIn", accessToken.getExpiresIn());
+    }
     return ResponseEntity.ok(responseBody);
   }
 
@@ -1,11 +1,20 @@
 package com.guessnumbergame.playerservice.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,23 +22,47 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guessnumbergame.playerservice.dto.BestResult;
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerBatchResult;
+import com.guessnumbergame.playerservice.dto.PlayerChanges;
+import com.guessnumbergame.playerservice.dto.PlayerPage;
+import com.guessnumbergame.playerservice.dto.PlayerRank;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
+import com.guessnumbergame.playerservice.etag.PlayerETags;
+import com.guessnumbergame.playerservice.exception.BadPlayerCursorException;
+import com.guessnumbergame.playerservice.exception.BestResultBufferFullException;
+import com.guessnumbergame.playerservice.exception.PlayerChangesExpiredException;
 import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
-import com.guessnumbergame.playerservice.exception.PlayerNotUpdatedException;
+import com.guessnumbergame.playerservice.exception.PlayerVersionMismatchException;
+import com.guessnumbergame.playerservice.exception.LeaderboardStreamFullException;
 import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
+import com.guessnumbergame.playerservice.leaderboard.LeaderboardStream;
 import com.guessnumbergame.playerservice.service.PlayerService;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 
 /**
  * Provides the endpoints to access players of the game.<br />
  * <p>
- * The endpoints {@code /players/**} are used.
+ * The endpoints {@code /players/**} are used. The lookups by id, by username
+ * and by the best result are served by the {@link PlayerLookupController} or
+ * by the {@link ReactivePlayerLookupController}.
  * <p>
  * The JSON format is used for the response body.
  * 
@@ -40,11 +73,18 @@ import lombok.RequiredArgsConstructor;
  */
 @RestController
 @RequestMapping(path = "/players", produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
 @RequiredArgsConstructor
 public class PlayerController {
 
   private final PlayerService playerService;
 
+  private final ObjectMapper objectMapper;
+
+  private final PlayerETags playerETags;
+
+  private final LeaderboardStream leaderboardStream;
+
   /**
    * Finds all existing players.
    * <p>
@@ -59,108 +99,279 @@ public class PlayerController {
    * <i>Normal response</i>
    * <p>
    * Status: 200<br />
+   * ETag: W/"lq2x8k3a.42"<br />
    * Body: [{id: 1, username: "vasya", bestAttemptsCount: 10}, ... ]
+   * <p>
+   * <i>Request with the tag of the unchanged players</i>
+   * <p>
+   * GET /players<br />
+   * If-None-Match: W/"lq2x8k3a.42"<br />
+   * <p>
+   * <i>Response</i>
+   * <p>
+   * Status: 304<br />
    * 
+   * @param request the current {@code WebRequest}
    * @return a {@code ResponseEntity} with the status {@code 200} and the body
-   *         containing all the players found
+   *         containing all the players found, or {@code null} if the players
+   *         weren't modified
+   * @see PlayerETags#forPlayers()
    */
   @GetMapping
-  public ResponseEntity<List<PlayerSummary>> getAll() {
+  public ResponseEntity<List<PlayerSummary>> getAll(WebRequest request) {
+    if (request.checkNotModified(this.playerETags.forPlayers())) {
+      return null;
+    }
     List<PlayerSummary> players = this.playerService.getAll();
     return ResponseEntity.ok(players);
   }
 
   /**
-   * Finds a player by id.
+   * Streams all existing players in the NDJSON format.<br />
+   * The players are written to the response one by one while they are read
+   * from the database, so the whole table is never held in memory.
    * <p>
-   * Serves the {@code GET} requests for the {@code /players{id}} endpoints.
+   * Serves the {@code GET} requests for the {@code /players} endpoint with the
+   * {@code Accept: application/x-ndjson} header.
    * <p>
    * <b>Usage example</b>
    * <p>
    * <i>Request</i>
    * <p>
-   * GET /players/1<br />
+   * GET /players<br />
+   * Accept: application/x-ndjson
    * <p>
-   * <i>The player was found</i>
+   * <i>Normal response</i>
    * <p>
    * Status: 200<br />
-   * Body: {id: 1, username: "vasya", bestAttemptsCount: 10}
+   * Body: {id: 1, username: "vasya", bestAttemptsCount: 10}<br />
+   * {id: 2, username: "petya", bestAttemptsCount: 8}<br />
+   * ...
+   * 
+   * @return a {@code ResponseEntity} with the status {@code 200} and the body
+   *         writing all the players found
+   */
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamAll() {
+    StreamingResponseBody body = outputStream -> {
+      try (JsonGenerator generator = this.objectMapper.createGenerator(outputStream)) {
+        generator.setRootValueSeparator(null);
+        this.playerService.streamAll(player -> {
+          try {
+            generator.writeObject(player);
+            generator.writeRaw('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
+    };
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  /**
+   * Finds a page of players ordered by id.
    * <p>
-   * <i>The player wasn't found</i>
+   * Serves the {@code GET} requests for the
+   * {@code /players/page?cursor={cursor}&limit={limit}} endpoint.<br />
+   * Both parameters are optional. The first page is returned if the cursor is
+   * absent. The {@code limit} can't exceed the configured maximum page size.
    * <p>
-   * Status: 404<br />
-   * Body: {error: "Can't find player with id = 1"}
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players/page?limit=2<br />
+   * <p>
+   * <i>Normal response</i>
+   * <p>
+   * Status: 200<br />
+   * Body: {players: [{id: 1, username: "vasya", bestAttemptsCount: 10}, ... ],
+   * nextCursor: "Ng"}
+   * <p>
+   * <i>The cursor can't be decoded</i>
+   * <p>
+   * Status: 400<br />
+   * Body: {error: "Invalid cursor 'abc'"}
    * 
-   * @param id a {@code Long} representing the player's id
+   * @param cursor a {@code String} representing the cursor received with the
+   *        previous page
+   * @param limit an {@code int} representing the maximum count of players on
+   *        the page
    * @return a {@code ResponseEntity} with the status {@code 200} and the body
-   *         containing the player with the given id
-   * @throws PlayerNotFoundException if the player with this id doesn't exist
+   *         containing the page of players
+   * @throws BadPlayerCursorException if the cursor can't be decoded
    * @see PlayerResponseEntityExceptionHandler
    */
-  @GetMapping("/{id}")
-  public ResponseEntity<PlayerSummary> getById(@PathVariable Long id) {
-    PlayerSummary player = this.playerService.getById(id);
-    return ResponseEntity.ok(player);
+  @GetMapping("/page")
+  public ResponseEntity<PlayerPage> getPage(
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "limit", defaultValue = "${app.players.page.default-size}") int limit) {
+    PlayerPage page = this.playerService.getPage(cursor, limit);
+    return ResponseEntity.ok(page);
   }
 
   /**
-   * Finds a player by username.
+   * Finds the changes of players since the given token, ordered by the time of
+   * the change and id. The deleted players are returned with the
+   * {@code deleted} flag.
    * <p>
    * Serves the {@code GET} requests for the
-   * {@code /players/byUsername?username={username}} endpoints.
+   * {@code /players/changes?since={since}&limit={limit}} endpoint.<br />
+   * Both parameters are optional. All the players are returned as the changes
+   * if the token is absent. The {@code nextSince} token of the response should
+   * be used for the next request, even if there are no more changes. The
+   * {@code limit} can't exceed the configured maximum page size.
    * <p>
    * <b>Usage example</b>
    * <p>
    * <i>Request</i>
    * <p>
-   * GET /players?username=vasya<br />
+   * GET /players/changes?since=MTcwMDAwMDAwMDAwMDAwMDo1MQ<br />
    * <p>
-   * <i>The player was found</i>
+   * <i>Normal response</i>
    * <p>
    * Status: 200<br />
-   * Body: {id: 1, username: "vasya", bestAttemptsCount: 10}
+   * Body: {changes: [{id: 1, username: "vasya", bestAttemptsCount: 9,
+   * version: 4, deleted: false, changed: "2023-11-14T22:13:21.123456Z"},
+   * {id: 51, username: "petya", bestAttemptsCount: null, version: null,
+   * deleted: true, changed: "2023-11-14T22:13:25Z"}],
+   * nextSince: "MTcwMDAwMDAwNTAwMDAwMDo1MQ", hasMore: false}
    * <p>
-   * <i>The player wasn't found</i>
+   * <i>The token is too old</i>
    * <p>
-   * Status: 404<br />
-   * Body: {error: "Can't find player with username 'vasya'"}
+   * Status: 410<br />
+   * Body: {error: "Changes since 'MTcw...' are no longer kept, all players must
+   * be reloaded"}
    * 
-   * @param username a {@code String} representing the player's username
+   * @param since a {@code String} representing the token received with the
+   *        previous changes
+   * @param limit an {@code int} representing the maximum count of changes
    * @return a {@code ResponseEntity} with the status {@code 200} and the body
-   *         containing the player with the given username
-   * @throws PlayerNotFoundException if the player with this username doesn't
-   *         exist
+   *         containing the changes
+   * @throws BadPlayerCursorException if the token can't be decoded
+   * @throws PlayerChangesExpiredException if the deletions since the token
+   *         are no longer kept
    * @see PlayerResponseEntityExceptionHandler
    */
-  @GetMapping(path = "/byUsername")
-  public ResponseEntity<PlayerSummary> getByUsername(@RequestParam("username") String username) {
-    PlayerSummary player = this.playerService.getByUsername(username);
-    return ResponseEntity.ok(player);
+  @GetMapping("/changes")
+  public ResponseEntity<PlayerChanges> getChanges(
+      @RequestParam(name = "since", required = false) String since,
+      @RequestParam(name = "limit", defaultValue = "${app.players.page.default-size}") int limit) {
+    PlayerChanges changes = this.playerService.getChanges(since, limit);
+    return ResponseEntity.ok(changes);
+  }
+
+  /**
+   * Finds the players with the best results.
+   * <p>
+   * Serves the {@code GET} requests for the {@code /players/top?n={n}}
+   * endpoint.<br />
+   * The parameter is optional. The {@code n} can't exceed the configured
+   * maximum size of the top.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players/top?n=3<br />
+   * <p>
+   * <i>Normal response</i>
+   * <p>
+   * Status: 200<br />
+   * Body: [{id: 2, username: "petya", bestAttemptsCount: 8}, ... ]
+   * 
+   * @param n an {@code int} representing the maximum count of players
+   * @return a {@code ResponseEntity} with the status {@code 200} and the body
+   *         containing the players with the best results
+   */
+  @GetMapping("/top")
+  public ResponseEntity<List<PlayerSummary>> getTopPlayers(
+      @RequestParam(name = "n", defaultValue = "${app.leaderboard.top-default-size}") int n) {
+    return ResponseEntity.ok(this.playerService.getTopPlayers(n));
   }
 
   /**
-   * Finds all players with the best result.
+   * Streams the changes of the players with the best result and of the top
+   * players as Server-Sent Events.<br />
+   * The current values are sent at first, then the changed values are sent
+   * after the changes are committed. A heartbeat comment is sent when there
+   * are no changes.
    * <p>
-   * Serves the {@code GET} requests for the {@code /players/withBestResult}
+   * Serves the {@code GET} requests for the {@code /players/leaderboard}
    * endpoint.
    * <p>
    * <b>Usage example</b>
    * <p>
    * <i>Request</i>
    * <p>
-   * GET /players/withBestResult<br />
+   * GET /players/leaderboard?n=3<br />
+   * Accept: text/event-stream
    * <p>
    * <i>Normal response</i>
    * <p>
    * Status: 200<br />
-   * Body: [{id: 1, username: "vasya", bestAttemptsCount: 10}, ... ]
+   * Content-Type: text/event-stream<br />
+   * Body:<br />
+   * event:bestResult<br />
+   * data:[{"id":1,"username":"vasya","bestAttemptsCount":5}]<br />
+   * <br />
+   * event:top<br />
+   * data:[{"id":1,"username":"vasya","bestAttemptsCount":5}, ... ]<br />
+   * <br />
+   * :heartbeat
+   * <p>
+   * <i>Too many subscribers</i>
+   * <p>
+   * Status: 503<br />
+   * Retry-After: 5
+   * 
+   * @param n an {@code int} representing the maximum count of the top players
+   * @return an {@code SseEmitter} sending the leaderboard changes
+   * @throws LeaderboardStreamFullException if the maximum count of subscribers
+   *         is reached
+   * @see PlayerResponseEntityExceptionHandler
+   */
+  @GetMapping(path = "/leaderboard", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamLeaderboard(
+      @RequestParam(name = "n", defaultValue = "${app.leaderboard.top-default-size}") int n) {
+    return this.leaderboardStream.subscribe(n);
+  }
+
+  /**
+   * Finds the rank of the player by id.
+   * <p>
+   * Serves the {@code GET} requests for the {@code /players/{id}/rank}
+   * endpoints.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players/1/rank<br />
+   * <p>
+   * <i>The player was found</i>
+   * <p>
+   * Status: 200<br />
+   * Body: {id: 1, username: "vasya", bestAttemptsCount: 10, rank: 4, denseRank:
+   * 3}
+   * <p>
+   * <i>The player wasn't found</i>
+   * <p>
+   * Status: 404<br />
+   * Body: {error: "Can't find player with id = 1"}
    * 
+   * @param id a {@code Long} representing the player's id
    * @return a {@code ResponseEntity} with the status {@code 200} and the body
-   *         containing all players with the best result
+   *         containing the rank of the player with the given id
+   * @throws PlayerNotFoundException if the player with this id doesn't exist
+   * @see PlayerResponseEntityExceptionHandler
    */
-  @GetMapping("/withBestResult")
-  public ResponseEntity<List<PlayerSummary>> getPlayersWithBestResult() {
-    return ResponseEntity.ok(this.playerService.getPlayersWithBestResult());
+  @GetMapping("/{id}/rank")
+  public ResponseEntity<PlayerRank> getRankById(@PathVariable Long id) {
+    return ResponseEntity.ok(this.playerService.getRankById(id));
   }
 
   /**
@@ -202,11 +413,97 @@ public class PlayerController {
         .body(savedPlayer);
   }
 
+  /**
+   * Creates new players from the JSON array. Requires the admin
+   * authorities.<br />
+   * The players' ids from the request body are ignored. Each player is
+   * created or fails independently of the others.
+   * <p>
+   * Serves the {@code POST} requests for the {@code /players/batch} endpoint.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * POST /players/batch<br />
+   * Body: [{username: "vasya", bestAttemptsCount: 10}, {username: "vasya"}]
+   * <p>
+   * <i>Normal response</i>
+   * <p>
+   * Status: 200<br />
+   * Body: [{index: 0, status: "CREATED", player: {id: 1, username: "vasya",
+   * bestAttemptsCount: 10}, error: null}, {index: 1, status: "FAILED", player:
+   * null, error: "Duplicating username"}]
+   * 
+   * @param players a {@code List} of the players to create
+   * @return a {@code ResponseEntity} with the status {@code 200} and the body
+   *         containing the result for each player
+   */
+  @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<PlayerBatchResult>> createAll(
+      @RequestBody List<PlayerSummary> players) {
+    return ResponseEntity.ok(this.playerService.createAll(players.iterator()));
+  }
+
+  /**
+   * Creates new players from the NDJSON stream. Requires the admin
+   * authorities.<br />
+   * The players are read from the request body while they are being created,
+   * so the whole stream is never held in memory. A line which can't be read
+   * as a player is reported as failed.
+   * <p>
+   * Serves the {@code POST} requests for the {@code /players/batch} endpoint
+   * with the {@code Content-Type: application/x-ndjson} header.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * POST /players/batch<br />
+   * Content-Type: application/x-ndjson<br />
+   * Body: {username: "vasya", bestAttemptsCount: 10}<br />
+   * {username: "petya"}
+   * <p>
+   * <i>Normal response</i>
+   * <p>
+   * Status: 200<br />
+   * Body: [{index: 0, status: "CREATED", player: {id: 1, username: "vasya",
+   * bestAttemptsCount: 10}, error: null}, ... ]
+   * 
+   * @param body an {@code InputStream} of the request body
+   * @return a {@code ResponseEntity} with the status {@code 200} and the body
+   *         containing the result for each player
+   */
+  @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<List<PlayerBatchResult>> createAllFromStream(InputStream body) {
+    BufferedReader reader = new BufferedReader(
+        new InputStreamReader(body, StandardCharsets.UTF_8));
+    List<PlayerBatchResult> results = this.playerService.createAll(reader.lines()
+        .filter(line -> !line.isBlank())
+        .map(this::readPlayer)
+        .iterator());
+    return ResponseEntity.ok(results);
+  }
+
+  private PlayerSummary readPlayer(String line) {
+    try {
+      return this.objectMapper.readValue(line, PlayerSummary.class);
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+  }
+
   /**
    * Updates the player by id. Requires authentication and the CSRF token.<br />
    * The player's id and the username from the request body are ignored.<br />
    * The username can't be changed.
    * <p>
+   * The player is updated only if his version matches the tag from the
+   * {@code If-Match} header, which is the {@code ETag} of
+   * {@code GET /players/{id}}. Without the header any version is updated.
+   * The player isn't loaded before the update and a conflicting request is
+   * never retried.
+   * <p>
    * Serves the {@code PUT} requests for the {@code /players/{id}} endpoints.
    * <p>
    * <b>Usage example</b>
@@ -214,11 +511,18 @@ public class PlayerController {
    * <i>Request</i>
    * <p>
    * PUT /players/1<br />
+   * If-Match: "1.3"<br />
    * Body: {id: 1, username: "vasya", bestAttemptsCount: 10}
    * <p>
    * <i>The player was updated</i>
    * <p>
-   * Status: 204
+   * Status: 204<br />
+   * ETag: "1.4"
+   * <p>
+   * <i>The player was changed by another request</i>
+   * <p>
+   * Status: 412<br />
+   * Body: {error: "Player with id = 1 was changed by another request"}
    * <p>
    * <i>The player wasn't found</i>
    * <p>
@@ -226,17 +530,26 @@ public class PlayerController {
    * Body: {error: "Can't find player with id = 1}
    * 
    * @param id a {@code Long} representing the player's id
+   * @param ifMatch a {@code String} representing the tag of the expected
+   *        version, or {@code null} if any version can be updated
    * @param player a {@code PlayerSummary} representing the player to be updated
-   * @return a {@code ResponseEntity} with the status {@code 204}
+   * @return a {@code ResponseEntity} with the status {@code 204} and the tag
+   *         of the updated player
    * @throws PlayerNotFoundException if the player with this id doesn't exist
-   * @throws PlayerNotUpdatedException if the player failed to be updated for
-   *         technical reasons
+   * @throws PlayerVersionMismatchException if the player's version doesn't
+   *         match the tag
    * @see PlayerResponseEntityExceptionHandler
+   * @see PlayerETags#parseVersion(Long, String)
    */
   @PutMapping("/{id}")
-  public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody PlayerSummary player) {
-    this.playerService.update(id, player);
-    return ResponseEntity.noContent().build();
+  public ResponseEntity<?> update(@PathVariable Long id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody PlayerSummary player) {
+    Integer version = this.playerETags.parseVersion(id, ifMatch);
+    PlayerVersion updatedVersion = this.playerService.update(id, player, version);
+    return ResponseEntity.noContent()
+        .eTag(this.playerETags.forVersion(updatedVersion))
+        .build();
   }
 
   /**
@@ -244,6 +557,10 @@ public class PlayerController {
    * The player's id and the username from the request body are ignored.<br />
    * The username can't be changed.
    * <p>
+   * The player is patched only if his version matches the tag from the
+   * {@code If-Match} header, the same way as it's done by
+   * {@code PUT /players/{id}}.
+   * <p>
    * Serves the {@code PATCH} requests for the {@code /players/{id}} endpoints.
    * <p>
    * <b>Usage example</b>
@@ -251,11 +568,18 @@ public class PlayerController {
    * <i>Request</i>
    * <p>
    * PATCH /players/1<br />
+   * If-Match: "1.3"<br />
    * Body: {bestAttemptsCount: 10}
    * <p>
    * <i>The player was patched</i>
    * <p>
-   * Status: 204
+   * Status: 204<br />
+   * ETag: "1.4"
+   * <p>
+   * <i>The player was changed by another request</i>
+   * <p>
+   * Status: 412<br />
+   * Body: {error: "Player with id = 1 was changed by another request"}
    * <p>
    * <i>The player wasn't found</i>
    * <p>
@@ -263,17 +587,128 @@ public class PlayerController {
    * Body: {error: "Can't find player with id = 1"}
    * 
    * @param id a {@code Long} representing the player's id
+   * @param ifMatch a {@code String} representing the tag of the expected
+   *        version, or {@code null} if any version can be patched
    * @param player a {@code PlayerSummary} representing the player to be patched
-   * @return a {@code ResponseEntity} with the status {@code 204}
+   * @return a {@code ResponseEntity} with the status {@code 204} and the tag
+   *         of the patched player
    * @throws PlayerNotFoundException if the player with this id doesn't exist
-   * @throws PlayerNotUpdatedException if the player failed to be patched for
-   *         technical reasons
+   * @throws PlayerVersionMismatchException if the player's version doesn't
+   *         match the tag
    * @see PlayerResponseEntityExceptionHandler
+   * @see PlayerETags#parseVersion(Long, String)
    */
   @PatchMapping("/{id}")
-  public ResponseEntity<?> patch(@PathVariable Long id, @RequestBody PlayerSummary player) {
-    this.playerService.patch(id, player);
-    return ResponseEntity.noContent().build();
+  public ResponseEntity<?> patch(@PathVariable Long id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @RequestBody PlayerSummary player) {
+    Integer version = this.playerETags.parseVersion(id, ifMatch);
+    PlayerVersion patchedVersion = this.playerService.patch(id, player, version);
+    return ResponseEntity.noContent()
+        .eTag(this.playerETags.forVersion(patchedVersion))
+        .build();
+  }
+
+  /**
+   * Improves the best result of the player by id if the given result is better.
+   * Requires authentication and the CSRF token.<br />
+   * Unlike {@code PATCH /players/{id}}, no version is expected, as a worse
+   * result never overwrites a better one. In the write-behind mode the result
+   * is accepted and saved later.
+   * <p>
+   * Serves the {@code PATCH} requests for the
+   * {@code /players/{id}/bestResult?bestAttemptsCount={bestAttemptsCount}}
+   * endpoints.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * PATCH /players/1/bestResult?bestAttemptsCount=5<br />
+   * <p>
+   * <i>The result was submitted</i>
+   * <p>
+   * Status: 200<br />
+   * Body: {status: "IMPROVED", player: {id: 1, username: "vasya",
+   * bestAttemptsCount: 5}}
+   * <p>
+   * <i>The result was accepted in the write-behind mode</i>
+   * <p>
+   * Status: 202<br />
+   * Body: {status: "ACCEPTED", player: {id: 1, username: "vasya",
+   * bestAttemptsCount: 7}}
+   * <p>
+   * <i>The write-behind buffer is full</i>
+   * <p>
+   * Status: 503<br />
+   * Retry-After: 1<br />
+   * Body: {error: "Too many results are waiting to be saved"}
+   * <p>
+   * <i>The player wasn't found</i>
+   * <p>
+   * Status: 404<br />
+   * Body: {error: "Can't find player with id = 1"}
+   * <p>
+   * <i>The player belongs to another user</i>
+   * <p>
+   * Status: 403
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @param bestAttemptsCount an {@code int} representing the attempts count of
+   *        the finished game
+   * @return a {@code ResponseEntity} with the status {@code 200} or
+   *         {@code 202} and the body containing the status and the player
+   * @throws PlayerNotFoundException if the player with this id doesn't exist
+   * @throws BestResultBufferFullException if the write-behind buffer is full
+   * @see PlayerResponseEntityExceptionHandler
+   */
+  @PatchMapping("/{id}/bestResult")
+  public ResponseEntity<BestResultUpdate> improveBestResult(@PathVariable Long id,
+      @RequestParam("bestAttemptsCount")
+      @Positive(message = "Best attempts count must be positive") int bestAttemptsCount) {
+    BestResultUpdate update = this.playerService.improveBestResult(id, bestAttemptsCount);
+    HttpStatus status = update.getStatus() == BestResultUpdate.Status.ACCEPTED
+        ? HttpStatus.ACCEPTED
+        : HttpStatus.OK;
+    return ResponseEntity.status(status).body(update);
+  }
+
+  /**
+   * Improves the best results of many players at once. Requires the admin
+   * authorities.<br />
+   * Only the minimum attempts count per player is applied, and only if it's
+   * better than the player's current result.
+   * <p>
+   * Serves the {@code POST} requests for the {@code /players/bestResults}
+   * endpoint.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * POST /players/bestResults<br />
+   * Body: [{id: 1, bestAttemptsCount: 7}, {id: 1, bestAttemptsCount: 5}, {id:
+   * 2, bestAttemptsCount: 9}]
+   * <p>
+   * <i>Normal response</i>
+   * <p>
+   * Status: 200<br />
+   * Body: [{id: 1, username: "vasya", bestAttemptsCount: 5}]
+   * <p>
+   * <i>A result is invalid</i>
+   * <p>
+   * Status: 400<br />
+   * Body: {errors: {"improveBestResults.results[0].bestAttemptsCount": "Best
+   * attempts count must be positive"}}
+   * 
+   * @param results a {@code List} of the results of the players
+   * @return a {@code ResponseEntity} with the status {@code 200} and the body
+   *         containing the changed players
+   */
+  @PostMapping("/bestResults")
+  public ResponseEntity<List<PlayerSummary>> improveBestResults(
+      @RequestBody List<@NotNull @Valid BestResult> results) {
+    return ResponseEntity.ok(this.playerService.improveBestResults(results));
   }
 
   /**
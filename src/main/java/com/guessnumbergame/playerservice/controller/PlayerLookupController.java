@@ -0,0 +1,181 @@
+package com.guessnumbergame.playerservice.controller;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.etag.PlayerETags;
+import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
+import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Provides the endpoints to look up players of the game by id, by username
+ * and by the best result.<br />
+ * <p>
+ * The endpoints {@code /players/{id}}, {@code /players/byUsername} and
+ * {@code /players/withBestResult} are used.
+ * <p>
+ * The responses have the entity tags, and the requests with the
+ * {@code If-None-Match} header matching the current tag are answered with the
+ * status {@code 304} without loading the players.
+ * <p>
+ * The lookups block the request thread. With the {@code reactive} profile the
+ * same endpoints are served by the {@link ReactivePlayerLookupController}
+ * instead.
+ * <p>
+ * The JSON format is used for the response body.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ * @see PlayerService
+ * @see PlayerController
+ */
+@RestController
+@RequestMapping(path = "/players", produces = MediaType.APPLICATION_JSON_VALUE)
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class PlayerLookupController {
+
+  private final PlayerService playerService;
+
+  private final PlayerETags playerETags;
+
+  /**
+   * Finds a player by id.
+   * <p>
+   * Serves the {@code GET} requests for the {@code /players{id}} endpoints.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players/1<br />
+   * <p>
+   * <i>The player was found</i>
+   * <p>
+   * Status: 200<br />
+   * ETag: "1.3"<br />
+   * Body: {id: 1, username: "vasya", bestAttemptsCount: 10}
+   * <p>
+   * <i>The player wasn't changed since the request with the tag</i>
+   * <p>
+   * GET /players/1<br />
+   * If-None-Match: "1.3"<br />
+   * <p>
+   * Status: 304<br />
+   * <p>
+   * <i>The player wasn't found</i>
+   * <p>
+   * Status: 404<br />
+   * Body: {error: "Can't find player with id = 1"}
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} with the status {@code 200} and the body
+   *         containing the player with the given id, or {@code null} if the
+   *         player wasn't modified
+   * @throws PlayerNotFoundException if the player with this id doesn't exist
+   * @see PlayerResponseEntityExceptionHandler
+   * @see PlayerETags#forPlayer(Long)
+   */
+  @GetMapping("/{id}")
+  public ResponseEntity<PlayerSummary> getById(@PathVariable Long id, WebRequest request) {
+    Optional<String> eTag = this.playerETags.forPlayer(id);
+    if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+      return null;
+    }
+    PlayerSummary player = this.playerService.getById(id);
+    return ResponseEntity.ok(player);
+  }
+
+  /**
+   * Finds a player by username.
+   * <p>
+   * Serves the {@code GET} requests for the
+   * {@code /players/byUsername?username={username}} endpoints.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players?username=vasya<br />
+   * <p>
+   * <i>The player was found</i>
+   * <p>
+   * Status: 200<br />
+   * ETag: "1.3"<br />
+   * Body: {id: 1, username: "vasya", bestAttemptsCount: 10}
+   * <p>
+   * <i>The player wasn't found</i>
+   * <p>
+   * Status: 404<br />
+   * Body: {error: "Can't find player with username 'vasya'"}
+   * 
+   * @param username a {@code String} representing the player's username
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} with the status {@code 200} and the body
+   *         containing the player with the given username, or {@code null} if
+   *         the player wasn't modified
+   * @throws PlayerNotFoundException if the player with this username doesn't
+   *         exist
+   * @see PlayerResponseEntityExceptionHandler
+   * @see PlayerETags#forPlayerByUsername(String)
+   */
+  @GetMapping(path = "/byUsername")
+  public ResponseEntity<PlayerSummary> getByUsername(@RequestParam("username") String username,
+      WebRequest request) {
+    Optional<String> eTag = this.playerETags.forPlayerByUsername(username);
+    if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+      return null;
+    }
+    PlayerSummary player = this.playerService.getByUsername(username);
+    return ResponseEntity.ok(player);
+  }
+
+  /**
+   * Finds all players with the best result.
+   * <p>
+   * Serves the {@code GET} requests for the {@code /players/withBestResult}
+   * endpoint.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players/withBestResult<br />
+   * <p>
+   * <i>Normal response</i>
+   * <p>
+   * Status: 200<br />
+   * ETag: W/"lq2x8k3a.42"<br />
+   * Body: [{id: 1, username: "vasya", bestAttemptsCount: 10}, ... ]
+   * 
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} with the status {@code 200} and the body
+   *         containing all players with the best result, or {@code null} if
+   *         the players weren't modified
+   * @see PlayerETags#forPlayers()
+   */
+  @GetMapping("/withBestResult")
+  public ResponseEntity<List<PlayerSummary>> getPlayersWithBestResult(WebRequest request) {
+    if (request.checkNotModified(this.playerETags.forPlayers())) {
+      return null;
+    }
+    return ResponseEntity.ok(this.playerService.getPlayersWithBestResult());
+  }
+
+}
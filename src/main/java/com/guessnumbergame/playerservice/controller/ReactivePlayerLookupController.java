@@ -0,0 +1,204 @@
+package com.guessnumbergame.playerservice.controller;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.etag.PlayerETags;
+import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
+import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
+import com.guessnumbergame.playerservice.service.ReactivePlayerService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Provides the endpoints to look up players of the game by id, by username
+ * and by the best result.<br />
+ * <p>
+ * The endpoints {@code /players/{id}}, {@code /players/byUsername} and
+ * {@code /players/withBestResult} are used.
+ * <p>
+ * The responses have the same entity tags as in the
+ * {@link PlayerLookupController}, and the requests with the
+ * {@code If-None-Match} header matching the current tag are answered with the
+ * status {@code 304} without loading the players.
+ * <p>
+ * The lookups don't block the request thread: the players and their versions
+ * are read through R2DBC and the responses are written asynchronously when
+ * they are found. The
+ * controller is available only with the {@code reactive} profile and replaces
+ * the {@link PlayerLookupController} at the same URLs and under the same
+ * security rules.
+ * <p>
+ * The JSON format is used for the response body.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ * @see ReactivePlayerService
+ * @see PlayerLookupController
+ */
+@RestController
+@RequestMapping(path = "/players", produces = MediaType.APPLICATION_JSON_VALUE)
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePlayerLookupController {
+
+  private final ReactivePlayerService reactivePlayerService;
+
+  private final PlayerETags playerETags;
+
+  /**
+   * Finds a player by id.
+   * <p>
+   * Serves the {@code GET} requests for the {@code /players{id}} endpoints.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players/1<br />
+   * <p>
+   * <i>The player was found</i>
+   * <p>
+   * Status: 200<br />
+   * ETag: "1.3"<br />
+   * Body: {id: 1, username: "vasya", bestAttemptsCount: 10}
+   * <p>
+   * <i>The player wasn't changed since the request with the tag</i>
+   * <p>
+   * GET /players/1<br />
+   * If-None-Match: "1.3"<br />
+   * <p>
+   * Status: 304<br />
+   * <p>
+   * <i>The player wasn't found</i>
+   * <p>
+   * Status: 404<br />
+   * Body: {error: "Can't find player with id = 1"}
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @param ifNoneMatch a {@code String} representing the value of the
+   *        {@code If-None-Match} header, or {@code null} if it's absent
+   * @return a {@code Mono} with a {@code ResponseEntity} with the status
+   *         {@code 200} and the body containing the player with the given id,
+   *         or with the status {@code 304} if the player wasn't modified
+   * @throws PlayerNotFoundException if the player with this id doesn't exist,
+   *         through the {@code Mono}
+   * @see PlayerResponseEntityExceptionHandler
+   * @see PlayerETags#forVersion
+   */
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<PlayerSummary>> getById(@PathVariable Long id,
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    Mono<String> eTag = this.reactivePlayerService.findVersionById(id)
+        .map(this.playerETags::forVersion);
+    return getIfModified(eTag, ifNoneMatch, () -> this.reactivePlayerService.getById(id));
+  }
+
+  /**
+   * Finds a player by username.
+   * <p>
+   * Serves the {@code GET} requests for the
+   * {@code /players/byUsername?username={username}} endpoints.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players?username=vasya<br />
+   * <p>
+   * <i>The player was found</i>
+   * <p>
+   * Status: 200<br />
+   * ETag: "1.3"<br />
+   * Body: {id: 1, username: "vasya", bestAttemptsCount: 10}
+   * <p>
+   * <i>The player wasn't found</i>
+   * <p>
+   * Status: 404<br />
+   * Body: {error: "Can't find player with username 'vasya'"}
+   * 
+   * @param username a {@code String} representing the player's username
+   * @param ifNoneMatch a {@code String} representing the value of the
+   *        {@code If-None-Match} header, or {@code null} if it's absent
+   * @return a {@code Mono} with a {@code ResponseEntity} with the status
+   *         {@code 200} and the body containing the player with the given
+   *         username, or with the status {@code 304} if the player wasn't
+   *         modified
+   * @throws PlayerNotFoundException if the player with this username doesn't
+   *         exist, through the {@code Mono}
+   * @see PlayerResponseEntityExceptionHandler
+   * @see PlayerETags#forVersion
+   */
+  @GetMapping(path = "/byUsername")
+  public Mono<ResponseEntity<PlayerSummary>> getByUsername(
+      @RequestParam("username") String username,
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    Mono<String> eTag = this.reactivePlayerService.findVersionByUsername(username)
+        .map(this.playerETags::forVersion);
+    return getIfModified(eTag, ifNoneMatch,
+        () -> this.reactivePlayerService.getByUsername(username));
+  }
+
+  /**
+   * Finds all players with the best result.
+   * <p>
+   * Serves the {@code GET} requests for the {@code /players/withBestResult}
+   * endpoint.
+   * <p>
+   * <b>Usage example</b>
+   * <p>
+   * <i>Request</i>
+   * <p>
+   * GET /players/withBestResult<br />
+   * <p>
+   * <i>Normal response</i>
+   * <p>
+   * Status: 200<br />
+   * ETag: W/"lq2x8k3a.42"<br />
+   * Body: [{id: 1, username: "vasya", bestAttemptsCount: 10}, ... ]
+   * 
+   * @param ifNoneMatch a {@code String} representing the value of the
+   *        {@code If-None-Match} header, or {@code null} if it's absent
+   * @return a {@code Mono} with a {@code ResponseEntity} with the status
+   *         {@code 200} and the body containing all players with the best
+   *         result, or with the status {@code 304} if the players weren't
+   *         modified
+   * @see PlayerETags#forPlayers()
+   */
+  @GetMapping("/withBestResult")
+  public Mono<ResponseEntity<List<PlayerSummary>>> getPlayersWithBestResult(
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return getIfModified(Mono.just(this.playerETags.forPlayers()), ifNoneMatch,
+        this.reactivePlayerService::getPlayersWithBestResult);
+  }
+
+  /**
+   * Answers with the status {@code 304} if the tag matches the
+   * {@code If-None-Match} header, otherwise loads the body. The body is loaded
+   * without a tag if the tag isn't found.
+   */
+  private <T> Mono<ResponseEntity<T>> getIfModified(Mono<String> eTag, String ifNoneMatch,
+      Supplier<Mono<T>> body) {
+    return eTag
+        .flatMap(tag -> this.playerETags.isNotModified(ifNoneMatch, tag)
+            ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).<T>build())
+            : body.get().map(value -> ResponseEntity.ok().eTag(tag).body(value)))
+        .switchIfEmpty(Mono.defer(() -> body.get().map(ResponseEntity::ok)));
+  }
+
+}
@@ -0,0 +1,41 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A signed access token issued to the authenticated user.
+ * <p>
+ * The {@code expiresIn} is the token's lifetime in seconds.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code AccessToken} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public final class AccessToken implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String token;
+
+  private final String tokenType;
+
+  private final long expiresIn;
+
+  @Override
+  public String toString() {
+    return "AccessToken [token=PROTECTED, tokenType=" + this.tokenType + ", expiresIn="
+        + this.expiresIn + "]";
+  }
+
+}
@@ -0,0 +1,40 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A result submitted for a player of the game.<br />
+ * Contains the player's id and the attempts count of the finished game.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code BestResult} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class BestResult implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @NotNull(message = "Id is required")
+  private final Long id;
+
+  @NotNull(message = "Best attempts count is required")
+  @Positive(message = "Best attempts count must be positive")
+  private final Integer bestAttemptsCount;
+
+}
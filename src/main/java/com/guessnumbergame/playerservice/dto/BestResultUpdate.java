@@ -0,0 +1,50 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The outcome of submitting a result for a player.<br />
+ * Contains the status and the player after the submission.
+ * <p>
+ * The {@code player} is {@code null} if the player wasn't found. If the
+ * result was {@code ACCEPTED} into the write-behind buffer, the {@code player}
+ * is the one before the result is saved.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code BestResultUpdate} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see BestResult
+ * @see PlayerSummary
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class BestResultUpdate implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Status status;
+
+  private final PlayerSummary player;
+
+  /**
+   * The status of submitting a result.
+   * <p>
+   * The {@code NOT_FOUND} and {@code NOT_PERMITTED} statuses are turned into
+   * errors by the service and never reach the client.
+   */
+  public enum Status {
+    IMPROVED, NOT_IMPROVED, ACCEPTED, NOT_FOUND, NOT_PERMITTED
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The result of creating one player of a batch.<br />
+ * Contains the index of the player in the batch, the status, the created
+ * player and the error.
+ * <p>
+ * The {@code player} is {@code null} if the player wasn't created, the
+ * {@code error} is {@code null} if the player was created.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code PlayerBatchResult} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerBatchResult implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int index;
+
+  private final Status status;
+
+  private final PlayerSummary player;
+
+  private final String error;
+
+  public static PlayerBatchResult created(int index, PlayerSummary player) {
+    return new PlayerBatchResult(index, Status.CREATED, player, null);
+  }
+
+  public static PlayerBatchResult failed(int index, String error) {
+    return new PlayerBatchResult(index, Status.FAILED, null, error);
+  }
+
+  /**
+   * The status of creating a player.
+   */
+  public enum Status {
+    CREATED, FAILED
+  }
+
+}
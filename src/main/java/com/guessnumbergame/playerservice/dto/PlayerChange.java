@@ -0,0 +1,47 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A change of a player.<br />
+ * Contains the player after the change and the time of the change.
+ * <p>
+ * If the player was deleted, only the {@code id} and the {@code username}
+ * are present and the {@code deleted} flag is set.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code PlayerChange} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerChanges
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerChange implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Long id;
+
+  private final String username;
+
+  private final Integer bestAttemptsCount;
+
+  private final Integer version;
+
+  private final boolean deleted;
+
+  private final Instant changed;
+
+}
@@ -0,0 +1,44 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A portion of the changes of players ordered by the time of the change and
+ * id.<br />
+ * Contains the changes and the opaque token to request the next changes
+ * with.
+ * <p>
+ * The {@code nextSince} is always present. If {@code hasMore} is
+ * {@code false}, all the changes known by now were returned and the token
+ * should be used for the next poll.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code PlayerChanges} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerChange
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerChanges implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final List<PlayerChange> changes;
+
+  private final String nextSince;
+
+  private final boolean hasMore;
+
+}
@@ -0,0 +1,39 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A page of players ordered by id.<br />
+ * Contains the players of the page and the opaque cursor of the next page.
+ * <p>
+ * The {@code nextCursor} is {@code null} if there are no more players.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code PlayerPage} objects are compared by {@code players} and
+ * {@code nextCursor}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerPage implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final List<PlayerSummary> players;
+
+  private final String nextCursor;
+
+}
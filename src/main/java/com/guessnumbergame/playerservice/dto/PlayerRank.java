@@ -0,0 +1,45 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A player of the game with the rank of his best result.
+ * <p>
+ * The {@code rank} is the competition ranking ("1224"): players with equal
+ * results share a rank and the next rank is skipped for each of them. The
+ * {@code denseRank} is the dense ranking ("1223"): the next rank is never
+ * skipped. Both ranks are {@code null} if the player has no result.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code PlayerRank} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerRank implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Long id;
+
+  private final String username;
+
+  private final Integer bestAttemptsCount;
+
+  private final Integer rank;
+
+  private final Integer denseRank;
+
+}
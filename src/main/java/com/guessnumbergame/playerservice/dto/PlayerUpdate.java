@@ -0,0 +1,52 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The outcome of updating a player.<br />
+ * Contains the status, the player and the player's version after the update.
+ * <p>
+ * The {@code player} and the {@code version} are {@code null} if the player
+ * wasn't found or can't be changed by the current user. If the versions
+ * didn't match, they are the ones the update was compared with.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code PlayerUpdate} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ * @see PlayerVersion
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerUpdate implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Status status;
+
+  private final PlayerSummary player;
+
+  private final Integer version;
+
+  /**
+   * The status of updating a player.
+   * <p>
+   * All the statuses except {@code UPDATED} are turned into errors by the
+   * service and never reach the client.
+   */
+  public enum Status {
+    UPDATED, NOT_FOUND, NOT_PERMITTED, VERSION_MISMATCH
+  }
+
+}
@@ -0,0 +1,36 @@
+package com.guessnumbergame.playerservice.dto;
+
+import java.io.Serializable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The version of a player of the game.<br />
+ * The version is maintained by the database and is increased on each change
+ * of the player.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code PlayerVersion} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerVersion implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Long id;
+
+  private final Integer version;
+
+}
@@ -43,16 +43,38 @@ import lombok.ToString;
 @NamedQuery(name = "find_all_player_summaries",
     query = "select new com.guessnumbergame.playerservice.dto.PlayerSummary(id, username, bestAttemptsCount) "
         + "from PlayerEntity")
+@NamedQuery(name = "find_all_usernames", query = "select username from PlayerEntity")
+@NamedQuery(name = "find_existing_usernames",
+    query = "select username from PlayerEntity where username in :usernames")
+@NamedQuery(name = "find_player_summaries_after_id",
+    query = "select new com.guessnumbergame.playerservice.dto.PlayerSummary(id, username, bestAttemptsCount) "
+        + "from PlayerEntity where id > :id order by id")
 @NamedQuery(name = "find_player_summary_by_id",
     query = "select new com.guessnumbergame.playerservice.dto.PlayerSummary(id, username, bestAttemptsCount) "
         + "from PlayerEntity where id = :id")
 @NamedQuery(name = "find_player_summary_by_username",
     query = "select new com.guessnumbergame.playerservice.dto.PlayerSummary(id, username, bestAttemptsCount) "
         + "from PlayerEntity where username = :username")
+@NamedQuery(name = "find_player_version_by_id",
+    query = "select new com.guessnumbergame.playerservice.dto.PlayerVersion(id, version) "
+        + "from PlayerEntity where id = :id")
+@NamedQuery(name = "find_player_version_by_username",
+    query = "select new com.guessnumbergame.playerservice.dto.PlayerVersion(id, version) "
+        + "from PlayerEntity where username = :username")
 @NamedQuery(name = "find_player_summaries_with_best_result",
     query = "select new com.guessnumbergame.playerservice.dto.PlayerSummary(id, username, bestAttemptsCount) "
         + "from PlayerEntity "
         + "where bestAttemptsCount = (select min(bestAttemptsCount) from PlayerEntity)")
+@NamedQuery(name = "find_player_summaries_ordered_by_best_result",
+    query = "select new com.guessnumbergame.playerservice.dto.PlayerSummary(id, username, bestAttemptsCount) "
+        + "from PlayerEntity "
+        + "where bestAttemptsCount is not null "
+        + "order by bestAttemptsCount, id")
+@NamedQuery(name = "count_players_with_better_result",
+    query = "select count(id) from PlayerEntity where bestAttemptsCount < :bestAttemptsCount")
+@NamedQuery(name = "count_results_better_than",
+    query = "select count(distinct bestAttemptsCount) from PlayerEntity "
+        + "where bestAttemptsCount < :bestAttemptsCount")
 @NamedQuery(name = "delete_player_by_id", query = "delete from PlayerEntity where id = :id")
 @NoArgsConstructor
 @Getter
@@ -62,17 +84,33 @@ public class PlayerEntity {
 
   public static final String JPQL_FIND_ALL_PLAYER_SUMMARIES = "find_all_player_summaries";
 
+  public static final String JPQL_FIND_ALL_USERNAMES = "find_all_usernames";
+
+  public static final String JPQL_FIND_EXISTING_USERNAMES = "find_existing_usernames";
+
+  public static final String JPQL_FIND_PLAYER_SUMMARIES_AFTER_ID = "find_player_summaries_after_id";
+
   public static final String JPQL_FIND_PLAYER_SUMMARY_BY_ID = "find_player_summary_by_id";
 
   public static final String JPQL_FIND_PLAYER_SUMMARY_BY_USERNAME = "find_player_summary_by_username";
 
+  public static final String JPQL_FIND_PLAYER_VERSION_BY_ID = "find_player_version_by_id";
+
+  public static final String JPQL_FIND_PLAYER_VERSION_BY_USERNAME = "find_player_version_by_username";
+
   public static final String JPQL_FIND_PLAYER_SUMMARIES_WITH_BEST_RESULT = "find_player_summaries_with_best_result";
 
+  public static final String JPQL_FIND_PLAYER_SUMMARIES_ORDERED_BY_BEST_RESULT = "find_player_summaries_ordered_by_best_result";
+
+  public static final String JPQL_COUNT_PLAYERS_WITH_BETTER_RESULT = "count_players_with_better_result";
+
+  public static final String JPQL_COUNT_RESULTS_BETTER_THAN = "count_results_better_than";
+
   public static final String JPQL_DELETE_PLAYER_BY_ID = "delete_player_by_id";
 
   @Id
   @SequenceGenerator(name = "common_id_seq", sequenceName = "COMMON_ID_SEQ",
-      allocationSize = 5)
+      allocationSize = 50)
   @GeneratedValue(generator = "common_id_seq")
   @Column(name = "ID", updatable = false)
   private Long id;
@@ -0,0 +1,179 @@
+package com.guessnumbergame.playerservice.etag;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.PlayerDeletedEvent;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+import com.guessnumbergame.playerservice.exception.PlayerVersionMismatchException;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates the entity tags of the player resources.
+ * <p>
+ * A player has the strong tag {@code "<id>.<version>"}, where the version is
+ * maintained by the database and is found through the cached
+ * {@link PlayerService#findVersionById(Long)}, so the tag is created without
+ * loading the player.
+ * <p>
+ * The collections of players have the weak tag {@code W/"<epoch>.<changes>"},
+ * where the epoch is the start of this instance and the changes are counted
+ * by {@link PlayerSavedEvent} and {@link PlayerDeletedEvent} after the
+ * transactions which publish them are committed. The changes made by the
+ * other instances are counted by {@link PlayerChangeNotifiedEvent}, and a
+ * {@link ChangeNotificationsMissedEvent} is counted as a change too, since
+ * any player may have changed.
+ * <p>
+ * The strong tag from the {@code If-Match} header is turned back into the
+ * version expected by an update. The tags from the {@code If-None-Match}
+ * header are compared with the current tag weakly, for the controllers which
+ * can't use {@code WebRequest.checkNotModified}.
+ * <p>
+ * A tag should be created before the resource is read. Then the resource is
+ * never older than its tag, and a changed resource is never reported as not
+ * modified.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerVersion
+ */
+@Component
+@RequiredArgsConstructor
+public class PlayerETags {
+
+  private final PlayerService playerService;
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+  private final AtomicLong changes = new AtomicLong();
+
+  /**
+   * Creates the tag of the player with the given id.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @return an {@code Optional} with the strong tag, or an empty
+   *         {@code Optional} if the player doesn't exist
+   */
+  public Optional<String> forPlayer(Long id) {
+    return this.playerService.findVersionById(id).map(this::forVersion);
+  }
+
+  /**
+   * Creates the tag of the player with the given username.
+   * 
+   * @param username a {@code String} representing the player's username
+   * @return an {@code Optional} with the strong tag, or an empty
+   *         {@code Optional} if the player doesn't exist
+   */
+  public Optional<String> forPlayerByUsername(String username) {
+    return this.playerService.findVersionByUsername(username).map(this::forVersion);
+  }
+
+  /**
+   * Creates the tag of the player's version.
+   * 
+   * @param version a {@code PlayerVersion} with the player's id and version
+   * @return a {@code String} representing the strong tag
+   */
+  public String forVersion(PlayerVersion version) {
+    return "\"" + version.getId() + "." + version.getVersion() + "\"";
+  }
+
+  /**
+   * Finds the version of the player with the given id in the value of the
+   * {@code If-Match} header.<br />
+   * A single strong tag is expected. The tag {@code *} matches any version.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @param ifMatch a {@code String} representing the header value, or
+   *        {@code null} if the header is absent
+   * @return an {@code Integer} representing the expected version, or
+   *         {@code null} if any version matches
+   * @throws PlayerVersionMismatchException if the tag can't match any version
+   *         of the player
+   */
+  public Integer parseVersion(Long id, String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String eTag = ifMatch.trim();
+    String prefix = "\"" + id + ".";
+    if (!eTag.startsWith(prefix) || !eTag.endsWith("\"") || eTag.length() == prefix.length()) {
+      throw new PlayerVersionMismatchException(id);
+    }
+    try {
+      return Integer.valueOf(eTag.substring(prefix.length(), eTag.length() - 1));
+    } catch (NumberFormatException e) {
+      throw new PlayerVersionMismatchException(id);
+    }
+  }
+
+  /**
+   * Checks whether the value of the {@code If-None-Match} header matches the
+   * current tag of a resource, so the resource wasn't modified.<br />
+   * The tags are compared weakly. The tag {@code *} matches any tag. A
+   * malformed header matches nothing.
+   * 
+   * @param ifNoneMatch a {@code String} representing the header value, or
+   *        {@code null} if the header is absent
+   * @param eTag a {@code String} representing the current tag
+   * @return {@code true} if the resource wasn't modified
+   */
+  public boolean isNotModified(String ifNoneMatch, String eTag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfNoneMatch(ifNoneMatch);
+    List<String> eTags;
+    try {
+      eTags = headers.getIfNoneMatch();
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+    String opaqueTag = toOpaqueTag(eTag);
+    return eTags.stream().anyMatch(tag -> tag.equals("*") || toOpaqueTag(tag).equals(opaqueTag));
+  }
+
+  private static String toOpaqueTag(String eTag) {
+    return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+  }
+
+  /**
+   * Creates the tag of any collection of players.
+   * 
+   * @return a {@code String} representing the weak tag
+   */
+  public String forPlayers() {
+    return "W/\"" + this.epoch + "." + this.changes.get() + "\"";
+  }
+
+  @TransactionalEventListener
+  public void onPlayerSaved(PlayerSavedEvent event) {
+    this.changes.incrementAndGet();
+  }
+
+  @TransactionalEventListener
+  public void onPlayerDeleted(PlayerDeletedEvent event) {
+    this.changes.incrementAndGet();
+  }
+
+  @EventListener({ PlayerChangeNotifiedEvent.class, ChangeNotificationsMissedEvent.class })
+  public void onPlayerChangeNotified() {
+    this.changes.incrementAndGet();
+  }
+
+}
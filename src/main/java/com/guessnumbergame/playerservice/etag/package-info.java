@@ -0,0 +1,4 @@
+/**
+ * Entity tags of the player resources.
+ */
+package com.guessnumbergame.playerservice.etag;
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.guessnumbergame.playerservice.event;
+
+import com.guessnumbergame.playerservice.notification.ChangeNotificationListener;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Published when the notifications of the changes of players and users might
+ * have been missed, because the connection which receives them was lost and
+ * then restored.<br />
+ * Everything cached from the database should be evicted or reloaded.
+ * <p>
+ * The event is published outside of any transaction, so it should be listened
+ * with {@code @EventListener}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see ChangeNotificationListener
+ */
+@EqualsAndHashCode
+@ToString
+public final class ChangeNotificationsMissedEvent {
+
+}
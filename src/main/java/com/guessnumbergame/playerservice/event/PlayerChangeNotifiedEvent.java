@@ -0,0 +1,43 @@
+package com.guessnumbergame.playerservice.event;
+
+import com.guessnumbergame.playerservice.notification.ChangeNotificationListener;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when the database notified that a player was inserted, updated or
+ * deleted by any instance of the service, including this one.<br />
+ * Contains the id, the username and the best attempts count of the changed
+ * player as they were committed, and whether the player was deleted.
+ * <p>
+ * The notifications are delivered in the order of the commits, so the last
+ * event of a player contains its current state.
+ * <p>
+ * The event is published after the transaction which changed the player is
+ * committed, outside of any transaction, so it should be listened with
+ * {@code @EventListener}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see ChangeNotificationListener
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerChangeNotifiedEvent {
+
+  private final Long id;
+
+  private final String username;
+
+  private final Integer bestAttemptsCount;
+
+  private final boolean deleted;
+
+}
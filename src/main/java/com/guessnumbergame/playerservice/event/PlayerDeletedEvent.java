@@ -0,0 +1,32 @@
+package com.guessnumbergame.playerservice.event;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when a player was deleted.<br />
+ * Contains the id and the username of the deleted player. The username is
+ * {@code null} if the player wasn't found before the deletion.
+ * <p>
+ * The event is published inside the transaction which deletes the player, so
+ * it should be listened with {@code @TransactionalEventListener}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSavedEvent
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerDeletedEvent {
+
+  private final Long id;
+
+  private final String username;
+
+}
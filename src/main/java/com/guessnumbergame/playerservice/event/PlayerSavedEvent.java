@@ -0,0 +1,31 @@
+package com.guessnumbergame.playerservice.event;
+
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when a player was created or updated.<br />
+ * Contains the saved state of the player.
+ * <p>
+ * The event is published inside the transaction which saves the player, so it
+ * should be listened with {@code @TransactionalEventListener}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerDeletedEvent
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class PlayerSavedEvent {
+
+  private final PlayerSummary player;
+
+}
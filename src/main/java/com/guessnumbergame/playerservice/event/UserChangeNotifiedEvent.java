@@ -0,0 +1,34 @@
+package com.guessnumbergame.playerservice.event;
+
+import com.guessnumbergame.playerservice.notification.ChangeNotificationListener;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when the database notified that a user or the user's authorities
+ * were changed by any instance of the service, including this one.<br />
+ * Contains the username of the changed user.
+ * <p>
+ * The event is published after the transaction which changed the user is
+ * committed, outside of any transaction, so it should be listened with
+ * {@code @EventListener}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see ChangeNotificationListener
+ * @see UserChangedEvent
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class UserChangeNotifiedEvent {
+
+  private final String username;
+
+}
@@ -0,0 +1,30 @@
+package com.guessnumbergame.playerservice.event;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when a user was created, updated or deleted or when the user's
+ * password was changed.<br />
+ * Contains the username of the changed user.
+ * <p>
+ * The event may be published inside the transaction which changes the user,
+ * so it should be listened with {@code @TransactionalEventListener} with the
+ * fallback execution enabled.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class UserChangedEvent {
+
+  private final String username;
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Application events.
+ */
+package com.guessnumbergame.playerservice.event;
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.guessnumbergame.playerservice.exception;
+
+import java.time.Duration;
+
+import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
+
+/**
+ * Can be thrown if a best result can't be accepted because the write-behind
+ * buffer is full or closed.<br />
+ * Contains the delay after which the client may retry.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerResponseEntityExceptionHandler
+ */
+public class BestResultBufferFullException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Duration retryAfter;
+
+  public BestResultBufferFullException(Duration retryAfter) {
+    super("Too many results are waiting to be saved");
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration getRetryAfter() {
+    return this.retryAfter;
+  }
+
+}
@@ -0,0 +1,31 @@
+package com.guessnumbergame.playerservice.exception;
+
+import java.time.Duration;
+
+import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
+
+/**
+ * Can be thrown if a client can't subscribe to the leaderboard stream
+ * because the maximum count of subscribers is reached.<br />
+ * Contains the delay after which the client may retry.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerResponseEntityExceptionHandler
+ */
+public class LeaderboardStreamFullException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Duration retryAfter;
+
+  public LeaderboardStreamFullException(Duration retryAfter) {
+    super("Too many leaderboard subscribers");
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration getRetryAfter() {
+    return this.retryAfter;
+  }
+
+}
@@ -0,0 +1,38 @@
+package com.guessnumbergame.playerservice.exception;
+
+import java.time.Duration;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+import com.guessnumbergame.playerservice.exception.handler.RegistrationResponseEntityExceptionHandler;
+import com.guessnumbergame.playerservice.security.BoundedPasswordEncoder;
+
+/**
+ * Can be thrown if a password can't be hashed or verified because the
+ * password hashing pool is saturated.<br />
+ * Contains the delay after which the client may retry.
+ * <p>
+ * The exception is an {@code AuthenticationException}, so during the HTTP
+ * Basic authentication it reaches the {@code AuthenticationEntryPoint}.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see BoundedPasswordEncoder
+ * @see RegistrationResponseEntityExceptionHandler
+ */
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Duration retryAfter;
+
+  public PasswordHashingRejectedException(Duration retryAfter) {
+    super("Too many passwords are being hashed");
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration getRetryAfter() {
+    return this.retryAfter;
+  }
+
+}
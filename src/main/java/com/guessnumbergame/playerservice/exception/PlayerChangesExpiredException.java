@@ -0,0 +1,22 @@
+package com.guessnumbergame.playerservice.exception;
+
+import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
+
+/**
+ * Can be thrown if the changes of players are requested since the time
+ * whose deletions are no longer kept.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerResponseEntityExceptionHandler
+ */
+public class PlayerChangesExpiredException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public PlayerChangesExpiredException(String since) {
+    super("Changes since '%s' are no longer kept, all players must be reloaded"
+        .formatted(since));
+  }
+
+}
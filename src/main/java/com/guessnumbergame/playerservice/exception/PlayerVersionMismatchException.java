@@ -0,0 +1,21 @@
+package com.guessnumbergame.playerservice.exception;
+
+import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
+
+/**
+ * Can be thrown if a player wasn't updated because his current version
+ * doesn't match the expected one.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerResponseEntityExceptionHandler
+ */
+public class PlayerVersionMismatchException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public PlayerVersionMismatchException(Long id) {
+    super("Player with id = %d was changed by another request".formatted(id));
+  }
+
+}
@@ -17,10 +17,18 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import com.guessnumbergame.playerservice.controller.PlayerController;
+import com.guessnumbergame.playerservice.controller.PlayerLookupController;
+import com.guessnumbergame.playerservice.controller.ReactivePlayerLookupController;
+import com.guessnumbergame.playerservice.exception.BadPlayerCursorException;
+import com.guessnumbergame.playerservice.exception.BestResultBufferFullException;
+import com.guessnumbergame.playerservice.exception.LeaderboardStreamFullException;
+import com.guessnumbergame.playerservice.exception.PlayerChangesExpiredException;
 import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
-import com.guessnumbergame.playerservice.exception.PlayerNotUpdatedException;
+import com.guessnumbergame.playerservice.exception.PlayerVersionMismatchException;
 import com.guessnumbergame.playerservice.service.PlayerService;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -31,9 +39,12 @@ import lombok.extern.slf4j.Slf4j;
  * @author Luke Sukhanov
  * @version 1.0
  * @see PlayerController
+ * @see PlayerLookupController
+ * @see ReactivePlayerLookupController
  * @see PlayerService
  */
-@ControllerAdvice(assignableTypes = PlayerController.class)
+@ControllerAdvice(assignableTypes = { PlayerController.class, PlayerLookupController.class,
+    ReactivePlayerLookupController.class })
 @Slf4j
 public class PlayerResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
@@ -48,6 +59,27 @@ public class PlayerResponseEntityExceptionHandler extends ResponseEntityExceptio
     return new ResponseEntity<>(responseBody, headers, status);
   }
 
+  /**
+   * Handles the {@code ConstraintViolationException} which can be thrown if
+   * the elements of the request body are invalid.
+   * 
+   * @param e the catched {@code ConstraintViolationException}
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} after handling the exception
+   */
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<Object> handleConstraintViolationException(
+      ConstraintViolationException e, WebRequest request) {
+    log.debug("Handling ConstraintViolationException: {}", e.toString());
+    Map<String, String> errors = e.getConstraintViolations()
+        .stream()
+        .collect(toMap(violation -> violation.getPropertyPath().toString(),
+            ConstraintViolation::getMessage, (message1, message2) -> message1));
+    Map<String, Object> responseBody = Map.of("errors", errors);
+    HttpHeaders headers = new HttpHeaders();
+    return handleExceptionInternal(e, responseBody, headers, HttpStatus.BAD_REQUEST, request);
+  }
+
   /**
    * Handles the {@code PlayerNotFoundException} which can be thrown if the
    * player wasn't found in the repository.
@@ -65,6 +97,78 @@ public class PlayerResponseEntityExceptionHandler extends ResponseEntityExceptio
     return handleExceptionInternal(e, responseBody, headers, HttpStatus.NOT_FOUND, request);
   }
 
+  /**
+   * Handles the {@code BadPlayerCursorException} which can be thrown if the
+   * cursor of the players page can't be decoded.
+   * 
+   * @param e the catched {@code BadPlayerCursorException}
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} after handling the exception
+   */
+  @ExceptionHandler(BadPlayerCursorException.class)
+  public ResponseEntity<Object> handleBadPlayerCursorException(BadPlayerCursorException e,
+      WebRequest request) {
+    log.debug("Handling BadPlayerCursorException: {}", e.toString());
+    Map<String, Object> responseBody = Map.of("error", e.getMessage());
+    HttpHeaders headers = new HttpHeaders();
+    return handleExceptionInternal(e, responseBody, headers, HttpStatus.BAD_REQUEST, request);
+  }
+
+  /**
+   * Handles the {@code PlayerChangesExpiredException} which can be thrown if
+   * the changes of players are requested with a token older than the
+   * retention of the tombstones.
+   * 
+   * @param e the catched {@code PlayerChangesExpiredException}
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} after handling the exception
+   */
+  @ExceptionHandler(PlayerChangesExpiredException.class)
+  public ResponseEntity<Object> handlePlayerChangesExpiredException(
+      PlayerChangesExpiredException e, WebRequest request) {
+    log.debug("Handling PlayerChangesExpiredException: {}", e.toString());
+    Map<String, Object> responseBody = Map.of("error", e.getMessage());
+    HttpHeaders headers = new HttpHeaders();
+    return handleExceptionInternal(e, responseBody, headers, HttpStatus.GONE, request);
+  }
+
+  /**
+   * Handles the {@code BestResultBufferFullException} which can be thrown if
+   * the write-behind buffer of best results is full.
+   * 
+   * @param e the catched {@code BestResultBufferFullException}
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} after handling the exception
+   */
+  @ExceptionHandler(BestResultBufferFullException.class)
+  public ResponseEntity<Object> handleBestResultBufferFullException(
+      BestResultBufferFullException e, WebRequest request) {
+    log.debug("Handling BestResultBufferFullException: {}", e.toString());
+    Map<String, Object> responseBody = Map.of("error", e.getMessage());
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()));
+    return handleExceptionInternal(e, responseBody, headers, HttpStatus.SERVICE_UNAVAILABLE,
+        request);
+  }
+
+  /**
+   * Handles the {@code LeaderboardStreamFullException} which can be thrown if
+   * the maximum count of the leaderboard subscribers is reached.<br />
+   * The response has no body since the client accepts only the event stream.
+   * 
+   * @param e the catched {@code LeaderboardStreamFullException}
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} after handling the exception
+   */
+  @ExceptionHandler(LeaderboardStreamFullException.class)
+  public ResponseEntity<Object> handleLeaderboardStreamFullException(
+      LeaderboardStreamFullException e, WebRequest request) {
+    log.debug("Handling LeaderboardStreamFullException: {}", e.toString());
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()));
+    return handleExceptionInternal(e, null, headers, HttpStatus.SERVICE_UNAVAILABLE, request);
+  }
+
   /**
    * Handles the {@code DuplicateKeyException} which can be thrown during
    * registration process if the given username is already in use.
@@ -85,23 +189,21 @@ public class PlayerResponseEntityExceptionHandler extends ResponseEntityExceptio
   }
 
   /**
-   * Handles the {@code PlayerNotUpdatedException} which can be thrown
-   * if the player failed to be updated or patched for technical reasons.
+   * Handles the {@code PlayerVersionMismatchException} which can be thrown
+   * if the player's version doesn't match the tag from the {@code If-Match}
+   * header.
    * 
-   * @param e the catched {@code PlayerNotUpdatedException}
+   * @param e the catched {@code PlayerVersionMismatchException}
    * @param request the current {@code WebRequest}
    * @return a {@code ResponseEntity} after handling the exception
    */
-  @ExceptionHandler(PlayerNotUpdatedException.class)
-  public ResponseEntity<Object> handlePlayerNotUpdatedException(PlayerNotUpdatedException e,
-      WebRequest request) {
-    log.warn("Handling PlayerNotUpdatedException: {}\n"
-        + "cause: {}", e.toString(), e.getCause().toString());
-    Map<String, Object> responseBody = Map.of(
-        "error", e.getMessage(),
-        "cause", e.getCause().getMessage());
+  @ExceptionHandler(PlayerVersionMismatchException.class)
+  public ResponseEntity<Object> handlePlayerVersionMismatchException(
+      PlayerVersionMismatchException e, WebRequest request) {
+    log.debug("Handling PlayerVersionMismatchException: {}", e.toString());
+    Map<String, Object> responseBody = Map.of("error", e.getMessage());
     HttpHeaders headers = new HttpHeaders();
-    return handleExceptionInternal(e, responseBody, headers, HttpStatus.INTERNAL_SERVER_ERROR,
+    return handleExceptionInternal(e, responseBody, headers, HttpStatus.PRECONDITION_FAILED,
         request);
   }
 
@@ -15,6 +15,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import com.guessnumbergame.playerservice.controller.RegistrationController;
 import com.guessnumbergame.playerservice.dto.RegistrationForm;
 import com.guessnumbergame.playerservice.exception.BadRegistrationCredentialsException;
+import com.guessnumbergame.playerservice.exception.PasswordHashingRejectedException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -69,4 +70,23 @@ public class RegistrationResponseEntityExceptionHandler extends ResponseEntityEx
     return handleExceptionInternal(e, responseBody, headers, HttpStatus.BAD_REQUEST, request);
   }
 
+  /**
+   * Handles the {@code PasswordHashingRejectedException} which can be thrown
+   * while hashing the password if the password hashing pool is saturated.
+   * 
+   * @param e the catched {@code PasswordHashingRejectedException}
+   * @param request the current {@code WebRequest}
+   * @return a {@code ResponseEntity} after handling the exception
+   */
+  @ExceptionHandler(PasswordHashingRejectedException.class)
+  public ResponseEntity<Object> handlePasswordHashingRejectedException(
+      PasswordHashingRejectedException e, WebRequest request) {
+    log.debug("Handling PasswordHashingRejectedException: {}", e.toString());
+    Map<String, Object> responseBody = Map.of("error", e.getMessage());
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()));
+    return handleExceptionInternal(e, responseBody, headers, HttpStatus.TOO_MANY_REQUESTS,
+        request);
+  }
+
 }
@@ -0,0 +1,162 @@
+package com.guessnumbergame.playerservice.leaderboard;
+
+import java.util.Arrays;
+
+/**
+ * Counts of players per best attempts count, which allow to find ranks in
+ * {@code O(log d)}, where {@code d} is the count of distinct best attempts
+ * counts.
+ * <p>
+ * The distinct counts are kept in a sorted array and two Fenwick trees are
+ * built over their positions: the first one sums the players, the second one
+ * sums the counts having at least one player. A new distinct count rebuilds the
+ * trees in {@code O(d)}. The counts without players are dropped when they make
+ * up more than a half of all counts.
+ * <p>
+ * This class is not thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerLeaderboard
+ */
+class AttemptsCountRanking {
+
+  private int[] values = new int[0];
+
+  private int[] playerCounts = new int[0];
+
+  private int[] playerTree = new int[1];
+
+  private int[] presenceTree = new int[1];
+
+  private int emptyValuesCount;
+
+  /**
+   * Adds a player with the given best attempts count.
+   * 
+   * @param value an {@code int} representing the best attempts count
+   */
+  void add(int value) {
+    int position = Arrays.binarySearch(this.values, value);
+    if (position < 0) {
+      position = -position - 1;
+      insertValue(position, value);
+    }
+    if (this.playerCounts[position]++ == 0) {
+      this.emptyValuesCount--;
+      update(this.presenceTree, position, 1);
+    }
+    update(this.playerTree, position, 1);
+  }
+
+  /**
+   * Removes a player with the given best attempts count.
+   * 
+   * @param value an {@code int} representing the best attempts count
+   */
+  void remove(int value) {
+    int position = Arrays.binarySearch(this.values, value);
+    if (position < 0 || this.playerCounts[position] == 0) {
+      throw new IllegalStateException("No player with best attempts count " + value);
+    }
+    update(this.playerTree, position, -1);
+    if (--this.playerCounts[position] == 0) {
+      this.emptyValuesCount++;
+      update(this.presenceTree, position, -1);
+      if (this.emptyValuesCount > this.values.length / 2) {
+        compact();
+      }
+    }
+  }
+
+  /**
+   * Counts the players with the best attempts count less than the given one.
+   * 
+   * @param value an {@code int} representing the best attempts count
+   * @return the count of players with a better result
+   */
+  int countPlayersLessThan(int value) {
+    return sum(this.playerTree, positionOf(value));
+  }
+
+  /**
+   * Counts the distinct best attempts counts less than the given one.
+   * 
+   * @param value an {@code int} representing the best attempts count
+   * @return the count of distinct better results
+   */
+  int countValuesLessThan(int value) {
+    return sum(this.presenceTree, positionOf(value));
+  }
+
+  private int positionOf(int value) {
+    int position = Arrays.binarySearch(this.values, value);
+    return position < 0 ? -position - 1 : position;
+  }
+
+  private void insertValue(int position, int value) {
+    int length = this.values.length;
+    int[] newValues = new int[length + 1];
+    int[] newPlayerCounts = new int[length + 1];
+    System.arraycopy(this.values, 0, newValues, 0, position);
+    System.arraycopy(this.playerCounts, 0, newPlayerCounts, 0, position);
+    newValues[position] = value;
+    System.arraycopy(this.values, position, newValues, position + 1, length - position);
+    System.arraycopy(this.playerCounts, position, newPlayerCounts, position + 1,
+        length - position);
+    this.emptyValuesCount++;
+    rebuild(newValues, newPlayerCounts);
+  }
+
+  private void compact() {
+    int length = this.values.length - this.emptyValuesCount;
+    int[] newValues = new int[length];
+    int[] newPlayerCounts = new int[length];
+    int newPosition = 0;
+    for (int position = 0; position < this.values.length; position++) {
+      if (this.playerCounts[position] > 0) {
+        newValues[newPosition] = this.values[position];
+        newPlayerCounts[newPosition] = this.playerCounts[position];
+        newPosition++;
+      }
+    }
+    this.emptyValuesCount = 0;
+    rebuild(newValues, newPlayerCounts);
+  }
+
+  private void rebuild(int[] newValues, int[] newPlayerCounts) {
+    int length = newValues.length;
+    int[] newPlayerTree = new int[length + 1];
+    int[] newPresenceTree = new int[length + 1];
+    for (int position = 0; position < length; position++) {
+      newPlayerTree[position + 1] = newPlayerCounts[position];
+      newPresenceTree[position + 1] = newPlayerCounts[position] > 0 ? 1 : 0;
+    }
+    for (int i = 1; i <= length; i++) {
+      int parent = i + (i & -i);
+      if (parent <= length) {
+        newPlayerTree[parent] += newPlayerTree[i];
+        newPresenceTree[parent] += newPresenceTree[i];
+      }
+    }
+    this.values = newValues;
+    this.playerCounts = newPlayerCounts;
+    this.playerTree = newPlayerTree;
+    this.presenceTree = newPresenceTree;
+  }
+
+  private static void update(int[] tree, int position, int delta) {
+    for (int i = position + 1; i < tree.length; i += i & -i) {
+      tree[i] += delta;
+    }
+  }
+
+  private static int sum(int[] tree, int positionsCount) {
+    int sum = 0;
+    for (int i = positionsCount; i > 0; i -= i & -i) {
+      sum += tree[i];
+    }
+    return sum;
+  }
+
+}
@@ -0,0 +1,322 @@
+package com.guessnumbergame.playerservice.leaderboard;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.PlayerDeletedEvent;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+import com.guessnumbergame.playerservice.exception.LeaderboardStreamFullException;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The stream of the leaderboard changes sent to the subscribers as
+ * Server-Sent Events.
+ * <p>
+ * A subscriber receives the {@code bestResult} event with the players having
+ * the best result and the {@code top} event with the top players, at first
+ * with the current values and then every time they change. The values are
+ * sent as JSON arrays.
+ * <p>
+ * The changes are noticed by {@link PlayerSavedEvent} and
+ * {@link PlayerDeletedEvent} after the transactions which publish them are
+ * committed, or by {@link PlayerChangeNotifiedEvent} if they were made by
+ * another instance of the service, and are published at most once per
+ * {@code app.leaderboard.stream.publish-delay}, so a burst of changes is sent
+ * as one event. A heartbeat comment is sent every
+ * {@code app.leaderboard.stream.heartbeat-delay} together with the current
+ * values, if they weren't sent yet.
+ * <p>
+ * Each subscriber has one pending value, which is replaced by the newer one,
+ * and is sent to by one thread of the bounded pool at a time. A slow
+ * subscriber doesn't delay the others and receives only the latest values
+ * when it catches up. A subscriber is dropped when sending to it fails.
+ * <p>
+ * The count of subscribers is limited. The stream publishes the following
+ * metrics:
+ * <ul>
+ * <li>{@code leaderboard.stream.subscribers} - the count of subscribers;</li>
+ * <li>{@code leaderboard.stream.rejections} - the count of subscriptions
+ * rejected because of the limit.</li>
+ * </ul>
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerLeaderboard
+ */
+@Component
+@Slf4j
+public class LeaderboardStream {
+
+  private final PlayerService playerService;
+
+  private final int maxSubscribers;
+
+  private final int maxTopSize;
+
+  private final Duration timeout;
+
+  private final Duration retryAfter;
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+
+  private final AtomicBoolean changed = new AtomicBoolean();
+
+  private final ExecutorService sendExecutor;
+
+  private final Counter rejections;
+
+  public LeaderboardStream(PlayerService playerService, MeterRegistry meterRegistry,
+      @Value("${app.leaderboard.stream.max-subscribers}") int maxSubscribers,
+      @Value("${app.leaderboard.stream.send-threads}") int sendThreads,
+      @Value("${app.leaderboard.stream.timeout}") Duration timeout,
+      @Value("${app.leaderboard.stream.retry-after}") Duration retryAfter,
+      @Value("${app.leaderboard.top-max-size}") int maxTopSize) {
+    this.playerService = playerService;
+    this.maxSubscribers = maxSubscribers;
+    this.maxTopSize = maxTopSize;
+    this.timeout = timeout;
+    this.retryAfter = retryAfter;
+    this.sendExecutor = Executors.newFixedThreadPool(sendThreads,
+        new CustomizableThreadFactory("leaderboard-stream-"));
+    Gauge.builder("leaderboard.stream.subscribers", this.subscriberCount, AtomicInteger::get)
+        .description("The count of leaderboard subscribers")
+        .register(meterRegistry);
+    this.rejections = Counter.builder("leaderboard.stream.rejections")
+        .description("The count of subscriptions rejected because of the limit")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Subscribes a client to the leaderboard changes.
+   * 
+   * @param n an {@code int} representing the maximum count of the top players
+   * @return an {@code SseEmitter} sending the changes to the client
+   * @throws LeaderboardStreamFullException if the maximum count of subscribers
+   *         is reached
+   */
+  public SseEmitter subscribe(int n) {
+    if (this.subscriberCount.incrementAndGet() > this.maxSubscribers) {
+      this.subscriberCount.decrementAndGet();
+      this.rejections.increment();
+      throw new LeaderboardStreamFullException(this.retryAfter);
+    }
+    int topSize = Math.max(1, Math.min(n, this.maxTopSize));
+    Snapshot snapshot;
+    try {
+      snapshot = new Snapshot(this.playerService.getPlayersWithBestResult(),
+          this.playerService.getTopPlayers(topSize));
+    } catch (RuntimeException e) {
+      this.subscriberCount.decrementAndGet();
+      throw e;
+    }
+    SseEmitter emitter = new SseEmitter(this.timeout.toMillis());
+    Subscriber subscriber = new Subscriber(emitter, topSize);
+    this.subscribers.add(subscriber);
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onError(e -> unsubscribe(subscriber));
+    subscriber.offer(snapshot, false);
+    return emitter;
+  }
+
+  @TransactionalEventListener
+  public void onPlayerSaved(PlayerSavedEvent event) {
+    this.changed.set(true);
+  }
+
+  @TransactionalEventListener
+  public void onPlayerDeleted(PlayerDeletedEvent event) {
+    this.changed.set(true);
+  }
+
+  @EventListener({ PlayerChangeNotifiedEvent.class, ChangeNotificationsMissedEvent.class })
+  public void onPlayerChangeNotified() {
+    this.changed.set(true);
+  }
+
+  /**
+   * Sends the current values to the subscribers if the players were changed.
+   */
+  @Scheduled(fixedDelayString = "${app.leaderboard.stream.publish-delay}")
+  public void publishChanges() {
+    if (this.changed.getAndSet(false) && !this.subscribers.isEmpty()) {
+      publish(false);
+    }
+  }
+
+  /**
+   * Sends the heartbeats to the subscribers. The values changed since the
+   * last event are sent instead of the heartbeat.
+   */
+  @Scheduled(initialDelayString = "${app.leaderboard.stream.heartbeat-delay}",
+      fixedDelayString = "${app.leaderboard.stream.heartbeat-delay}")
+  public void sendHeartbeats() {
+    if (!this.subscribers.isEmpty()) {
+      publish(true);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    this.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    this.sendExecutor.shutdownNow();
+  }
+
+  private void publish(boolean heartbeat) {
+    int topSize = this.subscribers.stream()
+        .mapToInt(subscriber -> subscriber.topSize)
+        .max()
+        .orElse(1);
+    Snapshot snapshot = new Snapshot(this.playerService.getPlayersWithBestResult(),
+        this.playerService.getTopPlayers(topSize));
+    this.subscribers.forEach(subscriber -> subscriber.offer(snapshot, heartbeat));
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    if (this.subscribers.remove(subscriber)) {
+      this.subscriberCount.decrementAndGet();
+    }
+  }
+
+  /**
+   * The players with the best result and the top players at some moment.
+   */
+  private static class Snapshot {
+
+    private final List<PlayerSummary> bestPlayers;
+
+    private final List<PlayerSummary> topPlayers;
+
+    Snapshot(List<PlayerSummary> bestPlayers, List<PlayerSummary> topPlayers) {
+      this.bestPlayers = List.copyOf(bestPlayers);
+      this.topPlayers = List.copyOf(topPlayers);
+    }
+
+  }
+
+  /**
+   * A client receiving the leaderboard changes.
+   * <p>
+   * The last sent values are accessed only by the thread which drains the
+   * subscriber.
+   */
+  private class Subscriber {
+
+    private final SseEmitter emitter;
+
+    private final int topSize;
+
+    private final AtomicReference<Snapshot> pendingSnapshot = new AtomicReference<>();
+
+    private final AtomicBoolean pendingHeartbeat = new AtomicBoolean();
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private List<PlayerSummary> sentBestPlayers;
+
+    private List<PlayerSummary> sentTopPlayers;
+
+    Subscriber(SseEmitter emitter, int topSize) {
+      this.emitter = emitter;
+      this.topSize = topSize;
+    }
+
+    void offer(Snapshot snapshot, boolean heartbeat) {
+      this.pendingSnapshot.set(snapshot);
+      if (heartbeat) {
+        this.pendingHeartbeat.set(true);
+      }
+      scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+      if (!this.draining.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        LeaderboardStream.this.sendExecutor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        this.draining.set(false);
+      }
+    }
+
+    private void drain() {
+      try {
+        while (true) {
+          Snapshot snapshot = this.pendingSnapshot.getAndSet(null);
+          boolean heartbeat = this.pendingHeartbeat.getAndSet(false);
+          if (snapshot == null && !heartbeat) {
+            break;
+          }
+          send(snapshot, heartbeat);
+        }
+      } catch (IOException | IllegalStateException e) {
+        log.debug("Dropping leaderboard subscriber: {}", e.toString());
+        unsubscribe(this);
+        this.emitter.completeWithError(e);
+        return;
+      }
+      this.draining.set(false);
+      if (this.pendingSnapshot.get() != null || this.pendingHeartbeat.get()) {
+        scheduleDrain();
+      }
+    }
+
+    private void send(Snapshot snapshot, boolean heartbeat) throws IOException {
+      boolean sent = false;
+      if (snapshot != null) {
+        if (!snapshot.bestPlayers.equals(this.sentBestPlayers)) {
+          this.emitter.send(SseEmitter.event()
+              .name("bestResult")
+              .data(snapshot.bestPlayers, MediaType.APPLICATION_JSON));
+          this.sentBestPlayers = snapshot.bestPlayers;
+          sent = true;
+        }
+        List<PlayerSummary> topPlayers = snapshot.topPlayers
+            .subList(0, Math.min(this.topSize, snapshot.topPlayers.size()));
+        if (!topPlayers.equals(this.sentTopPlayers)) {
+          this.emitter.send(SseEmitter.event()
+              .name("top")
+              .data(topPlayers, MediaType.APPLICATION_JSON));
+          this.sentTopPlayers = topPlayers;
+          sent = true;
+        }
+      }
+      if (heartbeat && !sent) {
+        this.emitter.send(SseEmitter.event().comment("heartbeat"));
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,310 @@
+package com.guessnumbergame.playerservice.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.guessnumbergame.playerservice.dto.PlayerRank;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.PlayerDeletedEvent;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The in-memory index of players ordered by the best attempts count.
+ * <p>
+ * The players with the best result are found in {@code O(k)}, the top
+ * {@code n} players are found in {@code O(n)} and the rank of a player is
+ * found in {@code O(log d)}, where {@code d} is the count of distinct results.
+ * <p>
+ * The index is loaded from the {@link PlayerRepository} when the application
+ * is ready and then is kept current by {@link PlayerSavedEvent} and
+ * {@link PlayerDeletedEvent} after the transactions which publish them are
+ * committed. The changes received while the index is being reloaded are
+ * replayed on the reloaded index.
+ * <p>
+ * A player changed by any instance of the service is put into the index or
+ * removed from it as the {@link PlayerChangeNotifiedEvent} describes, without
+ * querying the repository. The index is reloaded on the
+ * {@link ChangeNotificationsMissedEvent}.
+ * <p>
+ * The index is periodically compared with the repository and is reloaded if
+ * they differ.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ * @see PlayerRank
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlayerLeaderboard {
+
+  private final PlayerRepository playerRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private Index index = new Index();
+
+  private List<Consumer<Index>> pendingChanges;
+
+  private volatile boolean loaded;
+
+  /**
+   * Shows whether the index was loaded and can be used instead of the
+   * repository.
+   * 
+   * @return {@code true} if the index was loaded
+   */
+  public boolean isLoaded() {
+    return this.loaded;
+  }
+
+  /**
+   * Finds the players with the best result, ordered by id.
+   * 
+   * @return a {@code List} of the players having the best result
+   */
+  public List<PlayerSummary> getPlayersWithBestResult() {
+    this.lock.readLock().lock();
+    try {
+      return this.index.getPlayersWithBestResult();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the players with the best results, ordered by the best attempts count
+   * and id.
+   * 
+   * @param n an {@code int} representing the maximum count of players
+   * @return a {@code List} of at most {@code n} players with the best results
+   */
+  public List<PlayerSummary> getTopPlayers(int n) {
+    this.lock.readLock().lock();
+    try {
+      return this.index.getTopPlayers(n);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the rank of the player with the given id.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @return an {@code Optional} with the {@code PlayerRank}, or an empty
+   *         {@code Optional} if the player isn't in the index
+   */
+  public Optional<PlayerRank> getRank(Long id) {
+    this.lock.readLock().lock();
+    try {
+      return this.index.getRank(id);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Loads all players from the repository and replaces the current index.
+   */
+  @EventListener({ ApplicationReadyEvent.class, ChangeNotificationsMissedEvent.class })
+  @Transactional(readOnly = true)
+  public synchronized void load() {
+    this.lock.writeLock().lock();
+    try {
+      this.pendingChanges = new ArrayList<>();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+    Index loadedIndex = new Index();
+    this.playerRepository.excludeFromChangesWatermark();
+    try (Stream<PlayerSummary> players = this.playerRepository.streamAllPlayerSummaries()) {
+      players.forEach(loadedIndex::put);
+    } catch (RuntimeException e) {
+      this.lock.writeLock().lock();
+      try {
+        this.pendingChanges = null;
+      } finally {
+        this.lock.writeLock().unlock();
+      }
+      throw e;
+    }
+    this.lock.writeLock().lock();
+    try {
+      this.pendingChanges.forEach(change -> change.accept(loadedIndex));
+      this.pendingChanges = null;
+      this.index = loadedIndex;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+    this.loaded = true;
+    log.info("Loaded {} players into the leaderboard", loadedIndex.size());
+  }
+
+  /**
+   * Compares the players with the best result from the index and from the
+   * repository. Reloads the index if they differ.
+   */
+  @Scheduled(initialDelayString = "${app.leaderboard.consistency-check-delay}",
+      fixedDelayString = "${app.leaderboard.consistency-check-delay}")
+  @Transactional(readOnly = true)
+  public void checkConsistency() {
+    if (!this.loaded) {
+      return;
+    }
+    List<PlayerSummary> indexedPlayers = getPlayersWithBestResult();
+    List<PlayerSummary> storedPlayers = this.playerRepository.findPlayerSummariesWithBestResult();
+    if (!new HashSet<>(indexedPlayers).equals(new HashSet<>(storedPlayers))) {
+      log.warn("The leaderboard differs from the repository, reloading it.\n"
+          + "leaderboard: {}\n"
+          + "repository: {}", indexedPlayers, storedPlayers);
+      load();
+    }
+  }
+
+  @TransactionalEventListener
+  public void onPlayerSaved(PlayerSavedEvent event) {
+    PlayerSummary player = event.getPlayer();
+    apply(index -> index.put(player));
+  }
+
+  @TransactionalEventListener
+  public void onPlayerDeleted(PlayerDeletedEvent event) {
+    Long id = event.getId();
+    apply(index -> index.remove(id));
+  }
+
+  @EventListener
+  public void onPlayerChangeNotified(PlayerChangeNotifiedEvent event) {
+    Long id = event.getId();
+    if (event.isDeleted()) {
+      apply(index -> index.remove(id));
+    } else {
+      PlayerSummary player = new PlayerSummary(id, event.getUsername(),
+          event.getBestAttemptsCount());
+      apply(index -> index.put(player));
+    }
+  }
+
+  private void apply(Consumer<Index> change) {
+    this.lock.writeLock().lock();
+    try {
+      change.accept(this.index);
+      if (this.pendingChanges != null) {
+        this.pendingChanges.add(change);
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * The players grouped by the best attempts count.
+   * <p>
+   * This class is not thread-safe.
+   */
+  private static class Index {
+
+    private final Map<Long, PlayerSummary> playersById = new HashMap<>();
+
+    private final TreeMap<Integer, TreeMap<Long, PlayerSummary>> playersByBestAttemptsCount = new TreeMap<>();
+
+    private final AttemptsCountRanking ranking = new AttemptsCountRanking();
+
+    int size() {
+      return this.playersById.size();
+    }
+
+    List<PlayerSummary> getPlayersWithBestResult() {
+      Map.Entry<Integer, TreeMap<Long, PlayerSummary>> bestEntry = this.playersByBestAttemptsCount
+          .firstEntry();
+      if (bestEntry == null) {
+        return Collections.emptyList();
+      }
+      return List.copyOf(bestEntry.getValue().values());
+    }
+
+    List<PlayerSummary> getTopPlayers(int n) {
+      List<PlayerSummary> topPlayers = new ArrayList<>(Math.min(n, this.playersById.size()));
+      for (TreeMap<Long, PlayerSummary> players : this.playersByBestAttemptsCount.values()) {
+        for (PlayerSummary player : players.values()) {
+          if (topPlayers.size() == n) {
+            return topPlayers;
+          }
+          topPlayers.add(player);
+        }
+      }
+      return topPlayers;
+    }
+
+    Optional<PlayerRank> getRank(Long id) {
+      PlayerSummary player = this.playersById.get(id);
+      if (player == null) {
+        return Optional.empty();
+      }
+      Integer bestAttemptsCount = player.getBestAttemptsCount();
+      if (bestAttemptsCount == null) {
+        return Optional.of(new PlayerRank(id, player.getUsername(), null, null, null));
+      }
+      int rank = this.ranking.countPlayersLessThan(bestAttemptsCount) + 1;
+      int denseRank = this.ranking.countValuesLessThan(bestAttemptsCount) + 1;
+      return Optional.of(
+          new PlayerRank(id, player.getUsername(), bestAttemptsCount, rank, denseRank));
+    }
+
+    void put(PlayerSummary player) {
+      remove(player.getId());
+      this.playersById.put(player.getId(), player);
+      Integer bestAttemptsCount = player.getBestAttemptsCount();
+      if (bestAttemptsCount != null) {
+        this.playersByBestAttemptsCount
+            .computeIfAbsent(bestAttemptsCount, count -> new TreeMap<>())
+            .put(player.getId(), player);
+        this.ranking.add(bestAttemptsCount);
+      }
+    }
+
+    void remove(Long id) {
+      PlayerSummary player = this.playersById.remove(id);
+      if (player == null || player.getBestAttemptsCount() == null) {
+        return;
+      }
+      Integer bestAttemptsCount = player.getBestAttemptsCount();
+      TreeMap<Long, PlayerSummary> players = this.playersByBestAttemptsCount
+          .get(bestAttemptsCount);
+      players.remove(id);
+      if (players.isEmpty()) {
+        this.playersByBestAttemptsCount.remove(bestAttemptsCount);
+      }
+      this.ranking.remove(bestAttemptsCount);
+    }
+
+  }
+
+}
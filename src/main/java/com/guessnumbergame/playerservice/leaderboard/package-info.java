@@ -0,0 +1,4 @@
+/**
+ * In-memory leaderboard of players.
+ */
+package com.guessnumbergame.playerservice.leaderboard;
\ No newline at end of file
@@ -0,0 +1,344 @@
+package com.guessnumbergame.playerservice.notification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.UserChangeNotifiedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives the notifications of the changes of players and users from the
+ * database and publishes them as the {@link PlayerChangeNotifiedEvent} and
+ * the {@link UserChangeNotifiedEvent}, so each instance of the service evicts
+ * its local caches when any instance changes the data.
+ * <p>
+ * The notifications are sent by the triggers on the {@code player},
+ * {@code users} and {@code authorities} tables to the
+ * {@value #PLAYER_CHANNEL} and {@value #USER_CHANNEL} channels when the
+ * transaction which made the changes is committed. The payload of the player
+ * notification is {@code operation,id,best_attempts_count,username}, where
+ * the operation is {@code I}, {@code U} or {@code D} and the best attempts
+ * count is empty if the player has no result, so the player can be applied
+ * without querying the database. The payload of the user notification is the
+ * username. The notifications caused by this instance are received too and
+ * only repeat the changes made after the commit.
+ * <p>
+ * The notifications are listened on a dedicated connection which isn't taken
+ * from the pool, by one daemon thread. The notifications received together
+ * are deduplicated before being published. The connection is validated when
+ * no notification is received for {@code app.notifications.poll-timeout}. A
+ * lost connection is opened again after
+ * {@code app.notifications.reconnect-delay}.
+ * <p>
+ * The first {@code LISTEN} is made on the {@code ApplicationReadyEvent}
+ * before the caches are loaded on the same event, so the changes committed
+ * after it are notified and the changes committed before it are loaded. The
+ * notifications sent while nothing listens are lost, so the
+ * {@link ChangeNotificationsMissedEvent} is published after each later
+ * {@code LISTEN}: after a reconnection, or if the first {@code LISTEN}
+ * failed. The missed event reloads whole caches, so it is published on a
+ * separate thread to keep receiving the notifications; the missed events
+ * requested while one is pending are merged into it.
+ * <p>
+ * The listener publishes the following metrics:
+ * <ul>
+ * <li>{@code notifications.received} - the count of received notifications
+ * with the {@code channel} tag;</li>
+ * <li>{@code notifications.reconnections} - the count of reconnections.</li>
+ * </ul>
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty("app.notifications.enabled")
+@Slf4j
+public class ChangeNotificationListener {
+
+  /**
+   * The channel of notifications of the changed players.
+   */
+  public static final String PLAYER_CHANNEL = "player_changed";
+
+  /**
+   * The channel of notifications of the changed users and authorities.
+   */
+  public static final String USER_CHANNEL = "user_changed";
+
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  private static final String DELETE_OPERATION = "D";
+
+  private final ConnectionFactory connectionFactory;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Duration pollTimeout;
+
+  private final Duration reconnectDelay;
+
+  private final Counter receivedPlayerNotifications;
+
+  private final Counter receivedUserNotifications;
+
+  private final Counter reconnections;
+
+  private final Thread thread;
+
+  private final ExecutorService missedEventExecutor = Executors
+      .newSingleThreadExecutor(new CustomizableThreadFactory("change-notifications-missed-"));
+
+  private final AtomicBoolean missedEventPending = new AtomicBoolean();
+
+  private volatile boolean running;
+
+  private volatile Connection connection;
+
+  @Autowired
+  public ChangeNotificationListener(DataSource dataSource,
+      ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+      @Value("${app.notifications.poll-timeout}") Duration pollTimeout,
+      @Value("${app.notifications.reconnect-delay}") Duration reconnectDelay)
+      throws SQLException {
+    this(connectionFactory(dataSource.unwrap(HikariDataSource.class)), eventPublisher,
+        meterRegistry, pollTimeout, reconnectDelay);
+  }
+
+  ChangeNotificationListener(ConnectionFactory connectionFactory,
+      ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+      Duration pollTimeout, Duration reconnectDelay) {
+    this.connectionFactory = connectionFactory;
+    this.eventPublisher = eventPublisher;
+    this.pollTimeout = pollTimeout;
+    this.reconnectDelay = reconnectDelay;
+    this.receivedPlayerNotifications = Counter.builder("notifications.received")
+        .description("The count of received notifications")
+        .tag("channel", PLAYER_CHANNEL)
+        .register(meterRegistry);
+    this.receivedUserNotifications = Counter.builder("notifications.received")
+        .description("The count of received notifications")
+        .tag("channel", USER_CHANNEL)
+        .register(meterRegistry);
+    this.reconnections = Counter.builder("notifications.reconnections")
+        .description("The count of reconnections of the notification listener")
+        .register(meterRegistry);
+    this.thread = new Thread(this::run, "change-notifications");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Starts listening to the notifications.<br />
+   * The first {@code LISTEN} is made in the calling thread, before the other
+   * listeners of the {@code ApplicationReadyEvent} load the caches.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public synchronized void start() {
+    if (this.running) {
+      return;
+    }
+    this.running = true;
+    try {
+      this.connection = openAndListen();
+    } catch (SQLException e) {
+      log.warn("Can't listen to the change notifications, retrying", e);
+    }
+    this.thread.start();
+  }
+
+  /**
+   * Stops listening to the notifications.
+   */
+  @PreDestroy
+  public synchronized void stop() {
+    this.running = false;
+    this.thread.interrupt();
+    this.missedEventExecutor.shutdownNow();
+    close(this.connection);
+  }
+
+  private static ConnectionFactory connectionFactory(HikariDataSource dataSource) {
+    return () -> DriverManager.getConnection(dataSource.getJdbcUrl(), dataSource.getUsername(),
+        dataSource.getPassword());
+  }
+
+  private void run() {
+    Connection openedConnection = this.connection;
+    while (this.running) {
+      try {
+        if (openedConnection == null) {
+          openedConnection = openAndListen();
+          this.connection = openedConnection;
+          publishMissedEvent();
+        }
+        receive(openedConnection);
+      } catch (SQLException e) {
+        if (!this.running) {
+          return;
+        }
+        log.warn("Lost the notification connection, reconnecting in {}", this.reconnectDelay, e);
+      } finally {
+        this.connection = null;
+        close(openedConnection);
+        openedConnection = null;
+      }
+      try {
+        Thread.sleep(this.reconnectDelay.toMillis());
+      } catch (InterruptedException e) {
+        return;
+      }
+      this.reconnections.increment();
+    }
+  }
+
+  private Connection openAndListen() throws SQLException {
+    Connection openedConnection = this.connectionFactory.open();
+    try (Statement statement = openedConnection.createStatement()) {
+      statement.execute("LISTEN " + PLAYER_CHANNEL);
+      statement.execute("LISTEN " + USER_CHANNEL);
+    } catch (SQLException e) {
+      close(openedConnection);
+      throw e;
+    }
+    log.info("Listening to the change notifications");
+    return openedConnection;
+  }
+
+  private static void close(Connection openedConnection) {
+    if (openedConnection == null) {
+      return;
+    }
+    try {
+      openedConnection.close();
+    } catch (SQLException e) {
+      log.debug("Can't close the notification connection: {}", e.toString());
+    }
+  }
+
+  private void receive(Connection openedConnection) throws SQLException {
+    PGConnection pgConnection = openedConnection.unwrap(PGConnection.class);
+    int pollTimeoutMillis = (int) this.pollTimeout.toMillis();
+    while (this.running) {
+      PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+      if (notifications == null || notifications.length == 0) {
+        if (!openedConnection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+          throw new SQLException("The notification connection isn't valid");
+        }
+        continue;
+      }
+      publish(notifications);
+    }
+  }
+
+  void publish(PGNotification[] notifications) {
+    Map<Long, PlayerChangeNotifiedEvent> players = new LinkedHashMap<>();
+    Set<String> usernames = new LinkedHashSet<>();
+    for (PGNotification notification : notifications) {
+      String payload = notification.getParameter();
+      switch (notification.getName()) {
+        case PLAYER_CHANNEL -> {
+          this.receivedPlayerNotifications.increment();
+          PlayerChangeNotifiedEvent event = parsePlayerPayload(payload);
+          if (event != null) {
+            // The last notification of a player contains its current state
+            players.put(event.getId(), event);
+          }
+        }
+        case USER_CHANNEL -> {
+          this.receivedUserNotifications.increment();
+          usernames.add(payload);
+        }
+        default -> log.warn("Ignoring the notification from channel '{}'", notification.getName());
+      }
+    }
+    players.values().forEach(this::publishEvent);
+    usernames.forEach(username -> publishEvent(new UserChangeNotifiedEvent(username)));
+  }
+
+  private PlayerChangeNotifiedEvent parsePlayerPayload(String payload) {
+    // The username is the last field since it may contain commas
+    String[] fields = payload.split(",", 4);
+    try {
+      if (fields.length < 4 || fields[3].isEmpty()) {
+        throw new IllegalArgumentException("Missing fields");
+      }
+      Integer bestAttemptsCount = fields[2].isEmpty() ? null : Integer.valueOf(fields[2]);
+      return new PlayerChangeNotifiedEvent(Long.valueOf(fields[1]), fields[3], bestAttemptsCount,
+          DELETE_OPERATION.equals(fields[0]));
+    } catch (IllegalArgumentException e) {
+      log.warn("Ignoring the player notification with payload '{}'", payload);
+      return null;
+    }
+  }
+
+  private void publishMissedEvent() {
+    if (!this.missedEventPending.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      this.missedEventExecutor.execute(() -> {
+        // Cleared before publishing, so a reconnection during the reload
+        // requests one more reload
+        this.missedEventPending.set(false);
+        publishEvent(new ChangeNotificationsMissedEvent());
+      });
+    } catch (RejectedExecutionException e) {
+      this.missedEventPending.set(false);
+      log.debug("Not publishing the missed event after the listener is stopped");
+    }
+  }
+
+  /**
+   * Opens the connection to listen on.
+   */
+  @FunctionalInterface
+  interface ConnectionFactory {
+
+    Connection open() throws SQLException;
+
+  }
+
+  private void publishEvent(Object event) {
+    try {
+      this.eventPublisher.publishEvent(event);
+    } catch (RuntimeException e) {
+      log.error("Can't handle {}", event, e);
+    }
+  }
+
+}
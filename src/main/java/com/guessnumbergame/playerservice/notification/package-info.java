@@ -0,0 +1,4 @@
+/**
+ * Notifications of the changes made by other instances of the service.
+ */
+package com.guessnumbergame.playerservice.notification;
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.guessnumbergame.playerservice.profiling;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A sampled invocation of a profiled method.
+ * <p>
+ * The {@code arguments} are truncated. The {@code exception} is {@code null}
+ * if the invocation returned normally.
+ * <p>
+ * The {@code equals} method should be used for comparisons.
+ * The {@code ProfiledInvocation} objects are compared by all the fields.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see ProfilingEndpoint
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class ProfiledInvocation implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Instant started;
+
+  private final Duration duration;
+
+  private final String arguments;
+
+  private final String exception;
+
+}
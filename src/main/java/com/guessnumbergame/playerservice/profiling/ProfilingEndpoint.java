@@ -0,0 +1,52 @@
+package com.guessnumbergame.playerservice.profiling;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The actuator endpoint showing the slowest sampled invocations of the
+ * profiled methods.
+ * <p>
+ * The invocations are grouped by the aspect ({@code restControllers} or
+ * {@code services}) and by {@code Class.method}, the slowest first. A group is
+ * empty if its aspect is disabled.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see ProfilingRestControllersAspect
+ * @see ProfilingServicesAspect
+ * @see ProfiledInvocation
+ */
+@Component
+@Endpoint(id = "profiling")
+@RequiredArgsConstructor
+public class ProfilingEndpoint {
+
+  private final ObjectProvider<ProfilingRestControllersAspect> profilingRestControllersAspect;
+
+  private final ObjectProvider<ProfilingServicesAspect> profilingServicesAspect;
+
+  @ReadOperation
+  public Map<String, Map<String, List<ProfiledInvocation>>> slowestInvocations() {
+    Map<String, Map<String, List<ProfiledInvocation>>> slowestInvocations = new LinkedHashMap<>();
+    slowestInvocations.put("restControllers", this.profilingRestControllersAspect.stream()
+        .findFirst()
+        .map(aspect -> aspect.getProfilingMeters().getSlowestInvocations())
+        .orElse(Collections.emptyMap()));
+    slowestInvocations.put("services", this.profilingServicesAspect.stream()
+        .findFirst()
+        .map(aspect -> aspect.getProfilingMeters().getSlowestInvocations())
+        .orElse(Collections.emptyMap()));
+    return slowestInvocations;
+  }
+
+}
@@ -0,0 +1,260 @@
+package com.guessnumbergame.playerservice.profiling;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The Micrometer meters of the profiled methods.
+ * <p>
+ * For each method the following meters are registered:
+ * <ul>
+ * <li>{@code <name>} - the timer with the calls count, the latency percentiles
+ * (p50, p95, p99) and the percentile histogram;</li>
+ * <li>{@code <name>.exceptions} - the count of calls which threw the exception,
+ * tagged with the exception's class.</li>
+ * </ul>
+ * The meters are tagged with the {@code class} and the {@code method} and are
+ * created on the first call of the method. The next calls only look them up.
+ * <p>
+ * The calls are sampled: on average one call of {@code samplingRate} is timed,
+ * and at most {@code maxSamplesPerSecond} calls of each method are timed per
+ * second. So the timer counts only the sampled calls, while the exceptions are
+ * counted for all calls. The {@code slowestCount} slowest sampled calls of each
+ * method are kept with their arguments.
+ * <p>
+ * The arguments and the return value are traced only if the tracing is enabled
+ * for the method's class.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see ProfilingRestControllersAspect
+ * @see ProfilingServicesAspect
+ * @see ProfiledInvocation
+ */
+final class ProfilingMeters {
+
+  private static final int MAX_ARGUMENTS_LENGTH = 200;
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final MeterRegistry meterRegistry;
+
+  private final Clock clock;
+
+  private final String name;
+
+  private final int samplingRate;
+
+  private final int maxSamplesPerSecond;
+
+  private final int slowestCount;
+
+  private final Map<Method, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+  ProfilingMeters(MeterRegistry meterRegistry, String name, int samplingRate,
+      int maxSamplesPerSecond, int slowestCount) {
+    this.meterRegistry = meterRegistry;
+    this.clock = meterRegistry.config().clock();
+    this.name = name;
+    this.samplingRate = Math.max(1, samplingRate);
+    this.maxSamplesPerSecond = maxSamplesPerSecond;
+    this.slowestCount = slowestCount;
+  }
+
+  /**
+   * Proceeds with the join point and records its meters.
+   * 
+   * @param joinPoint the profiled {@code ProceedingJoinPoint}
+   * @return the join point's return value
+   * @throws Throwable the join point's exception
+   */
+  Object profile(ProceedingJoinPoint joinPoint) throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    MethodMeters meters = this.methodMeters.get(method);
+    if (meters == null) {
+      meters = this.methodMeters.computeIfAbsent(method, MethodMeters::new);
+    }
+    Logger log = meters.log;
+    if (log.isTraceEnabled()) {
+      log.trace("Enter: {}, with arguments: {}", method.getName(), joinPoint.getArgs());
+    }
+    boolean sampled = (this.samplingRate == 1
+        || ThreadLocalRandom.current().nextInt(this.samplingRate) == 0)
+        && meters.tryAcquireSample();
+    long start = sampled ? this.clock.monotonicTime() : 0L;
+    Throwable exception = null;
+    try {
+      Object result = joinPoint.proceed();
+      if (log.isTraceEnabled()) {
+        log.trace("Exit: {}, with return value: {}", method.getName(), result);
+      }
+      return result;
+    } catch (Throwable e) {
+      exception = e;
+      meters.exceptionCounter(e.getClass()).increment();
+      if (log.isTraceEnabled()) {
+        log.trace("Exit: {}, with exception: {}", method.getName(), e.toString());
+      }
+      throw e;
+    } finally {
+      if (sampled) {
+        long durationNanos = this.clock.monotonicTime() - start;
+        meters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        meters.offerSlowest(durationNanos, joinPoint, exception);
+      }
+    }
+  }
+
+  /**
+   * Finds the slowest sampled invocations of each profiled method.
+   * 
+   * @return a {@code Map} from {@code Class.method} to the invocations, the
+   *         slowest first
+   */
+  Map<String, List<ProfiledInvocation>> getSlowestInvocations() {
+    Map<String, List<ProfiledInvocation>> slowestInvocations = new TreeMap<>();
+    for (MethodMeters meters : this.methodMeters.values()) {
+      List<ProfiledInvocation> invocations = meters.getSlowest();
+      if (!invocations.isEmpty()) {
+        slowestInvocations.merge(meters.className + "." + meters.methodName, invocations,
+            (first, second) -> {
+              List<ProfiledInvocation> merged = new ArrayList<>(first);
+              merged.addAll(second);
+              merged.sort(Comparator.comparing(ProfiledInvocation::getDuration).reversed());
+              return merged;
+            });
+      }
+    }
+    return slowestInvocations;
+  }
+
+  private final class MethodMeters {
+
+    private final Logger log;
+
+    private final String className;
+
+    private final String methodName;
+
+    private final Timer timer;
+
+    private final Map<Class<?>, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
+    private final AtomicLong sampleWindowStart = new AtomicLong();
+
+    private final AtomicInteger sampleWindowCount = new AtomicInteger();
+
+    private final long[] slowestNanos = new long[ProfilingMeters.this.slowestCount];
+
+    private final ProfiledInvocation[] slowest = new ProfiledInvocation[ProfilingMeters.this.slowestCount];
+
+    private volatile long slowestThreshold = -1L;
+
+    MethodMeters(Method method) {
+      this.log = LoggerFactory.getLogger(method.getDeclaringClass());
+      this.className = method.getDeclaringClass().getSimpleName();
+      this.methodName = method.getName();
+      this.timer = Timer.builder(ProfilingMeters.this.name)
+          .description("The latency of the profiled method")
+          .tag("class", this.className)
+          .tag("method", this.methodName)
+          .publishPercentiles(0.5, 0.95, 0.99)
+          .publishPercentileHistogram()
+          .register(ProfilingMeters.this.meterRegistry);
+    }
+
+    Counter exceptionCounter(Class<?> exceptionClass) {
+      return this.exceptionCounters.computeIfAbsent(exceptionClass,
+          key -> Counter.builder(ProfilingMeters.this.name + ".exceptions")
+              .description("The count of the profiled method calls which threw the exception")
+              .tag("class", this.className)
+              .tag("method", this.methodName)
+              .tag("exception", key.getSimpleName())
+              .register(ProfilingMeters.this.meterRegistry));
+    }
+
+    boolean tryAcquireSample() {
+      long now = ProfilingMeters.this.clock.monotonicTime();
+      long windowStart = this.sampleWindowStart.get();
+      if (now - windowStart >= NANOS_PER_SECOND
+          && this.sampleWindowStart.compareAndSet(windowStart, now)) {
+        this.sampleWindowCount.set(0);
+      }
+      return this.sampleWindowCount.incrementAndGet() <= ProfilingMeters.this.maxSamplesPerSecond;
+    }
+
+    void offerSlowest(long durationNanos, ProceedingJoinPoint joinPoint, Throwable exception) {
+      if (this.slowest.length == 0 || durationNanos <= this.slowestThreshold) {
+        return;
+      }
+      synchronized (this) {
+        int fastestIndex = 0;
+        for (int i = 0; i < this.slowest.length; i++) {
+          if (this.slowest[i] == null) {
+            fastestIndex = i;
+            break;
+          }
+          if (this.slowestNanos[i] < this.slowestNanos[fastestIndex]) {
+            fastestIndex = i;
+          }
+        }
+        if (this.slowest[fastestIndex] != null && this.slowestNanos[fastestIndex] >= durationNanos) {
+          return;
+        }
+        this.slowestNanos[fastestIndex] = durationNanos;
+        this.slowest[fastestIndex] = new ProfiledInvocation(Instant.now().minusNanos(durationNanos),
+            Duration.ofNanos(durationNanos), formatArguments(joinPoint.getArgs()),
+            exception == null ? null : exception.toString());
+        long threshold = Long.MAX_VALUE;
+        for (int i = 0; i < this.slowest.length; i++) {
+          if (this.slowest[i] == null) {
+            threshold = -1L;
+            break;
+          }
+          threshold = Math.min(threshold, this.slowestNanos[i]);
+        }
+        this.slowestThreshold = threshold;
+      }
+    }
+
+    synchronized List<ProfiledInvocation> getSlowest() {
+      return Arrays.stream(this.slowest)
+          .filter(invocation -> invocation != null)
+          .sorted(Comparator.comparing(ProfiledInvocation::getDuration).reversed())
+          .toList();
+    }
+
+  }
+
+  private static String formatArguments(Object[] arguments) {
+    String formattedArguments = Arrays.toString(arguments);
+    return formattedArguments.length() <= MAX_ARGUMENTS_LENGTH
+        ? formattedArguments
+        : formattedArguments.substring(0, MAX_ARGUMENTS_LENGTH) + "...";
+  }
+
+}
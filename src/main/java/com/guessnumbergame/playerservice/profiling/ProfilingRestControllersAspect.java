@@ -4,26 +4,50 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * This aspect provides profiling for all {@code @RestController} beans:
  * <ul>
+ * <li>the latency of each method execution is recorded by the
+ * {@code profiling.rest.controllers} timer with the p50, p95 and p99 percentiles;</li>
+ * <li>the exceptions thrown by each method are counted by the
+ * {@code profiling.rest.controllers.exceptions} counter;</li>
  * <li>before each method execution its arguments will be tracing;</li>
  * <li>after each method execution its return value will be tracing.</li>
  * </ul>
+ * The meters are tagged with the class and the method, and are cached per
+ * method. The calls are sampled with the {@code app.profiling.sampling.*}
+ * settings and the slowest sampled calls are shown by the
+ * {@link ProfilingEndpoint}.
  * 
  * @author Luke Sukhanov
  * @version 1.0
+ * @see ProfilingMeters
  */
 @Component
 @ConditionalOnProperty("app.profiling.restControllers")
 @Aspect
 public class ProfilingRestControllersAspect {
 
+  private final ProfilingMeters profilingMeters;
+
+  public ProfilingRestControllersAspect(MeterRegistry meterRegistry,
+      @Value("${app.profiling.sampling.rate}") int samplingRate,
+      @Value("${app.profiling.sampling.max-samples-per-second}") int maxSamplesPerSecond,
+      @Value("${app.profiling.sampling.slowest-count}") int slowestCount) {
+    this.profilingMeters = new ProfilingMeters(meterRegistry, "profiling.rest.controllers", samplingRate,
+        maxSamplesPerSecond, slowestCount);
+  }
+
+  ProfilingMeters getProfilingMeters() {
+    return this.profilingMeters;
+  }
+
   @Pointcut("execution(public * *(..))")
   private void publicMethod() {
   }
@@ -34,17 +58,7 @@ public class ProfilingRestControllersAspect {
 
   @Around("publicMethod() && restControllerMethod()")
   private Object profilingAdvice(ProceedingJoinPoint joinPoint) throws Throwable {
-    Logger log = LoggerFactory.getLogger(joinPoint.getThis().getClass());
-    String methodName = joinPoint.getSignature().getName();
-    log.trace("Enter: {}, with arguments: {}", methodName, joinPoint.getArgs());
-    try {
-      Object result = joinPoint.proceed();
-      log.trace("Exit: {}, with return value: {}", methodName, result);
-      return result;
-    } catch (Throwable e) {
-      log.trace("Exit: {}, with exception: {}", methodName, e.toString());
-      throw e;
-    }
+    return this.profilingMeters.profile(joinPoint);
   }
 
 }
@@ -1,8 +1,11 @@
 package com.guessnumbergame.playerservice.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +13,7 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
 import com.guessnumbergame.playerservice.entity.PlayerEntity;
 
 import jakarta.persistence.LockModeType;
@@ -22,8 +26,10 @@ import jakarta.persistence.LockModeType;
  * @version 1.0
  * @see PlayerEntity
  * @see PlayerSummary
+ * @see PlayerRepositoryCustom
  */
-public interface PlayerRepository extends CrudRepository<PlayerEntity, Long> {
+public interface PlayerRepository
+    extends CrudRepository<PlayerEntity, Long>, PlayerRepositoryCustom {
 
   @Lock(LockModeType.OPTIMISTIC)
   Optional<PlayerEntity> findById(Long id);
@@ -31,15 +37,56 @@ public interface PlayerRepository extends CrudRepository<PlayerEntity, Long> {
   @Query(name = PlayerEntity.JPQL_FIND_ALL_PLAYER_SUMMARIES)
   List<PlayerSummary> findAllPlayerSummaries();
 
+  /**
+   * Streams all players without loading them into memory at once.<br />
+   * The rows are fetched through a JDBC cursor in portions of
+   * {@code hibernate.jdbc.fetch_size}, so the stream must be consumed and
+   * closed inside a transaction.
+   * 
+   * @return a {@code Stream} of all existing players
+   */
+  @Query(name = PlayerEntity.JPQL_FIND_ALL_PLAYER_SUMMARIES)
+  Stream<PlayerSummary> streamAllPlayerSummaries();
+
+  /**
+   * Streams the usernames of all players.<br />
+   * The stream must be consumed and closed inside a transaction.
+   * 
+   * @return a {@code Stream} of all existing usernames
+   */
+  @Query(name = PlayerEntity.JPQL_FIND_ALL_USERNAMES)
+  Stream<String> streamAllUsernames();
+
+  @Query(name = PlayerEntity.JPQL_FIND_EXISTING_USERNAMES)
+  List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+  @Query(name = PlayerEntity.JPQL_FIND_PLAYER_SUMMARIES_AFTER_ID)
+  List<PlayerSummary> findPlayerSummariesAfterId(@Param("id") Long id, Pageable pageable);
+
   @Query(name = PlayerEntity.JPQL_FIND_PLAYER_SUMMARY_BY_ID)
   Optional<PlayerSummary> findPlayerSummaryById(@Param("id") Long id);
 
   @Query(name = PlayerEntity.JPQL_FIND_PLAYER_SUMMARY_BY_USERNAME)
   Optional<PlayerSummary> findPlayerSummaryByUsername(@Param("username") String username);
 
+  @Query(name = PlayerEntity.JPQL_FIND_PLAYER_VERSION_BY_ID)
+  Optional<PlayerVersion> findPlayerVersionById(@Param("id") Long id);
+
+  @Query(name = PlayerEntity.JPQL_FIND_PLAYER_VERSION_BY_USERNAME)
+  Optional<PlayerVersion> findPlayerVersionByUsername(@Param("username") String username);
+
   @Query(name = PlayerEntity.JPQL_FIND_PLAYER_SUMMARIES_WITH_BEST_RESULT)
   List<PlayerSummary> findPlayerSummariesWithBestResult();
 
+  @Query(name = PlayerEntity.JPQL_FIND_PLAYER_SUMMARIES_ORDERED_BY_BEST_RESULT)
+  List<PlayerSummary> findPlayerSummariesOrderedByBestResult(Pageable pageable);
+
+  @Query(name = PlayerEntity.JPQL_COUNT_PLAYERS_WITH_BETTER_RESULT)
+  long countPlayersWithBetterResult(@Param("bestAttemptsCount") Integer bestAttemptsCount);
+
+  @Query(name = PlayerEntity.JPQL_COUNT_RESULTS_BETTER_THAN)
+  long countResultsBetterThan(@Param("bestAttemptsCount") Integer bestAttemptsCount);
+
   @Query(name = PlayerEntity.JPQL_DELETE_PLAYER_BY_ID)
   @Modifying
   void deleteById(@Param("id") Long id);
@@ -0,0 +1,151 @@
+package com.guessnumbergame.playerservice.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerChange;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerUpdate;
+
+/**
+ * The part of the {@link PlayerRepository} which is implemented with plain
+ * SQL.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerRepository
+ */
+public interface PlayerRepositoryCustom {
+
+  /**
+   * Sets the best attempts counts of the players whose current results are
+   * worse, by one {@code UPDATE} statement.
+   * 
+   * @param bestAttemptsCounts a {@code SortedMap} of the best attempts counts
+   *        by the players' ids
+   * @return a {@code List} of the changed players
+   */
+  List<PlayerSummary> improveBestResults(SortedMap<Long, Integer> bestAttemptsCounts);
+
+  /**
+   * Sets the best attempts count of the player if his current result is
+   * absent or worse, by one statement which also checks that the player
+   * belongs to the given user.<br />
+   * The result is compared with the current row at the moment of the update,
+   * so concurrent submissions need neither locks nor retries.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @param bestAttemptsCount an {@code int} representing the new best attempts
+   *        count
+   * @param owner a {@code String} representing the username the player must
+   *        have, or {@code null} if any player can be changed
+   * @return a {@code BestResultUpdate} with the status and the player
+   */
+  BestResultUpdate improveBestResult(Long id, int bestAttemptsCount, String owner);
+
+  /**
+   * Sets the best attempts count of the player if his current version is the
+   * expected one, by one statement which also checks that the player belongs
+   * to the given user.<br />
+   * The version is compared with the current row at the moment of the update,
+   * so a concurrent change is reported instead of being overwritten and the
+   * player isn't loaded before.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @param bestAttemptsCount an {@code Integer} representing the new best
+   *        attempts count
+   * @param partial {@code true} if the {@code null} best attempts count keeps
+   *        the current one instead of clearing it
+   * @param version an {@code Integer} representing the expected version, or
+   *        {@code null} if any version can be changed
+   * @param owner a {@code String} representing the username the player must
+   *        have, or {@code null} if any player can be changed
+   * @return a {@code PlayerUpdate} with the status, the player and his version
+   */
+  PlayerUpdate updateBestAttemptsCount(Long id, Integer bestAttemptsCount, boolean partial,
+      Integer version, String owner);
+
+  /**
+   * Finds the time before which all changes of players are committed, by the
+   * database clock.<br />
+   * The time of a change is the start of the transaction which made it, so
+   * the watermark is the earliest of the start of the oldest transaction in
+   * progress and the current time minus the given delay. The delay covers
+   * the transactions of the sessions which aren't visible to the current
+   * role. A long transaction holds the watermark back, but its changes are
+   * never passed over.
+   * <p>
+   * The watermark doesn't move while any transaction of the database is in
+   * progress, so the changes aren't returned until the longest transaction
+   * ends. The long read-only scans of this service are excluded by
+   * {@link #excludeFromChangesWatermark()}. The transactions of other
+   * clients should be bounded on the database side, for example by
+   * {@code idle_in_transaction_session_timeout} and
+   * {@code statement_timeout}.
+   * <p>
+   * The watermark must be found in a statement preceding the query of the
+   * changes in the {@code READ COMMITTED} isolation, so the query sees every
+   * transaction which wasn't in progress when the watermark was found.
+   * 
+   * @param settleDelay a {@code Duration} representing the minimum age of the
+   *        returned changes
+   * @return an {@code Instant} representing the watermark
+   */
+  Instant findChangesWatermark(Duration settleDelay);
+
+  /**
+   * Excludes the current transaction from the watermark found by
+   * {@link #findChangesWatermark(Duration)}, so a long scan doesn't hold the
+   * changes back.<br />
+   * The session is marked by the {@code application_name} until the end of
+   * the transaction. It must be called only in a read-only transaction, since
+   * the changes of the excluded transaction could be passed over.
+   */
+  void excludeFromChangesWatermark();
+
+  /**
+   * Finds the players modified or deleted after the given change, ordered by
+   * the time of the change and id.<br />
+   * The modified players are found by the index on {@code last_modified} and
+   * the deleted players by the index of their tombstones, so only the changes
+   * are read.
+   * 
+   * @param after an {@code Instant} representing the time of the last seen
+   *        change
+   * @param afterId a {@code Long} representing the player's id of the last
+   *        seen change
+   * @param until an {@code Instant} representing the time before which the
+   *        changes are found
+   * @param limit an {@code int} representing the maximum count of changes
+   * @return a {@code List} of at most {@code limit} changes
+   */
+  List<PlayerChange> findChanges(Instant after, Long afterId, Instant until, int limit);
+
+  /**
+   * Deletes the tombstones of the players deleted before the given time.
+   * 
+   * @param before an {@code Instant} representing the time before which the
+   *        tombstones are deleted
+   * @return the count of deleted tombstones
+   */
+  int deleteTombstonesBefore(Instant before);
+
+  /**
+   * Creates the user, the user's authorities and the player with the same
+   * username by one statement.
+   * 
+   * @param user a {@code UserDetails} with the new user's username, password
+   *        hash and authorities
+   * @return the created player
+   * @throws DuplicateKeyException if the user or the player with this
+   *         username already exists
+   */
+  PlayerSummary createWithUser(UserDetails user);
+
+}
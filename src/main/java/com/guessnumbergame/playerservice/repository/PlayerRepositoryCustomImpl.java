@@ -0,0 +1,283 @@
+package com.guessnumbergame.playerservice.repository;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerChange;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerUpdate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The {@code PlayerRepositoryCustom} implementation using the
+ * {@code JdbcTemplate}.<br />
+ * The statements take part in the current JPA transaction.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerRepository
+ */
+@RequiredArgsConstructor
+public class PlayerRepositoryCustomImpl implements PlayerRepositoryCustom {
+
+  private static final String SQL_IMPROVE_BEST_RESULTS = """
+      UPDATE player p
+      SET best_attempts_count = r.best_attempts_count
+      FROM unnest(?, ?) AS r(id, best_attempts_count)
+      WHERE p.id = r.id
+      	AND (p.best_attempts_count IS NULL OR p.best_attempts_count > r.best_attempts_count)
+      RETURNING p.id, p.username, p.best_attempts_count
+      """;
+
+  private static final String SQL_IMPROVE_BEST_RESULT = """
+      WITH target AS (
+      	SELECT id, username, best_attempts_count
+      	FROM player
+      	WHERE id = ?
+      ), permitted AS (
+      	SELECT id
+      	FROM target
+      	WHERE CAST(? AS varchar) IS NULL OR username = ?
+      ), updated AS (
+      	UPDATE player p
+      	SET best_attempts_count = ?
+      	FROM permitted t
+      	WHERE p.id = t.id
+      		AND (p.best_attempts_count IS NULL OR p.best_attempts_count > ?)
+      	RETURNING p.id, p.best_attempts_count
+      )
+      SELECT t.id, t.username,
+      	COALESCE(u.best_attempts_count, t.best_attempts_count) AS best_attempts_count,
+      	pt.id IS NOT NULL AS permitted,
+      	u.id IS NOT NULL AS improved
+      FROM target t
+      LEFT JOIN permitted pt ON true
+      LEFT JOIN updated u ON true
+      """;
+
+  private static final String SQL_UPDATE_BEST_ATTEMPTS_COUNT = """
+      WITH target AS (
+      	SELECT id, username, best_attempts_count, version
+      	FROM player
+      	WHERE id = ?
+      ), permitted AS (
+      	SELECT id
+      	FROM target
+      	WHERE CAST(? AS varchar) IS NULL OR username = ?
+      ), updated AS (
+      	UPDATE player p
+      	SET best_attempts_count = COALESCE(CAST(? AS integer),
+      		CASE WHEN ? THEN p.best_attempts_count END)
+      	FROM permitted t
+      	WHERE p.id = t.id
+      		AND (CAST(? AS integer) IS NULL OR p.version = ?)
+      	RETURNING p.id, p.best_attempts_count, p.version
+      )
+      SELECT t.id, t.username,
+      	CASE WHEN u.id IS NULL THEN t.best_attempts_count ELSE u.best_attempts_count END
+      		AS best_attempts_count,
+      	COALESCE(u.version, t.version) AS version,
+      	pt.id IS NOT NULL AS permitted,
+      	u.id IS NOT NULL AS updated
+      FROM target t
+      LEFT JOIN permitted pt ON true
+      LEFT JOIN updated u ON true
+      """;
+
+  private static final String READ_ONLY_SCAN_APPLICATION_NAME = "player-service-read-only-scan";
+
+  private static final String SQL_FIND_CHANGES_WATERMARK = """
+      SELECT LEAST(
+      	clock_timestamp() - make_interval(secs => ?),
+      	(
+      		SELECT min(xact_start)
+      		FROM pg_stat_activity
+      		WHERE datname = current_database() AND backend_type = 'client backend'
+      			AND pid <> pg_backend_pid() AND application_name IS DISTINCT FROM ?
+      	)
+      ) AS watermark
+      """;
+
+  private static final String SQL_EXCLUDE_FROM_CHANGES_WATERMARK = """
+      SELECT set_config('application_name', ?, true)
+      """;
+
+  private static final String SQL_FIND_CHANGES = """
+      (
+      	SELECT id, username, best_attempts_count, version, false AS deleted,
+      		last_modified AS changed
+      	FROM player
+      	WHERE (last_modified, id) > (?, ?) AND last_modified < ?
+      	ORDER BY last_modified, id
+      	LIMIT ?
+      )
+      UNION ALL
+      (
+      	SELECT id, username, CAST(NULL AS integer), CAST(NULL AS integer), true,
+      		deleted
+      	FROM player_tombstone
+      	WHERE (deleted, id) > (?, ?) AND deleted < ?
+      	ORDER BY deleted, id
+      	LIMIT ?
+      )
+      ORDER BY changed, id
+      LIMIT ?
+      """;
+
+  private static final String SQL_DELETE_TOMBSTONES_BEFORE = """
+      DELETE FROM player_tombstone
+      WHERE deleted < ?
+      """;
+
+  private static final String SQL_CREATE_WITH_USER = """
+      WITH new_user AS (
+      	INSERT INTO users (username, password, enabled)
+      	VALUES (?, ?, ?)
+      	RETURNING username
+      ), new_authorities AS (
+      	INSERT INTO authorities (username, authority)
+      	SELECT u.username, a.authority
+      	FROM new_user u
+      	CROSS JOIN unnest(?) AS a(authority)
+      )
+      INSERT INTO player (username)
+      SELECT username
+      FROM new_user
+      RETURNING id, username, best_attempts_count
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public List<PlayerSummary> improveBestResults(SortedMap<Long, Integer> bestAttemptsCounts) {
+    if (bestAttemptsCounts.isEmpty()) {
+      return List.of();
+    }
+    Long[] ids = bestAttemptsCounts.keySet().toArray(Long[]::new);
+    Integer[] counts = bestAttemptsCounts.values().toArray(Integer[]::new);
+    return this.jdbcTemplate.query(SQL_IMPROVE_BEST_RESULTS,
+        statement -> {
+          Connection connection = statement.getConnection();
+          statement.setArray(1, connection.createArrayOf("bigint", ids));
+          statement.setArray(2, connection.createArrayOf("integer", counts));
+        },
+        (resultSet, rowNumber) -> new PlayerSummary(
+            resultSet.getLong("id"),
+            resultSet.getString("username"),
+            resultSet.getInt("best_attempts_count")));
+  }
+
+  @Override
+  public BestResultUpdate improveBestResult(Long id, int bestAttemptsCount, String owner) {
+    List<BestResultUpdate> updates = this.jdbcTemplate.query(SQL_IMPROVE_BEST_RESULT,
+        (resultSet, rowNumber) -> {
+          if (!resultSet.getBoolean("permitted")) {
+            return new BestResultUpdate(BestResultUpdate.Status.NOT_PERMITTED, null);
+          }
+          PlayerSummary player = new PlayerSummary(
+              resultSet.getLong("id"),
+              resultSet.getString("username"),
+              resultSet.getObject("best_attempts_count", Integer.class));
+          return new BestResultUpdate(resultSet.getBoolean("improved")
+              ? BestResultUpdate.Status.IMPROVED
+              : BestResultUpdate.Status.NOT_IMPROVED, player);
+        },
+        id, owner, owner, bestAttemptsCount, bestAttemptsCount);
+    return updates.isEmpty()
+        ? new BestResultUpdate(BestResultUpdate.Status.NOT_FOUND, null)
+        : updates.get(0);
+  }
+
+  @Override
+  public PlayerUpdate updateBestAttemptsCount(Long id, Integer bestAttemptsCount,
+      boolean partial, Integer version, String owner) {
+    List<PlayerUpdate> updates = this.jdbcTemplate.query(SQL_UPDATE_BEST_ATTEMPTS_COUNT,
+        (resultSet, rowNumber) -> {
+          if (!resultSet.getBoolean("permitted")) {
+            return new PlayerUpdate(PlayerUpdate.Status.NOT_PERMITTED, null, null);
+          }
+          PlayerSummary player = new PlayerSummary(
+              resultSet.getLong("id"),
+              resultSet.getString("username"),
+              resultSet.getObject("best_attempts_count", Integer.class));
+          return new PlayerUpdate(resultSet.getBoolean("updated")
+              ? PlayerUpdate.Status.UPDATED
+              : PlayerUpdate.Status.VERSION_MISMATCH, player,
+              resultSet.getObject("version", Integer.class));
+        },
+        id, owner, owner, bestAttemptsCount, partial, version, version);
+    // Without the expected version only a concurrently deleted player isn't updated
+    if (updates.isEmpty()
+        || version == null && updates.get(0).getStatus() == PlayerUpdate.Status.VERSION_MISMATCH) {
+      return new PlayerUpdate(PlayerUpdate.Status.NOT_FOUND, null, null);
+    }
+    return updates.get(0);
+  }
+
+  @Override
+  public Instant findChangesWatermark(Duration settleDelay) {
+    return this.jdbcTemplate.queryForObject(SQL_FIND_CHANGES_WATERMARK,
+        (resultSet, rowNumber) -> resultSet.getObject("watermark", OffsetDateTime.class)
+            .toInstant(),
+        settleDelay.toNanos() / 1e9, READ_ONLY_SCAN_APPLICATION_NAME);
+  }
+
+  @Override
+  public void excludeFromChangesWatermark() {
+    this.jdbcTemplate.queryForObject(SQL_EXCLUDE_FROM_CHANGES_WATERMARK, String.class,
+        READ_ONLY_SCAN_APPLICATION_NAME);
+  }
+
+  @Override
+  public List<PlayerChange> findChanges(Instant after, Long afterId, Instant until, int limit) {
+    OffsetDateTime afterTime = OffsetDateTime.ofInstant(after, ZoneOffset.UTC);
+    OffsetDateTime untilTime = OffsetDateTime.ofInstant(until, ZoneOffset.UTC);
+    return this.jdbcTemplate.query(SQL_FIND_CHANGES,
+        (resultSet, rowNumber) -> new PlayerChange(
+            resultSet.getLong("id"),
+            resultSet.getString("username"),
+            resultSet.getObject("best_attempts_count", Integer.class),
+            resultSet.getObject("version", Integer.class),
+            resultSet.getBoolean("deleted"),
+            resultSet.getObject("changed", OffsetDateTime.class).toInstant()),
+        afterTime, afterId, untilTime, limit,
+        afterTime, afterId, untilTime, limit,
+        limit);
+  }
+
+  @Override
+  public int deleteTombstonesBefore(Instant before) {
+    return this.jdbcTemplate.update(SQL_DELETE_TOMBSTONES_BEFORE,
+        OffsetDateTime.ofInstant(before, ZoneOffset.UTC));
+  }
+
+  @Override
+  public PlayerSummary createWithUser(UserDetails user) {
+    String[] authorities = AuthorityUtils.authorityListToSet(user.getAuthorities())
+        .toArray(String[]::new);
+    List<PlayerSummary> players = this.jdbcTemplate.query(SQL_CREATE_WITH_USER,
+        statement -> {
+          statement.setString(1, user.getUsername());
+          statement.setString(2, user.getPassword());
+          statement.setBoolean(3, user.isEnabled());
+          statement.setArray(4, statement.getConnection().createArrayOf("varchar", authorities));
+        },
+        (resultSet, rowNumber) -> new PlayerSummary(
+            resultSet.getLong("id"),
+            resultSet.getString("username"),
+            resultSet.getObject("best_attempts_count", Integer.class)));
+    return players.get(0);
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.guessnumbergame.playerservice.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking repository reading the {@code player} table through R2DBC.
+ * <p>
+ * It's available only with the {@code reactive} profile and uses its own
+ * connection pool configured by the {@code spring.r2dbc.*} properties.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerRepository
+ */
+@Repository
+@Profile("reactive")
+public class ReactivePlayerRepository {
+
+  private static final String SQL_FIND_PLAYER_SUMMARY_BY_ID = """
+      SELECT id, username, best_attempts_count
+      FROM player
+      WHERE id = :id
+      """;
+
+  private static final String SQL_FIND_PLAYER_SUMMARY_BY_USERNAME = """
+      SELECT id, username, best_attempts_count
+      FROM player
+      WHERE username = :username
+      """;
+
+  private static final String SQL_FIND_PLAYER_VERSION_BY_ID = """
+      SELECT id, version
+      FROM player
+      WHERE id = :id
+      """;
+
+  private static final String SQL_FIND_PLAYER_VERSION_BY_USERNAME = """
+      SELECT id, version
+      FROM player
+      WHERE username = :username
+      """;
+
+  private static final String SQL_FIND_PLAYER_SUMMARIES_WITH_BEST_RESULT = """
+      SELECT id, username, best_attempts_count
+      FROM player
+      WHERE best_attempts_count = (SELECT min(best_attempts_count) FROM player)
+      ORDER BY id
+      """;
+
+  private final DatabaseClient databaseClient;
+
+  public ReactivePlayerRepository(ConnectionFactory connectionFactory) {
+    this.databaseClient = DatabaseClient.create(connectionFactory);
+  }
+
+  public Mono<PlayerSummary> findPlayerSummaryById(Long id) {
+    return this.databaseClient.sql(SQL_FIND_PLAYER_SUMMARY_BY_ID)
+        .bind("id", id)
+        .map(ReactivePlayerRepository::toPlayerSummary)
+        .one();
+  }
+
+  public Mono<PlayerSummary> findPlayerSummaryByUsername(String username) {
+    return this.databaseClient.sql(SQL_FIND_PLAYER_SUMMARY_BY_USERNAME)
+        .bind("username", username)
+        .map(ReactivePlayerRepository::toPlayerSummary)
+        .one();
+  }
+
+  public Mono<PlayerVersion> findPlayerVersionById(Long id) {
+    return this.databaseClient.sql(SQL_FIND_PLAYER_VERSION_BY_ID)
+        .bind("id", id)
+        .map(ReactivePlayerRepository::toPlayerVersion)
+        .one();
+  }
+
+  public Mono<PlayerVersion> findPlayerVersionByUsername(String username) {
+    return this.databaseClient.sql(SQL_FIND_PLAYER_VERSION_BY_USERNAME)
+        .bind("username", username)
+        .map(ReactivePlayerRepository::toPlayerVersion)
+        .one();
+  }
+
+  public Flux<PlayerSummary> findPlayerSummariesWithBestResult() {
+    return this.databaseClient.sql(SQL_FIND_PLAYER_SUMMARIES_WITH_BEST_RESULT)
+        .map(ReactivePlayerRepository::toPlayerSummary)
+        .all();
+  }
+
+  private static PlayerSummary toPlayerSummary(Readable row) {
+    return new PlayerSummary(
+        row.get("id", Long.class),
+        row.get("username", String.class),
+        row.get("best_attempts_count", Integer.class));
+  }
+
+  private static PlayerVersion toPlayerVersion(Readable row) {
+    return new PlayerVersion(
+        row.get("id", Long.class),
+        row.get("version", Integer.class));
+  }
+
+}
@@ -0,0 +1,148 @@
+package com.guessnumbergame.playerservice.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.guessnumbergame.playerservice.exception.PasswordHashingRejectedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The {@code PasswordEncoder} which hashes and verifies the passwords on a
+ * dedicated bounded pool.
+ * <p>
+ * The delegate is called by the pool threads, so the CPU time spent on the
+ * password hashes is limited by the pool size whatever the count of the
+ * request threads is. The calling thread waits for the result. A task which
+ * doesn't fit into the queue is rejected at once with the
+ * {@link PasswordHashingRejectedException}.
+ * <p>
+ * The encoder publishes the following metrics:
+ * <ul>
+ * <li>{@code executor.*} with the {@code name=passwordHashing} tag - the state
+ * of the pool;</li>
+ * <li>{@code password.hashing.utilization} - the ratio of the busy pool
+ * threads;</li>
+ * <li>{@code password.hashing} with the {@code operation} tag - the latency of
+ * hashing and verification, without the time in the queue;</li>
+ * <li>{@code password.hashing.rejections} - the count of rejected tasks.</li>
+ * </ul>
+ * <p>
+ * This class is thread-safe if the delegate is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  private final PasswordEncoder delegate;
+
+  private final ThreadPoolExecutor executor;
+
+  private final Duration retryAfter;
+
+  private final Timer encodeTimer;
+
+  private final Timer matchesTimer;
+
+  private final Counter rejections;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+      Duration retryAfter, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.retryAfter = retryAfter;
+    BlockingQueue<Runnable> queue = queueCapacity > 0
+        ? new ArrayBlockingQueue<>(queueCapacity)
+        : new SynchronousQueue<>();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+    threadFactory.setDaemon(true);
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, queue,
+        threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    new ExecutorServiceMetrics(this.executor, "passwordHashing", Tags.empty())
+        .bindTo(meterRegistry);
+    Gauge.builder("password.hashing.utilization", this.executor,
+        executor -> (double) executor.getActiveCount() / executor.getMaximumPoolSize())
+        .description("The ratio of the busy password hashing threads")
+        .register(meterRegistry);
+    this.encodeTimer = Timer.builder("password.hashing")
+        .description("The latency of password hashing")
+        .tag("operation", "encode")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.matchesTimer = Timer.builder("password.hashing")
+        .description("The latency of password hashing")
+        .tag("operation", "matches")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.rejections = Counter.builder("password.hashing.rejections")
+        .description("The count of tasks rejected because the pool was saturated")
+        .register(meterRegistry);
+    log.info("Passwords are hashed by {} threads with the queue of {} tasks", poolSize,
+        queueCapacity);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return execute(this.encodeTimer, () -> this.delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return execute(this.matchesTimer,
+        () -> this.delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return this.delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * Stops the pool. The tasks in the queue are still executed.
+   */
+  @Override
+  public void close() {
+    this.executor.shutdown();
+  }
+
+  private <T> T execute(Timer timer, Supplier<T> task) {
+    Future<T> future;
+    try {
+      future = this.executor.submit(() -> timer.record(task));
+    } catch (RejectedExecutionException e) {
+      this.rejections.increment();
+      throw new PasswordHashingRejectedException(this.retryAfter);
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the password hash", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+}
@@ -0,0 +1,216 @@
+package com.guessnumbergame.playerservice.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.UserDetailsManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.UserChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.UserChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The {@code AuthenticationProvider} which remembers the verified credentials
+ * for a short time, so the repeated HTTP Basic authentications of the same
+ * user skip both the password hash verification and the queries of the user.
+ * <p>
+ * The credentials are verified by the {@link DaoAuthenticationProvider}. After
+ * a successful verification the loaded user is cached by the username
+ * together with the HMAC-SHA256 of the username and the password, which must
+ * match on the next authentication. Only the last verified password of a user
+ * is remembered, so the entries of a user are evicted in {@code O(1)}. The
+ * stored password hash is upgraded after
+ * the verification if the {@code PasswordEncoder} requires it and the
+ * {@code UserDetailsManager} is a {@code UserDetailsPasswordService}. The HMAC
+ * key is random and is never stored,
+ * so neither the cache nor a heap dump allows to recover or to check the
+ * passwords. The failed authentications are never cached.
+ * <p>
+ * The cached entries of a user are evicted on the {@link UserChangedEvent}
+ * after the transaction which changed the user is committed. The
+ * authentications which started before the eviction aren't cached. The
+ * entries of a user changed by any instance of the service are evicted on the
+ * {@link UserChangeNotifiedEvent}, and all entries are evicted on the
+ * {@link ChangeNotificationsMissedEvent}.
+ * <p>
+ * The cache statistics are published as the {@code cache.*} metrics with the
+ * {@code cache=verifiedCredentials} tag.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see EventPublishingUserDetailsManager
+ */
+@Component
+@ConditionalOnProperty("app.security.credentials-cache.enabled")
+@Slf4j
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final DaoAuthenticationProvider delegate;
+
+  private final SecretKey key;
+
+  private final Cache<String, VerifiedCredentials> verifiedCredentials;
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public CachingAuthenticationProvider(UserDetailsManager userDetailsManager,
+      PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+      @Value("${app.security.credentials-cache.time-to-live}") Duration timeToLive,
+      @Value("${app.security.credentials-cache.maximum-size}") long maximumSize) {
+    this.delegate = new DaoAuthenticationProvider();
+    this.delegate.setPasswordEncoder(passwordEncoder);
+    this.delegate.setUserDetailsService(userDetailsManager);
+    if (userDetailsManager instanceof UserDetailsPasswordService userDetailsPasswordService) {
+      this.delegate.setUserDetailsPasswordService(userDetailsPasswordService);
+    }
+    byte[] keyBytes = new byte[32];
+    new SecureRandom().nextBytes(keyBytes);
+    this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    this.verifiedCredentials = Caffeine.newBuilder()
+        .expireAfterWrite(timeToLive)
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, this.verifiedCredentials, "verifiedCredentials");
+  }
+
+  @Override
+  public Authentication authenticate(Authentication authentication)
+      throws AuthenticationException {
+    String username = authentication.getName();
+    Object credentials = authentication.getCredentials();
+    if (username == null || credentials == null) {
+      return this.delegate.authenticate(authentication);
+    }
+    byte[] hash = hash(username, credentials.toString());
+    VerifiedCredentials cached = this.verifiedCredentials.getIfPresent(username);
+    if (cached != null && MessageDigest.isEqual(cached.hash, hash)) {
+      log.trace("Found the verified credentials of the user '{}'", username);
+      return createSuccessAuthentication(cached.user, authentication);
+    }
+    long invalidationsBefore = this.invalidations.get();
+    Authentication result = this.delegate.authenticate(authentication);
+    if (result != null && result.getPrincipal() instanceof UserDetails loadedUser) {
+      synchronized (this.invalidations) {
+        if (this.invalidations.get() == invalidationsBefore) {
+          this.verifiedCredentials.put(username, new VerifiedCredentials(hash, loadedUser));
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean supports(Class<?> authentication) {
+    return this.delegate.supports(authentication);
+  }
+
+  /**
+   * Evicts the cached credentials of the changed user.
+   * 
+   * @param event a {@code UserChangedEvent}
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    evict(event.getUsername());
+  }
+
+  /**
+   * Evicts the cached credentials of the user changed by any instance.
+   * 
+   * @param event a {@code UserChangeNotifiedEvent}
+   */
+  @EventListener
+  public void onUserChangeNotified(UserChangeNotifiedEvent event) {
+    evict(event.getUsername());
+  }
+
+  /**
+   * Evicts all cached credentials, since the changes of users might have been
+   * missed.
+   */
+  @EventListener(ChangeNotificationsMissedEvent.class)
+  public void onChangeNotificationsMissed() {
+    synchronized (this.invalidations) {
+      this.invalidations.incrementAndGet();
+      this.verifiedCredentials.invalidateAll();
+    }
+    log.debug("Evicted all cached credentials");
+  }
+
+  private void evict(String username) {
+    synchronized (this.invalidations) {
+      this.invalidations.incrementAndGet();
+      this.verifiedCredentials.invalidate(username);
+    }
+    log.debug("Evicted the cached credentials of the user '{}'", username);
+  }
+
+  private Authentication createSuccessAuthentication(UserDetails user,
+      Authentication authentication) {
+    UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+        .authenticated(user, null, user.getAuthorities());
+    result.setDetails(authentication.getDetails());
+    return result;
+  }
+
+  private byte[] hash(String username, String password) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(this.key);
+      byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+      mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(usernameBytes.length).array());
+      mac.update(usernameBytes);
+      return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Can't compute " + HMAC_ALGORITHM, e);
+    }
+  }
+
+  /**
+   * The user loaded after a successful verification of the password with the
+   * given HMAC.
+   */
+  @RequiredArgsConstructor
+  private static class VerifiedCredentials {
+
+    private final byte[] hash;
+
+    private final UserDetails user;
+
+  }
+
+}
@@ -0,0 +1,189 @@
+package com.guessnumbergame.playerservice.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.JdbcUserDetailsManager;
+import org.springframework.security.provisioning.UserDetailsManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The {@code UserDetailsManager} which caches the loaded users in front of the
+ * {@link JdbcUserDetailsManager}.
+ * <p>
+ * A user is loaded together with the authorities by one joined query. The
+ * user without authorities isn't found, as in the
+ * {@code JdbcUserDetailsManager}. The cache is bounded by the count of users
+ * and by the time to live. A copy of the cached user is returned, so erasing
+ * the credentials of the returned user doesn't affect the cache.
+ * <p>
+ * The password hash is replaced only if the delegate is a
+ * {@code UserDetailsPasswordService}.
+ * <p>
+ * A user is evicted on each change made through this manager and once more
+ * after the transaction which made the change is committed, so a concurrent
+ * load can't cache the state which is being changed. The users changed by
+ * other instances of the service are evicted by {@link #evict(String)} and
+ * {@link #evictAll()}.
+ * <p>
+ * The existence of a user is always checked by the delegate, since a cached
+ * user may have been deleted by another instance before the eviction.
+ * <p>
+ * The cache statistics are published as the {@code cache.*} metrics with the
+ * {@code cache=users} tag, and the hit ratio is published as the
+ * {@code cache.hit.ratio} metric.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see EventPublishingUserDetailsManager
+ */
+@Slf4j
+public class CachingUserDetailsManager implements UserDetailsManager, UserDetailsPasswordService {
+
+  static final String SQL_SELECT_USER_WITH_AUTHORITIES = """
+      SELECT u.username, u.password, u.enabled, a.authority
+      FROM users u
+      JOIN authorities a ON a.username = u.username
+      WHERE u.username = ?""";
+
+  private static final String CACHE_NAME = "users";
+
+  private final JdbcUserDetailsManager delegate;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final Cache<String, UserDetails> users;
+
+  public CachingUserDetailsManager(JdbcUserDetailsManager delegate, MeterRegistry meterRegistry,
+      Duration timeToLive, long maximumSize) {
+    this.delegate = delegate;
+    this.jdbcTemplate = delegate.getJdbcTemplate();
+    this.users = Caffeine.newBuilder()
+        .expireAfterWrite(timeToLive)
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, this.users, CACHE_NAME);
+    Gauge.builder("cache.hit.ratio", this.users, users -> users.stats().hitRate())
+        .description("The ratio of the cache requests which were hits")
+        .tag("cache", CACHE_NAME)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    UserDetails user = this.users.get(username, this::load);
+    return User.withUserDetails(user).build();
+  }
+
+  @Override
+  public void createUser(UserDetails user) {
+    this.delegate.createUser(user);
+    evict(user.getUsername());
+  }
+
+  @Override
+  public void updateUser(UserDetails user) {
+    this.delegate.updateUser(user);
+    evict(user.getUsername());
+  }
+
+  @Override
+  public void deleteUser(String username) {
+    this.delegate.deleteUser(username);
+    evict(username);
+  }
+
+  @Override
+  public void changePassword(String oldPassword, String newPassword) {
+    Authentication currentUser = SecurityContextHolder.getContext().getAuthentication();
+    this.delegate.changePassword(oldPassword, newPassword);
+    if (currentUser != null) {
+      evict(currentUser.getName());
+    }
+  }
+
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    if (!(this.delegate instanceof UserDetailsPasswordService passwordService)) {
+      return user;
+    }
+    UserDetails updatedUser = passwordService.updatePassword(user, newPassword);
+    evict(user.getUsername());
+    return updatedUser;
+  }
+
+  @Override
+  public boolean userExists(String username) {
+    return this.delegate.userExists(username);
+  }
+
+  private UserDetails load(String username) {
+    UserDetails user = this.jdbcTemplate.query(SQL_SELECT_USER_WITH_AUTHORITIES, resultSet -> {
+      User.UserBuilder builder = null;
+      List<GrantedAuthority> authorities = new ArrayList<>(4);
+      while (resultSet.next()) {
+        if (builder == null) {
+          builder = User.withUsername(resultSet.getString(1))
+              .password(resultSet.getString(2))
+              .disabled(!resultSet.getBoolean(3));
+        }
+        authorities.add(new SimpleGrantedAuthority(resultSet.getString(4)));
+      }
+      return builder == null ? null : builder.authorities(authorities).build();
+    }, username);
+    if (user == null) {
+      log.debug("Query returned no results for user '{}'", username);
+      throw new UsernameNotFoundException("Username " + username + " not found");
+    }
+    return user;
+  }
+
+  /**
+   * Evicts the user with the given username from the cache.
+   * 
+   * @param username a {@code String} representing the user's username
+   */
+  public void evict(String username) {
+    this.users.invalidate(username);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+        @Override
+        public void afterCommit() {
+          CachingUserDetailsManager.this.users.invalidate(username);
+        }
+
+      });
+    }
+  }
+
+  /**
+   * Evicts all users from the cache.
+   */
+  public void evictAll() {
+    this.users.invalidateAll();
+  }
+
+}
@@ -0,0 +1,89 @@
+package com.guessnumbergame.playerservice.security;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The {@code BCryptPasswordEncoder} with the strength calibrated on this host.
+ * <p>
+ * The strength is chosen at startup as the greatest one for which one hash
+ * takes no longer than the target time. Each next strength doubles the time,
+ * so only the minimum strength is measured.
+ * <p>
+ * The strength is stored in each hash. Unlike the
+ * {@code BCryptPasswordEncoder}, the hashes of both a lower and a higher
+ * strength should be upgraded, so after the calibration the stored hashes
+ * converge to the calibrated strength on successful logins.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see CachingAuthenticationProvider
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+  private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+
+  private static final int CALIBRATION_SAMPLES = 3;
+
+  private final int strength;
+
+  public CalibratedBCryptPasswordEncoder(int strength) {
+    super(strength);
+    this.strength = strength;
+  }
+
+  /**
+   * Measures the hash time on this host and creates an encoder with the
+   * greatest strength which fits the target time.
+   * 
+   * @param targetTime a {@code Duration} representing the desired hash time
+   * @param minStrength an {@code int} representing the minimum strength
+   * @param maxStrength an {@code int} representing the maximum strength
+   * @return a new {@code CalibratedBCryptPasswordEncoder}
+   */
+  public static CalibratedBCryptPasswordEncoder calibrate(Duration targetTime, int minStrength,
+      int maxStrength) {
+    BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+    long minNanos = Long.MAX_VALUE;
+    for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+      long started = System.nanoTime();
+      encoder.encode("calibration");
+      minNanos = Math.min(minNanos, System.nanoTime() - started);
+    }
+    int strength = minStrength;
+    long nanos = minNanos;
+    while (strength < maxStrength && nanos * 2 <= targetTime.toNanos()) {
+      strength++;
+      nanos *= 2;
+    }
+    log.info("Calibrated the BCrypt strength {} with the expected hash time {} ms "
+        + "(strength {} took {} ms)", strength, nanos / 1_000_000, minStrength,
+        minNanos / 1_000_000);
+    return new CalibratedBCryptPasswordEncoder(strength);
+  }
+
+  public int getStrength() {
+    return this.strength;
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null || encodedPassword.isEmpty()) {
+      return false;
+    }
+    Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+    if (!matcher.find()) {
+      return false;
+    }
+    return Integer.parseInt(matcher.group(1)) != this.strength;
+  }
+
+}
@@ -0,0 +1,105 @@
+package com.guessnumbergame.playerservice.security;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.UserDetailsManager;
+
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.UserChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.UserChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The {@code UserDetailsManager} which publishes the {@link UserChangedEvent}
+ * after each change made by the delegate.
+ * <p>
+ * The password hash is replaced only if the delegate is a
+ * {@code UserDetailsPasswordService}.
+ * <p>
+ * If the delegate is a {@link CachingUserDetailsManager}, the users changed
+ * by any instance of the service are evicted from its cache on the
+ * {@link UserChangeNotifiedEvent}, and all users are evicted on the
+ * {@link ChangeNotificationsMissedEvent}.
+ * <p>
+ * This class is thread-safe if the delegate is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see CachingAuthenticationProvider
+ */
+@RequiredArgsConstructor
+public class EventPublishingUserDetailsManager
+    implements UserDetailsManager, UserDetailsPasswordService {
+
+  private final UserDetailsManager delegate;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Override
+  public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    return this.delegate.loadUserByUsername(username);
+  }
+
+  @Override
+  public void createUser(UserDetails user) {
+    this.delegate.createUser(user);
+    this.eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+  }
+
+  @Override
+  public void updateUser(UserDetails user) {
+    this.delegate.updateUser(user);
+    this.eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+  }
+
+  @Override
+  public void deleteUser(String username) {
+    this.delegate.deleteUser(username);
+    this.eventPublisher.publishEvent(new UserChangedEvent(username));
+  }
+
+  @Override
+  public void changePassword(String oldPassword, String newPassword) {
+    Authentication currentUser = SecurityContextHolder.getContext().getAuthentication();
+    this.delegate.changePassword(oldPassword, newPassword);
+    if (currentUser != null) {
+      this.eventPublisher.publishEvent(new UserChangedEvent(currentUser.getName()));
+    }
+  }
+
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    if (!(this.delegate instanceof UserDetailsPasswordService passwordService)) {
+      return user;
+    }
+    UserDetails updatedUser = passwordService.updatePassword(user, newPassword);
+    this.eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+    return updatedUser;
+  }
+
+  @Override
+  public boolean userExists(String username) {
+    return this.delegate.userExists(username);
+  }
+
+  @EventListener
+  public void onUserChangeNotified(UserChangeNotifiedEvent event) {
+    if (this.delegate instanceof CachingUserDetailsManager cachingUserDetailsManager) {
+      cachingUserDetailsManager.evict(event.getUsername());
+    }
+  }
+
+  @EventListener(ChangeNotificationsMissedEvent.class)
+  public void onChangeNotificationsMissed() {
+    if (this.delegate instanceof CachingUserDetailsManager cachingUserDetailsManager) {
+      cachingUserDetailsManager.evictAll();
+    }
+  }
+
+}
@@ -0,0 +1,39 @@
+package com.guessnumbergame.playerservice.security;
+
+import javax.sql.DataSource;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.provisioning.JdbcUserDetailsManager;
+
+/**
+ * The {@code JdbcUserDetailsManager} which can also replace the stored
+ * password hash of a user.
+ * <p>
+ * The hash is replaced by the {@code DaoAuthenticationProvider} after a
+ * successful authentication if the {@code PasswordEncoder} reports that the
+ * stored hash should be upgraded.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see CalibratedBCryptPasswordEncoder
+ */
+public class JdbcUserDetailsPasswordManager extends JdbcUserDetailsManager
+    implements UserDetailsPasswordService {
+
+  static final String SQL_UPDATE_PASSWORD = "UPDATE users SET password = ? WHERE username = ?";
+
+  public JdbcUserDetailsPasswordManager(DataSource dataSource) {
+    super(dataSource);
+  }
+
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    getJdbcTemplate().update(SQL_UPDATE_PASSWORD, newPassword, user.getUsername());
+    return User.withUserDetails(user).password(newPassword).build();
+  }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Authentication of the users of the API.
+ */
+package com.guessnumbergame.playerservice.security;
\ No newline at end of file
@@ -1,12 +1,26 @@
 package com.guessnumbergame.playerservice.service;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.access.AccessDeniedException;
 
+import com.guessnumbergame.playerservice.dto.BestResult;
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerBatchResult;
+import com.guessnumbergame.playerservice.dto.PlayerChanges;
+import com.guessnumbergame.playerservice.dto.PlayerPage;
+import com.guessnumbergame.playerservice.dto.PlayerRank;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
+import com.guessnumbergame.playerservice.exception.BadPlayerCursorException;
+import com.guessnumbergame.playerservice.exception.BestResultBufferFullException;
+import com.guessnumbergame.playerservice.exception.PlayerChangesExpiredException;
 import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
-import com.guessnumbergame.playerservice.exception.PlayerNotUpdatedException;
+import com.guessnumbergame.playerservice.exception.PlayerVersionMismatchException;
 import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
 
 /**
@@ -25,6 +39,47 @@ public interface PlayerService {
    */
   List<PlayerSummary> getAll();
 
+  /**
+   * Finds a page of players ordered by id.
+   * 
+   * @param cursor a {@code String} representing the opaque cursor received
+   *        with the previous page, or {@code null} for the first page
+   * @param limit an {@code int} representing the maximum count of players on
+   *        the page; it's limited by the configured maximum page size
+   * @return a {@code PlayerPage} with the found players and the cursor of the
+   *         next page
+   * @throws BadPlayerCursorException if the cursor can't be decoded
+   * @see PlayerResponseEntityExceptionHandler
+   */
+  PlayerPage getPage(String cursor, int limit);
+
+  /**
+   * Finds the changes of players after the position from the given token,
+   * ordered by the time of the change and id. The deleted players are
+   * returned as tombstones.<br />
+   * All the players are returned as the changes if the token is absent.
+   * 
+   * @param since a {@code String} representing the token received with the
+   *        previous changes, or {@code null}
+   * @param limit an {@code int} representing the maximum count of changes
+   * @return the {@code PlayerChanges} with at most {@code limit} changes and
+   *         the token of the next changes
+   * @throws BadPlayerCursorException if the token can't be decoded
+   * @throws PlayerChangesExpiredException if the deletions since the token
+   *         are no longer kept
+   * @see PlayerResponseEntityExceptionHandler
+   */
+  PlayerChanges getChanges(String since, int limit);
+
+  /**
+   * Passes all existing players to the given action one by one.<br />
+   * The players are read through a database cursor and aren't collected into
+   * memory.
+   * 
+   * @param action a {@code Consumer} accepting each player
+   */
+  void streamAll(Consumer<PlayerSummary> action);
+
   /**
    * Finds the player with the given id.
    * 
@@ -47,6 +102,24 @@ public interface PlayerService {
    */
   PlayerSummary getByUsername(String username);
 
+  /**
+   * Finds the version of the player with the given id.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @return an {@code Optional} with the {@code PlayerVersion}, or an empty
+   *         {@code Optional} if the player doesn't exist
+   */
+  Optional<PlayerVersion> findVersionById(Long id);
+
+  /**
+   * Finds the version of the player with the given username.
+   * 
+   * @param username a {@code String} representing the player's username
+   * @return an {@code Optional} with the {@code PlayerVersion}, or an empty
+   *         {@code Optional} if the player doesn't exist
+   */
+  Optional<PlayerVersion> findVersionByUsername(String username);
+
   /**
    * Finds the players with the best result.
    * 
@@ -54,6 +127,27 @@ public interface PlayerService {
    */
   List<PlayerSummary> getPlayersWithBestResult();
 
+  /**
+   * Finds the players with the best results, ordered by the best attempts count
+   * and id. The players without results are omitted.
+   * 
+   * @param n an {@code int} representing the maximum count of players; it's
+   *        limited by the configured maximum size of the top
+   * @return a {@code List} of at most {@code n} players with the best results
+   */
+  List<PlayerSummary> getTopPlayers(int n);
+
+  /**
+   * Finds the rank of the player with the given id.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @return a {@code PlayerRank} of the player with the given id
+   * @throws PlayerNotFoundException if the player with the given id doesn't
+   *         exist
+   * @see PlayerResponseEntityExceptionHandler
+   */
+  PlayerRank getRankById(Long id);
+
   /**
    * Creates the new player.
    * 
@@ -66,31 +160,89 @@ public interface PlayerService {
   PlayerSummary create(PlayerSummary player);
 
   /**
-   * Updates the player with the given id.
+   * Creates the new players in batches.<br />
+   * Each batch is inserted in its own transaction. A player which can't be
+   * created is reported as failed and doesn't prevent the other players from
+   * being created.
+   * 
+   * @param players an {@code Iterator} over the new players; a {@code null}
+   *        element is reported as a malformed player
+   * @return a {@code List} of the results in the order of the players
+   */
+  List<PlayerBatchResult> createAll(Iterator<PlayerSummary> players);
+
+  /**
+   * Updates the player with the given id if his version is the given one.<br />
+   * The player must belong to the current user unless he's an admin. The
+   * checks and the update are done by one statement without retries.
    * 
    * @param id a {@code Long} representing the player's id
    * @param player a {@code PlayerSummary} representing the player to be updated
+   * @param version an {@code Integer} representing the expected version of the
+   *        player, or {@code null} if any version can be updated
+   * @return the {@code PlayerVersion} after the update
    * @throws PlayerNotFoundException if the player with the given id doesn't
    *         exist
-   * @throws PlayerNotUpdatedException if the player failed to be updated for
-   *         technical reasons
+   * @throws AccessDeniedException if the player belongs to another user
+   * @throws PlayerVersionMismatchException if the player's version isn't the
+   *         given one
    * @see PlayerResponseEntityExceptionHandler
    */
-  void update(Long id, PlayerSummary player);
+  PlayerVersion update(Long id, PlayerSummary player, Integer version);
 
   /**
-   * Patches the player with the given id.
+   * Patches the player with the given id if his version is the given one.<br />
+   * The player must belong to the current user unless he's an admin. The
+   * checks and the update are done by one statement without retries.
    * 
    * @param id a {@code Long} representing the player's id
    * @param player a {@code PlayerSummary} representing the player details to be
    *        patched
+   * @param version an {@code Integer} representing the expected version of the
+   *        player, or {@code null} if any version can be patched
+   * @return the {@code PlayerVersion} after the update
    * @throws PlayerNotFoundException if the player with the given id doesn't
    *         exist
-   * @throws PlayerNotUpdatedException if the player failed to be patched for
-   *         technical reasons
+   * @throws AccessDeniedException if the player belongs to another user
+   * @throws PlayerVersionMismatchException if the player's version isn't the
+   *         given one
    * @see PlayerResponseEntityExceptionHandler
    */
-  void patch(Long id, PlayerSummary player);
+  PlayerVersion patch(Long id, PlayerSummary player, Integer version);
+
+  /**
+   * Improves the best result of the player with the given id if the given
+   * result is better or the player has no result.<br />
+   * The player must belong to the current user unless he's an admin. The
+   * check and the update are done by one statement without retries.
+   * <p>
+   * In the write-behind mode the result is only accepted into the buffer and
+   * is saved later.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @param bestAttemptsCount an {@code int} representing the attempts count of
+   *        the finished game
+   * @return a {@code BestResultUpdate} with the {@code IMPROVED},
+   *         {@code NOT_IMPROVED} or {@code ACCEPTED} status and the player
+   * @throws PlayerNotFoundException if the player with the given id doesn't
+   *         exist
+   * @throws AccessDeniedException if the player doesn't belong to the current
+   *         user
+   * @throws BestResultBufferFullException if the write-behind buffer is full
+   * @see PlayerResponseEntityExceptionHandler
+   */
+  BestResultUpdate improveBestResult(Long id, int bestAttemptsCount);
+
+  /**
+   * Improves the best results of the players by one statement in one
+   * transaction.<br />
+   * Only the minimum attempts count per player is applied. The player's
+   * result is changed only if it's absent or worse than the given one.
+   * 
+   * @param results a {@code List} of the results of the players
+   * @return a {@code List} of the changed players
+   */
+  List<PlayerSummary> improveBestResults(List<BestResult> results);
 
   /**
    * Deletes the player with the given id.
@@ -0,0 +1,71 @@
+package com.guessnumbergame.playerservice.service;
+
+import java.util.List;
+
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
+import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
+import com.guessnumbergame.playerservice.exception.handler.PlayerResponseEntityExceptionHandler;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking service finding players of the game.
+ * <p>
+ * It's the alternative to the reading methods of the {@link PlayerService},
+ * available with the {@code reactive} profile.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see PlayerSummary
+ */
+public interface ReactivePlayerService {
+
+  /**
+   * Finds the player with the given id.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @return a {@code Mono} with the player with the given id, or with the
+   *         {@code PlayerNotFoundException} if the player doesn't exist
+   * @see PlayerResponseEntityExceptionHandler
+   */
+  Mono<PlayerSummary> getById(Long id);
+
+  /**
+   * Finds the player with the given username.
+   * 
+   * @param username a {@code String} representing the player's username
+   * @return a {@code Mono} with the player with the given username, or with
+   *         the {@code PlayerNotFoundException} if the player doesn't exist
+   * @see PlayerNotFoundException
+   * @see PlayerResponseEntityExceptionHandler
+   */
+  Mono<PlayerSummary> getByUsername(String username);
+
+  /**
+   * Finds the version of the player with the given id.
+   * 
+   * @param id a {@code Long} representing the player's id
+   * @return a {@code Mono} with the player's version, or an empty {@code Mono}
+   *         if the player doesn't exist
+   */
+  Mono<PlayerVersion> findVersionById(Long id);
+
+  /**
+   * Finds the version of the player with the given username.
+   * 
+   * @param username a {@code String} representing the player's username
+   * @return a {@code Mono} with the player's version, or an empty {@code Mono}
+   *         if the player doesn't exist
+   */
+  Mono<PlayerVersion> findVersionByUsername(String username);
+
+  /**
+   * Finds all players with the best result.
+   * 
+   * @return a {@code Mono} with the {@code List} of players with the best
+   *         result
+   */
+  Mono<List<PlayerSummary>> getPlayersWithBestResult();
+
+}
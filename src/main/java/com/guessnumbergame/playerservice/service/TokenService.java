@@ -0,0 +1,26 @@
+package com.guessnumbergame.playerservice.service;
+
+import org.springframework.security.core.Authentication;
+
+import com.guessnumbergame.playerservice.dto.AccessToken;
+
+/**
+ * The service issuing access tokens to the authenticated users.
+ * <p>
+ * It's available only if the {@code app.security.token.enabled} is
+ * {@code true}.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ */
+public interface TokenService {
+
+  /**
+   * Issues a new access token containing the user's name and authorities.
+   * 
+   * @param authentication the {@code Authentication} of the user
+   * @return the issued {@code AccessToken}
+   */
+  AccessToken issue(Authentication authentication);
+
+}
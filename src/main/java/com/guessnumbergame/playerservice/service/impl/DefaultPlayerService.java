@@ -1,26 +1,65 @@
 package com.guessnumbergame.playerservice.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.guessnumbergame.playerservice.bloom.PlayerUsernameFilter;
+import com.guessnumbergame.playerservice.buffer.BestResultBuffer;
+import com.guessnumbergame.playerservice.cache.PlayerCacheUpdater;
+import com.guessnumbergame.playerservice.config.cache.CacheConfig;
+import com.guessnumbergame.playerservice.dto.BestResult;
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerBatchResult;
+import com.guessnumbergame.playerservice.dto.PlayerChange;
+import com.guessnumbergame.playerservice.dto.PlayerChanges;
+import com.guessnumbergame.playerservice.dto.PlayerPage;
+import com.guessnumbergame.playerservice.dto.PlayerRank;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
 import com.guessnumbergame.playerservice.entity.PlayerEntity;
+import com.guessnumbergame.playerservice.event.PlayerDeletedEvent;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+import com.guessnumbergame.playerservice.exception.BadPlayerCursorException;
+import com.guessnumbergame.playerservice.exception.PlayerChangesExpiredException;
 import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
-import com.guessnumbergame.playerservice.exception.PlayerNotUpdatedException;
+import com.guessnumbergame.playerservice.exception.PlayerVersionMismatchException;
+import com.guessnumbergame.playerservice.leaderboard.PlayerLeaderboard;
 import com.guessnumbergame.playerservice.mapper.PlayerMapper;
 import com.guessnumbergame.playerservice.repository.PlayerRepository;
 import com.guessnumbergame.playerservice.service.PlayerService;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,12 +67,44 @@ import lombok.extern.slf4j.Slf4j;
  * The default {@code PlayerService} implementation.
  * <p>
  * {@link PlayerSummary} objects are getting from and saved into the
- * {@link PlayerRepository}.
+ * {@link PlayerRepository}. The players with the best result are getting from
+ * the {@link PlayerLeaderboard} once it's loaded, as well as the top players
+ * and the ranks of players. A transaction is started only if the leaderboard
+ * isn't loaded and the repository is queried, so the leaderboard reads don't
+ * borrow pooled connections.
+ * <p>
+ * The players and their versions found by id and by username are cached. The caches are updated
+ * by {@link PlayerCacheUpdater} after the changes are committed. The players
+ * with the usernames rejected by the {@link PlayerUsernameFilter} aren't
+ * searched in the repository. The lookups by username don't start a
+ * transaction, so a rejected username doesn't borrow a pooled connection; the
+ * query itself runs in the repository's read-only transaction.
+ * <p>
+ * The players of a batch are inserted in portions of
+ * {@code hibernate.jdbc.batch_size}, each portion in its own transaction. If
+ * a portion fails because of a constraint, its players are inserted one by
+ * one to find the failed ones.
+ * <p>
+ * The changes of players are found after the position encoded in an opaque
+ * token. The changes are returned only before the watermark found by the
+ * database clock: the start of the oldest transaction in progress, but not
+ * later than {@code app.players.changes.settle-delay} ago. The token isn't
+ * moved past the watermark, so the changes committed later are never passed
+ * over. The tokens older than the retention of the tombstones before the
+ * watermark are rejected, so the expiry is measured by the database clock as
+ * the times of the changes.
+ * <p>
+ * The best results are submitted to the {@link BestResultBuffer} instead of
+ * the repository if its write-behind mode is enabled.
+ * <p>
+ * {@link PlayerSavedEvent} and {@link PlayerDeletedEvent} are published when
+ * players are saved or deleted.
  * 
  * @author Luke Sukhanov
  * @version 1.0
  * @see PlayerSummary
  * @see PlayerRepository
+ * @see PlayerLeaderboard
  */
 @Service
 @RequiredArgsConstructor
@@ -46,6 +117,31 @@ public class DefaultPlayerService implements PlayerService {
 
   private final ApplicationContext applicationContext;
 
+  private final PlayerLeaderboard playerLeaderboard;
+
+  private final PlayerUsernameFilter playerUsernameFilter;
+
+  private final BestResultBuffer bestResultBuffer;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final Validator validator;
+
+  @Value("${app.players.page.max-size}")
+  private int maxPageSize;
+
+  @Value("${app.players.changes.settle-delay}")
+  private Duration changesSettleDelay;
+
+  @Value("${app.players.changes.tombstone-retention}")
+  private Duration tombstoneRetention;
+
+  @Value("${app.leaderboard.top-max-size}")
+  private int maxTopSize;
+
+  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+  private int batchSize;
+
   @Transactional(readOnly = true)
   @Override
   public List<PlayerSummary> getAll() {
@@ -54,105 +150,386 @@ public class DefaultPlayerService implements PlayerService {
 
   @Transactional(readOnly = true)
   @Override
+  public PlayerPage getPage(String cursor, int limit) {
+    Long lastId = cursor == null ? 0L : decodeCursor(cursor);
+    int pageSize = Math.max(1, Math.min(limit, this.maxPageSize));
+    List<PlayerSummary> players = this.playerRepository.findPlayerSummariesAfterId(lastId,
+        PageRequest.ofSize(pageSize + 1));
+    if (players.size() <= pageSize) {
+      return new PlayerPage(players, null);
+    }
+    List<PlayerSummary> pagePlayers = players.subList(0, pageSize);
+    String nextCursor = encodeCursor(pagePlayers.get(pageSize - 1).getId());
+    return new PlayerPage(List.copyOf(pagePlayers), nextCursor);
+  }
+
+  private static String encodeCursor(Long lastId) {
+    byte[] lastIdBytes = lastId.toString().getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(lastIdBytes);
+  }
+
+  private static Long decodeCursor(String cursor) {
+    try {
+      byte[] lastIdBytes = Base64.getUrlDecoder().decode(cursor);
+      return Long.valueOf(new String(lastIdBytes, StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException e) {
+      throw new BadPlayerCursorException(cursor);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public PlayerChanges getChanges(String since, int limit) {
+    ChangesPosition position = since == null
+        ? new ChangesPosition(Instant.EPOCH, 0L)
+        : decodeChangesToken(since);
+    Instant until = this.playerRepository.findChangesWatermark(this.changesSettleDelay);
+    if (since != null && position.getChanged().isBefore(until.minus(this.tombstoneRetention))) {
+      throw new PlayerChangesExpiredException(since);
+    }
+    int pageSize = Math.max(1, Math.min(limit, this.maxPageSize));
+    List<PlayerChange> changes = this.playerRepository.findChanges(position.getChanged(),
+        position.getId(), until, pageSize + 1);
+    if (changes.size() > pageSize) {
+      List<PlayerChange> pageChanges = changes.subList(0, pageSize);
+      PlayerChange lastChange = pageChanges.get(pageSize - 1);
+      return new PlayerChanges(List.copyOf(pageChanges), encodeChangesToken(
+          new ChangesPosition(lastChange.getChanged(), lastChange.getId())), true);
+    }
+    Instant settled = until.minus(1L, ChronoUnit.MICROS);
+    ChangesPosition nextPosition = position.getChanged().isBefore(settled)
+        ? new ChangesPosition(settled, Long.MAX_VALUE)
+        : position;
+    return new PlayerChanges(changes, encodeChangesToken(nextPosition), false);
+  }
+
+  private static String encodeChangesToken(ChangesPosition position) {
+    long micros = ChronoUnit.MICROS.between(Instant.EPOCH, position.getChanged());
+    byte[] positionBytes = (micros + ":" + position.getId()).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(positionBytes);
+  }
+
+  private static ChangesPosition decodeChangesToken(String token) {
+    try {
+      byte[] positionBytes = Base64.getUrlDecoder().decode(token);
+      String[] parts = new String(positionBytes, StandardCharsets.UTF_8).split(":", 2);
+      if (parts.length != 2) {
+        throw new BadPlayerCursorException(token);
+      }
+      Instant changed = Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS);
+      return new ChangesPosition(changed, Long.valueOf(parts[1]));
+    } catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+      throw new BadPlayerCursorException(token);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public void streamAll(Consumer<PlayerSummary> action) {
+    this.playerRepository.excludeFromChangesWatermark();
+    try (Stream<PlayerSummary> players = this.playerRepository.streamAllPlayerSummaries()) {
+      players.forEach(action);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.PLAYERS_BY_ID, sync = true)
+  @Override
   public PlayerSummary getById(Long id) {
     return this.playerRepository.findPlayerSummaryById(id)
         .orElseThrow(() -> new PlayerNotFoundException(id));
   }
 
-  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.PLAYERS_BY_USERNAME, sync = true)
   @Override
   public PlayerSummary getByUsername(String username) {
+    if (!this.playerUsernameFilter.mightContain(username)) {
+      throw new PlayerNotFoundException(username);
+    }
     return this.playerRepository.findPlayerSummaryByUsername(username)
         .orElseThrow(() -> new PlayerNotFoundException(username));
   }
 
   @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.PLAYER_VERSIONS_BY_ID, sync = true)
+  @Override
+  public Optional<PlayerVersion> findVersionById(Long id) {
+    return this.playerRepository.findPlayerVersionById(id);
+  }
+
+  @Cacheable(cacheNames = CacheConfig.PLAYER_VERSIONS_BY_USERNAME, sync = true)
+  @Override
+  public Optional<PlayerVersion> findVersionByUsername(String username) {
+    if (!this.playerUsernameFilter.mightContain(username)) {
+      return Optional.empty();
+    }
+    return this.playerRepository.findPlayerVersionByUsername(username);
+  }
+
   @Override
   public List<PlayerSummary> getPlayersWithBestResult() {
+    if (this.playerLeaderboard.isLoaded()) {
+      return this.playerLeaderboard.getPlayersWithBestResult();
+    }
     return this.playerRepository.findPlayerSummariesWithBestResult();
   }
 
+  @Override
+  public List<PlayerSummary> getTopPlayers(int n) {
+    int topSize = Math.max(1, Math.min(n, this.maxTopSize));
+    if (this.playerLeaderboard.isLoaded()) {
+      return this.playerLeaderboard.getTopPlayers(topSize);
+    }
+    return this.playerRepository.findPlayerSummariesOrderedByBestResult(
+        PageRequest.ofSize(topSize));
+  }
+
+  @Override
+  public PlayerRank getRankById(Long id) {
+    if (this.playerLeaderboard.isLoaded()) {
+      return this.playerLeaderboard.getRank(id)
+          .orElseThrow(() -> new PlayerNotFoundException(id));
+    }
+    return readOnlyTransactionTemplate().execute(status -> findRankById(id));
+  }
+
+  private PlayerRank findRankById(Long id) {
+    PlayerSummary player = getById(id);
+    Integer bestAttemptsCount = player.getBestAttemptsCount();
+    if (bestAttemptsCount == null) {
+      return new PlayerRank(id, player.getUsername(), null, null, null);
+    }
+    long rank = this.playerRepository.countPlayersWithBetterResult(bestAttemptsCount) + 1;
+    long denseRank = this.playerRepository.countResultsBetterThan(bestAttemptsCount) + 1;
+    return new PlayerRank(id, player.getUsername(), bestAttemptsCount, (int) rank,
+        (int) denseRank);
+  }
+
+  private TransactionTemplate readOnlyTransactionTemplate() {
+    TransactionTemplate readOnlyTemplate = new TransactionTemplate(
+        this.transactionTemplate.getTransactionManager(), this.transactionTemplate);
+    readOnlyTemplate.setReadOnly(true);
+    return readOnlyTemplate;
+  }
+
   @Transactional
   @Override
   public PlayerSummary create(PlayerSummary player) {
+    this.playerUsernameFilter.put(player.getUsername());
     PlayerEntity playerEntity = this.playerMapper.playerSummaryToPlayerEntity(player);
     PlayerEntity savedPlayerEntity = this.playerRepository.save(playerEntity);
-    return this.playerMapper.playerEntityToPlayerSummary(savedPlayerEntity);
+    PlayerSummary savedPlayer = this.playerMapper.playerEntityToPlayerSummary(savedPlayerEntity);
+    this.applicationContext.publishEvent(new PlayerSavedEvent(savedPlayer));
+    return savedPlayer;
+  }
+
+  @Override
+  public List<PlayerBatchResult> createAll(Iterator<PlayerSummary> players) {
+    List<PlayerBatchResult> results = new ArrayList<>();
+    Set<String> batchUsernames = new HashSet<>();
+    List<PlayerSummary> portion = new ArrayList<>(this.batchSize);
+    List<Integer> portionIndexes = new ArrayList<>(this.batchSize);
+    int index = 0;
+    while (players.hasNext()) {
+      PlayerSummary player = players.next();
+      String error = validate(player);
+      if (error == null && !batchUsernames.add(player.getUsername())) {
+        error = "Duplicating username";
+      }
+      if (error != null) {
+        results.add(PlayerBatchResult.failed(index, error));
+      } else {
+        portion.add(player);
+        portionIndexes.add(index);
+        if (portion.size() == this.batchSize) {
+          createPortion(portion, portionIndexes, results);
+          portion.clear();
+          portionIndexes.clear();
+        }
+      }
+      index++;
+    }
+    if (!portion.isEmpty()) {
+      createPortion(portion, portionIndexes, results);
+    }
+    results.sort((result1, result2) -> Integer.compare(result1.getIndex(), result2.getIndex()));
+    return results;
+  }
+
+  private String validate(PlayerSummary player) {
+    if (player == null) {
+      return "Malformed player";
+    }
+    Set<ConstraintViolation<PlayerSummary>> violations = this.validator.validate(player);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .reduce((message1, message2) -> message1 + "; " + message2)
+        .get();
+  }
+
+  private void createPortion(List<PlayerSummary> portion, List<Integer> portionIndexes,
+      List<PlayerBatchResult> results) {
+    Set<String> existingUsernames = new HashSet<>(this.playerRepository.findExistingUsernames(
+        portion.stream().map(PlayerSummary::getUsername).toList()));
+    List<PlayerSummary> newPlayers = new ArrayList<>(portion.size());
+    List<Integer> newPlayerIndexes = new ArrayList<>(portion.size());
+    for (int i = 0; i < portion.size(); i++) {
+      if (existingUsernames.contains(portion.get(i).getUsername())) {
+        results.add(PlayerBatchResult.failed(portionIndexes.get(i), "Duplicating username"));
+      } else {
+        newPlayers.add(portion.get(i));
+        newPlayerIndexes.add(portionIndexes.get(i));
+      }
+    }
+    if (newPlayers.isEmpty()) {
+      return;
+    }
+    try {
+      List<PlayerSummary> savedPlayers = this.transactionTemplate
+          .execute(status -> insert(newPlayers));
+      for (int i = 0; i < savedPlayers.size(); i++) {
+        results.add(PlayerBatchResult.created(newPlayerIndexes.get(i), savedPlayers.get(i)));
+      }
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Failed to insert {} players at once, inserting them one by one: {}",
+          newPlayers.size(), e.toString());
+      for (int i = 0; i < newPlayers.size(); i++) {
+        List<PlayerSummary> newPlayer = List.of(newPlayers.get(i));
+        try {
+          PlayerSummary savedPlayer = this.transactionTemplate
+              .execute(status -> insert(newPlayer)).get(0);
+          results.add(PlayerBatchResult.created(newPlayerIndexes.get(i), savedPlayer));
+        } catch (DataIntegrityViolationException playerException) {
+          String cause = playerException.getMostSpecificCause().getMessage();
+          String error = cause.contains("Key (username)") ? "Duplicating username" : cause;
+          results.add(PlayerBatchResult.failed(newPlayerIndexes.get(i), error));
+        }
+      }
+    }
+  }
+
+  private List<PlayerSummary> insert(List<PlayerSummary> players) {
+    players.forEach(player -> this.playerUsernameFilter.put(player.getUsername()));
+    List<PlayerEntity> playerEntities = this.playerMapper.playerSummaryToPlayerEntity(players);
+    List<PlayerSummary> savedPlayers = new ArrayList<>(players.size());
+    for (PlayerEntity savedPlayerEntity : this.playerRepository.saveAll(playerEntities)) {
+      PlayerSummary savedPlayer = this.playerMapper.playerEntityToPlayerSummary(savedPlayerEntity);
+      this.applicationContext.publishEvent(new PlayerSavedEvent(savedPlayer));
+      savedPlayers.add(savedPlayer);
+    }
+    return savedPlayers;
   }
 
   @Transactional
-  @Retryable(
-      retryFor = ObjectOptimisticLockingFailureException.class,
-      noRetryFor = {
-          AuthenticationCredentialsNotFoundException.class,
-          AccessDeniedException.class },
-      notRecoverable = {
-          AuthenticationCredentialsNotFoundException.class,
-          AccessDeniedException.class },
-      maxAttempts = 5,
-      backoff = @Backoff(delay = 100L),
-      recover = "recoverUpdate")
-  @Override
-  public void update(Long id, PlayerSummary player) {
-    PlayerEntity playerEntity = this.playerRepository.findById(id)
-        .orElseThrow(() -> new PlayerNotFoundException(id));
-    log.trace("Loaded player from {}: {}", PlayerRepository.class.getSimpleName(), playerEntity);
-    DefaultPlayerService thisPlayerService = this.applicationContext.getBean(this.getClass());
-    thisPlayerService.doUpdate(player, playerEntity);
+  @Override
+  public PlayerVersion update(Long id, PlayerSummary player, Integer version) {
+    return updateBestAttemptsCount(id, player.getBestAttemptsCount(), false, version);
   }
 
-  @PreAuthorize("hasRole('ADMIN') || #playerEntity.username == authentication.name")
-  void doUpdate(PlayerSummary player, PlayerEntity playerEntity) {
-    playerEntity.setBestAttemptsCount(player.getBestAttemptsCount());
-    PlayerEntity savedplayerEntity = this.playerRepository.save(playerEntity);
-    log.trace("Saved player into {}: {}", PlayerRepository.class.getSimpleName(),
-        savedplayerEntity);
+  @Transactional
+  @Override
+  public PlayerVersion patch(Long id, PlayerSummary player, Integer version) {
+    return updateBestAttemptsCount(id, player.getBestAttemptsCount(), true, version);
   }
 
-  @Recover
-  private void recoverUpdate(RuntimeException e, Long id, PlayerSummary player) {
-    throw new PlayerNotUpdatedException(id, e);
+  private PlayerVersion updateBestAttemptsCount(Long id, Integer bestAttemptsCount,
+      boolean partial, Integer version) {
+    Authentication authentication = getAuthentication();
+    PlayerUpdate update = this.playerRepository.updateBestAttemptsCount(id, bestAttemptsCount,
+        partial, version, isAdmin(authentication) ? null : authentication.getName());
+    switch (update.getStatus()) {
+      case NOT_FOUND -> throw new PlayerNotFoundException(id);
+      case NOT_PERMITTED -> throw new AccessDeniedException("Access Denied");
+      case VERSION_MISMATCH -> throw new PlayerVersionMismatchException(id);
+      default -> this.applicationContext.publishEvent(new PlayerSavedEvent(update.getPlayer()));
+    }
+    log.trace("Updated player {} to version {}", id, update.getVersion());
+    return new PlayerVersion(id, update.getVersion());
   }
 
   @Transactional
-  @Retryable(
-      retryFor = ObjectOptimisticLockingFailureException.class,
-      noRetryFor = {
-          AuthenticationCredentialsNotFoundException.class,
-          AccessDeniedException.class },
-      notRecoverable = {
-          AuthenticationCredentialsNotFoundException.class,
-          AccessDeniedException.class },
-      maxAttempts = 5,
-      backoff = @Backoff(delay = 100L),
-      recover = "recoverPatch")
-  @Override
-  public void patch(Long id, PlayerSummary player) {
-    PlayerEntity playerEntity = this.playerRepository.findById(id)
-        .orElseThrow(() -> new PlayerNotFoundException(id));
-    log.trace("Loaded player from {}: {}", PlayerRepository.class.getSimpleName(), playerEntity);
-    DefaultPlayerService thisPlayerService = this.applicationContext.getBean(this.getClass());
-    thisPlayerService.doPatch(player, playerEntity);
+  @Override
+  public BestResultUpdate improveBestResult(Long id, int bestAttemptsCount) {
+    Authentication authentication = getAuthentication();
+    boolean admin = isAdmin(authentication);
+    if (this.bestResultBuffer.isEnabled()) {
+      DefaultPlayerService thisPlayerService = this.applicationContext.getBean(this.getClass());
+      PlayerSummary player = thisPlayerService.getById(id);
+      if (!admin && !player.getUsername().equals(authentication.getName())) {
+        throw new AccessDeniedException("Access Denied");
+      }
+      this.bestResultBuffer.submit(id, bestAttemptsCount);
+      return new BestResultUpdate(BestResultUpdate.Status.ACCEPTED, player);
+    }
+    BestResultUpdate update = this.playerRepository.improveBestResult(id, bestAttemptsCount,
+        admin ? null : authentication.getName());
+    switch (update.getStatus()) {
+      case NOT_FOUND -> throw new PlayerNotFoundException(id);
+      case NOT_PERMITTED -> throw new AccessDeniedException("Access Denied");
+      case IMPROVED -> this.applicationContext
+          .publishEvent(new PlayerSavedEvent(update.getPlayer()));
+      default -> log.trace("Best result of player {} wasn't improved by {}", id,
+          bestAttemptsCount);
+    }
+    return update;
   }
 
-  @PreAuthorize("hasRole('ADMIN') || #playerEntity.username == authentication.name")
-  void doPatch(PlayerSummary player, PlayerEntity playerEntity) {
-    if (player.getBestAttemptsCount() != null) {
-      playerEntity.setBestAttemptsCount(player.getBestAttemptsCount());
+  private static Authentication getAuthentication() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null) {
+      throw new AuthenticationCredentialsNotFoundException(
+          "An Authentication object was not found in the SecurityContext");
     }
-    PlayerEntity savedplayerEntity = this.playerRepository.save(playerEntity);
-    log.trace("Saved player into {}: {}", PlayerRepository.class.getSimpleName(),
-        savedplayerEntity);
+    return authentication;
+  }
+
+  private static boolean isAdmin(Authentication authentication) {
+    return authentication.getAuthorities().stream()
+        .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
   }
 
-  @Recover
-  private void recoverPatch(RuntimeException e, Long id, PlayerSummary player) {
-    throw new PlayerNotUpdatedException(id, e);
+  @Transactional
+  @PreAuthorize("hasRole('ADMIN')")
+  @Override
+  public List<PlayerSummary> improveBestResults(List<BestResult> results) {
+    SortedMap<Long, Integer> bestAttemptsCounts = new TreeMap<>();
+    results.forEach(result -> bestAttemptsCounts.merge(result.getId(),
+        result.getBestAttemptsCount(), Math::min));
+    List<PlayerSummary> changedPlayers = this.playerRepository
+        .improveBestResults(bestAttemptsCounts);
+    log.debug("Improved {} of {} best results submitted for {} players", changedPlayers.size(),
+        results.size(), bestAttemptsCounts.size());
+    changedPlayers.forEach(
+        player -> this.applicationContext.publishEvent(new PlayerSavedEvent(player)));
+    return changedPlayers;
   }
 
+  @Transactional
   @Override
   public void deleteById(Long id) {
+    String username = this.playerRepository.findPlayerSummaryById(id)
+        .map(PlayerSummary::getUsername)
+        .orElse(null);
     this.playerRepository.deleteById(id);
+    this.applicationContext.publishEvent(new PlayerDeletedEvent(id, username));
+  }
+
+  /**
+   * The position of a change in the order of the time of the change and the
+   * player's id.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  private static final class ChangesPosition {
+
+    private final Instant changed;
+
+    private final Long id;
+
   }
 
 }
@@ -0,0 +1,123 @@
+package com.guessnumbergame.playerservice.service.impl;
+
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.guessnumbergame.playerservice.bloom.PlayerUsernameFilter;
+import com.guessnumbergame.playerservice.config.cache.CacheConfig;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
+import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
+import com.guessnumbergame.playerservice.leaderboard.PlayerLeaderboard;
+import com.guessnumbergame.playerservice.repository.ReactivePlayerRepository;
+import com.guessnumbergame.playerservice.service.ReactivePlayerService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The default {@code ReactivePlayerService} implementation.
+ * <p>
+ * The players and their versions are looked up in the same caches, {@link PlayerUsernameFilter}
+ * and {@link PlayerLeaderboard} as in the {@link DefaultPlayerService}, which
+ * don't block. Only their misses are read from the
+ * {@link ReactivePlayerRepository}.
+ * <p>
+ * The found players aren't put into the caches: an asynchronous read which
+ * started before a change is committed could complete after the change was
+ * written through and replace it with the old state. The caches are filled
+ * only by the {@link DefaultPlayerService}, whose loads are synchronized per
+ * key, and by the write-through after the commits.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see ReactivePlayerRepository
+ */
+@Service
+@Profile("reactive")
+public class DefaultReactivePlayerService implements ReactivePlayerService {
+
+  private final ReactivePlayerRepository reactivePlayerRepository;
+
+  private final PlayerUsernameFilter playerUsernameFilter;
+
+  private final PlayerLeaderboard playerLeaderboard;
+
+  private final Cache playersByIdCache;
+
+  private final Cache playersByUsernameCache;
+
+  private final Cache playerVersionsByIdCache;
+
+  private final Cache playerVersionsByUsernameCache;
+
+  public DefaultReactivePlayerService(ReactivePlayerRepository reactivePlayerRepository,
+      PlayerUsernameFilter playerUsernameFilter, PlayerLeaderboard playerLeaderboard,
+      CacheManager cacheManager) {
+    this.reactivePlayerRepository = reactivePlayerRepository;
+    this.playerUsernameFilter = playerUsernameFilter;
+    this.playerLeaderboard = playerLeaderboard;
+    this.playersByIdCache = cacheManager.getCache(CacheConfig.PLAYERS_BY_ID);
+    this.playersByUsernameCache = cacheManager.getCache(CacheConfig.PLAYERS_BY_USERNAME);
+    this.playerVersionsByIdCache = cacheManager.getCache(CacheConfig.PLAYER_VERSIONS_BY_ID);
+    this.playerVersionsByUsernameCache = cacheManager
+        .getCache(CacheConfig.PLAYER_VERSIONS_BY_USERNAME);
+  }
+
+  @Override
+  public Mono<PlayerSummary> getById(Long id) {
+    PlayerSummary cachedPlayer = this.playersByIdCache.get(id, PlayerSummary.class);
+    if (cachedPlayer != null) {
+      return Mono.just(cachedPlayer);
+    }
+    return this.reactivePlayerRepository.findPlayerSummaryById(id)
+        .switchIfEmpty(Mono.error(() -> new PlayerNotFoundException(id)));
+  }
+
+  @Override
+  public Mono<PlayerSummary> getByUsername(String username) {
+    if (!this.playerUsernameFilter.mightContain(username)) {
+      return Mono.error(new PlayerNotFoundException(username));
+    }
+    PlayerSummary cachedPlayer = this.playersByUsernameCache.get(username, PlayerSummary.class);
+    if (cachedPlayer != null) {
+      return Mono.just(cachedPlayer);
+    }
+    return this.reactivePlayerRepository.findPlayerSummaryByUsername(username)
+        .switchIfEmpty(Mono.error(() -> new PlayerNotFoundException(username)));
+  }
+
+  @Override
+  public Mono<PlayerVersion> findVersionById(Long id) {
+    PlayerVersion cachedVersion = this.playerVersionsByIdCache.get(id, PlayerVersion.class);
+    if (cachedVersion != null) {
+      return Mono.just(cachedVersion);
+    }
+    return this.reactivePlayerRepository.findPlayerVersionById(id);
+  }
+
+  @Override
+  public Mono<PlayerVersion> findVersionByUsername(String username) {
+    if (!this.playerUsernameFilter.mightContain(username)) {
+      return Mono.empty();
+    }
+    PlayerVersion cachedVersion = this.playerVersionsByUsernameCache.get(username,
+        PlayerVersion.class);
+    if (cachedVersion != null) {
+      return Mono.just(cachedVersion);
+    }
+    return this.reactivePlayerRepository.findPlayerVersionByUsername(username);
+  }
+
+  @Override
+  public Mono<List<PlayerSummary>> getPlayersWithBestResult() {
+    if (this.playerLeaderboard.isLoaded()) {
+      return Mono.just(this.playerLeaderboard.getPlayersWithBestResult());
+    }
+    return this.reactivePlayerRepository.findPlayerSummariesWithBestResult().collectList();
+  }
+
+}
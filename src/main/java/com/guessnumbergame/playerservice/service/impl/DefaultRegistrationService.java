@@ -1,14 +1,17 @@
 package com.guessnumbergame.playerservice.service.impl;
 
+import org.springframework.context.ApplicationContext;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.guessnumbergame.playerservice.bloom.PlayerUsernameFilter;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
 import com.guessnumbergame.playerservice.dto.RegistrationForm;
 import com.guessnumbergame.playerservice.dto.User;
-import com.guessnumbergame.playerservice.service.PlayerService;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+import com.guessnumbergame.playerservice.event.UserChangedEvent;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
 import com.guessnumbergame.playerservice.service.RegistrationService;
 
 import lombok.RequiredArgsConstructor;
@@ -16,31 +19,38 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * The default {@code RegistrationService} implementation.
+ * <p>
+ * The user, the user's authorities and the player are created by one
+ * statement, so a registration takes one round trip to the database after the
+ * password is hashed.
  * 
  * @author Luke Sukhanov
  * @version 1.0
+ * @see PlayerRepository
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DefaultRegistrationService implements RegistrationService {
 
-  private final UserDetailsManager userDetailsManager;
+  private final PlayerRepository playerRepository;
 
   private final PasswordEncoder passwordEncoder;
 
-  private final PlayerService playerService;
+  private final PlayerUsernameFilter playerUsernameFilter;
+
+  private final ApplicationContext applicationContext;
 
   @Transactional
   @Override
   public PlayerSummary register(RegistrationForm registrationForm) {
     User user = registrationForm.toUser(this.passwordEncoder);
     log.trace("Created a new User from RegistrationForm: {}", user);
-    this.userDetailsManager.createUser(user);
-    log.debug("Saved a new user: {}", user);
-    PlayerSummary player = new PlayerSummary(null, user.getUsername(), null);
-    PlayerSummary savedPlayer = this.playerService.create(player);
-    log.debug("Saved a new player: {}", savedPlayer);
+    this.playerUsernameFilter.put(user.getUsername());
+    PlayerSummary savedPlayer = this.playerRepository.createWithUser(user);
+    log.debug("Saved a new user and a new player: {}", savedPlayer);
+    this.applicationContext.publishEvent(new UserChangedEvent(user.getUsername()));
+    this.applicationContext.publishEvent(new PlayerSavedEvent(savedPlayer));
     return savedPlayer;
   }
 
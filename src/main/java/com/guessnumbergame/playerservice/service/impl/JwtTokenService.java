@@ -0,0 +1,71 @@
+package com.guessnumbergame.playerservice.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import com.guessnumbergame.playerservice.config.security.TokenSecurityConfig;
+import com.guessnumbergame.playerservice.dto.AccessToken;
+import com.guessnumbergame.playerservice.service.TokenService;
+
+/**
+ * The {@code TokenService} implementation issuing JWTs signed with HMAC
+ * SHA-256.
+ * <p>
+ * The token contains the user's name as the {@code sub} claim and the
+ * authorities as the {@code roles} claim, so the token is verified without
+ * loading the user.
+ * 
+ * @author Luke Sukhanov
+ * @version 1.0
+ * @see TokenSecurityConfig
+ */
+@Service
+@ConditionalOnProperty("app.security.token.enabled")
+public class JwtTokenService implements TokenService {
+
+  private final JwtEncoder jwtEncoder;
+
+  private final String issuer;
+
+  private final Duration timeToLive;
+
+  public JwtTokenService(JwtEncoder jwtEncoder,
+      @Value("${app.security.token.issuer}") String issuer,
+      @Value("${app.security.token.time-to-live}") Duration timeToLive) {
+    this.jwtEncoder = jwtEncoder;
+    this.issuer = issuer;
+    this.timeToLive = timeToLive;
+  }
+
+  @Override
+  public AccessToken issue(Authentication authentication) {
+    Instant now = Instant.now();
+    List<String> roles = authentication.getAuthorities().stream()
+        .map(GrantedAuthority::getAuthority)
+        .toList();
+    JwtClaimsSet claims = JwtClaimsSet.builder()
+        .issuer(this.issuer)
+        .subject(authentication.getName())
+        .issuedAt(now)
+        .expiresAt(now.plus(this.timeToLive))
+        .claim(TokenSecurityConfig.ROLES_CLAIM, roles)
+        .build();
+    JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+    String token = this.jwtEncoder.encode(JwtEncoderParameters.from(header, claims))
+        .getTokenValue();
+    return new AccessToken(token, "Bearer", this.timeToLive.toSeconds());
+  }
+
+}
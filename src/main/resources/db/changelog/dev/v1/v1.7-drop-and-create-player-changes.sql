@@ -0,0 +1,44 @@
+--changeset lukesukhanov:v1.7-drop-and-create-player-changes
+
+SET search_path TO guess_number_game_dev;
+
+-------- Changes of players  --------
+
+-- Index for finding the players modified after a watermark
+DROP INDEX IF EXISTS player_last_modified_id_idx;
+CREATE INDEX player_last_modified_id_idx
+	ON player (last_modified, id);
+
+-- Table of the deleted players
+DROP TABLE IF EXISTS player_tombstone CASCADE;
+CREATE TABLE player_tombstone (
+	id bigint NOT NULL PRIMARY KEY,
+	username varchar NOT NULL,
+	deleted timestamp with time zone NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index for finding the players deleted after a watermark
+DROP INDEX IF EXISTS player_tombstone_deleted_id_idx;
+CREATE INDEX player_tombstone_deleted_id_idx
+	ON player_tombstone (deleted, id);
+
+-- Trigger function for inserting the tombstone of the deleted player
+DROP FUNCTION IF EXISTS insert_player_tombstone CASCADE;
+CREATE FUNCTION insert_player_tombstone() RETURNS trigger AS
+$$
+BEGIN
+	INSERT INTO player_tombstone (id, username, deleted)
+	VALUES (OLD.id, OLD.username, now())
+	ON CONFLICT (id) DO UPDATE SET deleted = EXCLUDED.deleted;
+	RETURN OLD;
+END;
+$$
+LANGUAGE plpgsql;
+
+-- Trigger for inserting the tombstone of the deleted player
+DROP TRIGGER IF EXISTS insert_player_tombstone ON player;
+CREATE TRIGGER insert_player_tombstone
+	AFTER DELETE
+	ON player
+	FOR EACH ROW 
+	EXECUTE FUNCTION insert_player_tombstone();
@@ -0,0 +1,10 @@
+--changeset lukesukhanov:v1.6-alter-id-sequence
+
+SET search_path TO guess_number_game;
+
+-------- Sequences  --------
+
+-- Matches the allocation size of the 'id' generators, so the ids are
+-- allocated in blocks of JDBC batch size
+ALTER SEQUENCE common_id_seq
+	INCREMENT BY 50;
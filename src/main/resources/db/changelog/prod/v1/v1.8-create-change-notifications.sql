@@ -0,0 +1,61 @@
+--changeset lukesukhanov:v1.8-create-change-notifications
+
+SET search_path TO guess_number_game;
+
+-------- Change notifications  --------
+
+-- Trigger function for notifying the listeners about the changed player.
+-- The payload is 'operation,id,best_attempts_count,username', where the operation is I, U or D.
+-- The notification is delivered when the transaction is committed.
+CREATE OR REPLACE FUNCTION notify_player_changed() RETURNS trigger AS
+$$
+BEGIN
+	IF TG_OP = 'DELETE' THEN
+		PERFORM pg_notify('player_changed', 'D,' || OLD.id || ',,' || OLD.username);
+	ELSE
+		PERFORM pg_notify('player_changed', left(TG_OP, 1) || ',' || NEW.id || ','
+			|| COALESCE(CAST(NEW.best_attempts_count AS varchar), '') || ',' || NEW.username);
+	END IF;
+	RETURN NULL;
+END;
+$$
+LANGUAGE plpgsql;
+
+-- Trigger function for notifying the listeners about the changed user or authority.
+-- The notification is delivered when the transaction is committed.
+CREATE OR REPLACE FUNCTION notify_user_changed() RETURNS trigger AS
+$$
+BEGIN
+	IF TG_OP = 'DELETE' THEN
+		PERFORM pg_notify('user_changed', OLD.username);
+	ELSE
+		PERFORM pg_notify('user_changed', NEW.username);
+	END IF;
+	RETURN NULL;
+END;
+$$
+LANGUAGE plpgsql;
+
+-- Trigger for notifying about the changed player
+DROP TRIGGER IF EXISTS notify_player_changed ON player;
+CREATE TRIGGER notify_player_changed
+	AFTER INSERT OR UPDATE OR DELETE
+	ON player
+	FOR EACH ROW 
+	EXECUTE FUNCTION notify_player_changed();
+
+-- Trigger for notifying about the changed user
+DROP TRIGGER IF EXISTS notify_user_changed ON users;
+CREATE TRIGGER notify_user_changed
+	AFTER INSERT OR UPDATE OR DELETE
+	ON users
+	FOR EACH ROW 
+	EXECUTE FUNCTION notify_user_changed();
+
+-- Trigger for notifying about the changed authority
+DROP TRIGGER IF EXISTS notify_user_changed ON authorities;
+CREATE TRIGGER notify_user_changed
+	AFTER INSERT OR UPDATE OR DELETE
+	ON authorities
+	FOR EACH ROW 
+	EXECUTE FUNCTION notify_user_changed();
@@ -0,0 +1,64 @@
+package com.guessnumbergame.playerservice.bloom;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+
+@SpringBootTest(classes = Application.class)
+@DisplayName("PlayerUsernameFilter")
+@Tag("bloom")
+@Tag("player")
+class PlayerUsernameFilterTest {
+
+  @MockBean
+  private PlayerRepository playerRepository;
+
+  @Autowired
+  private PlayerUsernameFilter playerUsernameFilter;
+
+  private final List<String> existingUsernames = List.of("ivan", "pyotr", "nadezhda", "boris",
+      "darya");
+
+  @BeforeEach
+  final void load() {
+    when(this.playerRepository.count())
+        .thenReturn((long) this.existingUsernames.size());
+    when(this.playerRepository.streamAllUsernames())
+        .thenReturn(this.existingUsernames.stream());
+    this.playerUsernameFilter.load();
+  }
+
+  @Test
+  @DisplayName("mightContain(String) - existing usernames")
+  final void mightContain_existingUsernames() {
+    this.existingUsernames
+        .forEach(username -> assertTrue(this.playerUsernameFilter.mightContain(username)));
+  }
+
+  @Test
+  @DisplayName("mightContain(String) - unknown username")
+  final void mightContain_unknownUsername() {
+    assertFalse(this.playerUsernameFilter.mightContain("unknown"));
+  }
+
+  @Test
+  @DisplayName("put(String) - added username")
+  final void put_addedUsername() {
+    this.playerUsernameFilter.put("added");
+    assertTrue(this.playerUsernameFilter.mightContain("added"));
+  }
+
+}
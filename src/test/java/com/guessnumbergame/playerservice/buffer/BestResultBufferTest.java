@@ -0,0 +1,72 @@
+package com.guessnumbergame.playerservice.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.exception.BestResultBufferFullException;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+
+@SpringBootTest(classes = Application.class, properties = {
+    "app.players.best-results.write-behind.enabled=true",
+    "app.players.best-results.write-behind.capacity=2",
+    "app.players.best-results.write-behind.flush-delay=PT1H" })
+@DisplayName("BestResultBuffer")
+@Tag("buffer")
+@Tag("player")
+class BestResultBufferTest {
+
+  @MockBean
+  private PlayerRepository playerRepository;
+
+  @Autowired
+  private BestResultBuffer bestResultBuffer;
+
+  @AfterEach
+  final void flush() {
+    when(this.playerRepository.improveBestResults(any()))
+        .thenReturn(List.of());
+    this.bestResultBuffer.flush();
+  }
+
+  @Test
+  @DisplayName("flush() - coalesced results")
+  final void flush_coalescedResults() {
+    this.bestResultBuffer.submit(1L, 7);
+    this.bestResultBuffer.submit(2L, 9);
+    this.bestResultBuffer.submit(1L, 5);
+    this.bestResultBuffer.submit(1L, 6);
+    TreeMap<Long, Integer> bestAttemptsCounts = new TreeMap<>(Map.of(1L, 5, 2L, 9));
+    when(this.playerRepository.improveBestResults(bestAttemptsCounts))
+        .thenReturn(List.of(new PlayerSummary(1L, "username1", 5)));
+    this.bestResultBuffer.flush();
+    verify(this.playerRepository, times(1)).improveBestResults(bestAttemptsCounts);
+  }
+
+  @Test
+  @DisplayName("submit(Long, int) - buffer is full")
+  final void submit_bufferIsFull() {
+    this.bestResultBuffer.submit(1L, 7);
+    this.bestResultBuffer.submit(2L, 9);
+    assertDoesNotThrow(() -> this.bestResultBuffer.submit(1L, 5));
+    assertThrows(BestResultBufferFullException.class, () -> this.bestResultBuffer.submit(3L, 4));
+  }
+
+}
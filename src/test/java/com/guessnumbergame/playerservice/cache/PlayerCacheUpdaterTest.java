@@ -0,0 +1,89 @@
+package com.guessnumbergame.playerservice.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.config.cache.CacheConfig;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.PlayerDeletedEvent;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+
+@SpringBootTest(classes = Application.class)
+@DisplayName("PlayerCacheUpdater")
+@Tag("cache")
+@Tag("player")
+class PlayerCacheUpdaterTest {
+
+  @Autowired
+  private PlayerCacheUpdater playerCacheUpdater;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  private Cache playersById;
+
+  private Cache playersByUsername;
+
+  @BeforeEach
+  final void clearCaches() {
+    this.playersById = this.cacheManager.getCache(CacheConfig.PLAYERS_BY_ID);
+    this.playersByUsername = this.cacheManager.getCache(CacheConfig.PLAYERS_BY_USERNAME);
+    this.playersById.clear();
+    this.playersByUsername.clear();
+  }
+
+  @Test
+  @DisplayName("onPlayerSaved(PlayerSavedEvent) - written through")
+  final void onPlayerSaved_writtenThrough() {
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    this.playersById.put(1L, new PlayerSummary(1L, "username", 2));
+    this.playerCacheUpdater.onPlayerSaved(new PlayerSavedEvent(player));
+    assertEquals(this.playersById.get(1L, PlayerSummary.class), player);
+    assertEquals(this.playersByUsername.get("username", PlayerSummary.class), player);
+  }
+
+  @Test
+  @DisplayName("onPlayerDeleted(PlayerDeletedEvent) - evicted")
+  final void onPlayerDeleted_evicted() {
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    this.playersById.put(1L, player);
+    this.playersByUsername.put("username", player);
+    this.playerCacheUpdater.onPlayerDeleted(new PlayerDeletedEvent(1L, "username"));
+    assertNull(this.playersById.get(1L));
+    assertNull(this.playersByUsername.get("username"));
+  }
+
+  @Test
+  @DisplayName("onPlayerChangeNotified(PlayerChangeNotifiedEvent) - evicted")
+  final void onPlayerChangeNotified_evicted() {
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    this.playersById.put(1L, player);
+    this.playersByUsername.put("username", player);
+    this.playerCacheUpdater.onPlayerChangeNotified(new PlayerChangeNotifiedEvent(1L, "username", 3, false));
+    assertNull(this.playersById.get(1L));
+    assertNull(this.playersByUsername.get("username"));
+  }
+
+  @Test
+  @DisplayName("onChangeNotificationsMissed() - cleared")
+  final void onChangeNotificationsMissed_cleared() {
+    this.playersById.put(1L, new PlayerSummary(1L, "username1", 1));
+    this.playersByUsername.put("username2", new PlayerSummary(2L, "username2", 2));
+    this.playerCacheUpdater.onChangeNotificationsMissed();
+    assertNull(this.playersById.get(1L));
+    assertNull(this.playersByUsername.get("username2"));
+  }
+
+}
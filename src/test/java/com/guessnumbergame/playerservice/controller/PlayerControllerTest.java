@@ -1,8 +1,15 @@
 package com.guessnumbergame.playerservice.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -10,12 +17,17 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -25,14 +37,31 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.dto.BestResult;
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerBatchResult;
+import com.guessnumbergame.playerservice.dto.PlayerChange;
+import com.guessnumbergame.playerservice.dto.PlayerChanges;
+import com.guessnumbergame.playerservice.dto.PlayerPage;
+import com.guessnumbergame.playerservice.dto.PlayerRank;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
+import com.guessnumbergame.playerservice.exception.BadPlayerCursorException;
+import com.guessnumbergame.playerservice.exception.BestResultBufferFullException;
+import com.guessnumbergame.playerservice.exception.LeaderboardStreamFullException;
+import com.guessnumbergame.playerservice.exception.PlayerChangesExpiredException;
 import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
+import com.guessnumbergame.playerservice.exception.PlayerVersionMismatchException;
+import com.guessnumbergame.playerservice.leaderboard.LeaderboardStream;
 import com.guessnumbergame.playerservice.service.PlayerService;
 
 @SpringBootTest(classes = Application.class)
@@ -45,6 +74,9 @@ class PlayerControllerTest {
   @MockBean
   private PlayerService playerService;
 
+  @MockBean
+  private LeaderboardStream leaderboardStream;
+
   @Autowired
   private MockMvc mockMvc;
 
@@ -88,71 +120,94 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("getById(Long) - normal return")
-  final void getById_normalReturn() throws Exception {
-    Long id = 1L;
-    PlayerSummary player = new PlayerSummary(id, "username", 1);
-    when(this.playerService.getById(id))
-        .thenReturn(player);
-    this.mockMvc.perform(get("/players/" + id)
+  @DisplayName("streamAll() - normal return")
+  final void streamAll_normalReturn() throws Exception {
+    doAnswer(invocation -> {
+      Consumer<PlayerSummary> action = invocation.getArgument(0);
+      this.existingPlayers.forEach(action);
+      return null;
+    }).when(this.playerService).streamAll(any());
+    StringBuilder expectedContent = new StringBuilder();
+    for (PlayerSummary player : this.existingPlayers) {
+      expectedContent.append(this.objectMapper.writeValueAsString(player)).append('\n');
+    }
+    MvcResult mvcResult = this.mockMvc.perform(get("/players")
+        .accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    this.mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_NDJSON),
+            content().string(expectedContent.toString()));
+  }
+
+  @Test
+  @DisplayName("getPage(String, int) - normal return")
+  final void getPage_normalReturn() throws Exception {
+    PlayerPage page = new PlayerPage(this.existingPlayers, "Mw");
+    when(this.playerService.getPage("MA", 3))
+        .thenReturn(page);
+    this.mockMvc.perform(get("/players/page?cursor=MA&limit=3")
         .accept(MediaType.APPLICATION_JSON))
         .andExpectAll(
             status().isOk(),
             content().contentType(MediaType.APPLICATION_JSON),
-            content().string(this.objectMapper.writeValueAsString(player)));
+            content().string(this.objectMapper.writeValueAsString(page)));
   }
 
   @Test
-  @DisplayName("getById(Long) - player not found")
-  final void getById_playerNotFound() throws Exception {
-    Long id = 1L;
-    PlayerNotFoundException e = new PlayerNotFoundException(id);
-    when(this.playerService.getById(id))
+  @DisplayName("getPage(String, int) - bad cursor")
+  final void getPage_badCursor() throws Exception {
+    BadPlayerCursorException e = new BadPlayerCursorException("abc");
+    when(this.playerService.getPage("abc", 50))
         .thenThrow(e);
-    this.mockMvc.perform(get("/players/" + id)
+    this.mockMvc.perform(get("/players/page?cursor=abc")
         .accept(MediaType.APPLICATION_JSON))
         .andExpectAll(
-            status().isNotFound(),
+            status().isBadRequest(),
             content().contentType(MediaType.APPLICATION_JSON),
             content().json(this.objectMapper.writeValueAsString(Map.of("error", e.getMessage()))));
   }
 
   @Test
-  @DisplayName("getByUsername(String) - normal return")
-  final void getByUsername_normalReturn() throws Exception {
-    String username = "username";
-    PlayerSummary player = new PlayerSummary(1L, username, 1);
-    when(this.playerService.getByUsername(username))
-        .thenReturn(player);
-    this.mockMvc.perform(get("/players/byUsername?username=" + username)
+  @DisplayName("getChanges(String, int) - normal return")
+  final void getChanges_normalReturn() throws Exception {
+    PlayerChanges changes = new PlayerChanges(List.of(
+        new PlayerChange(1L, "username1", 1, 2, false, Instant.parse("2023-11-14T22:13:20Z")),
+        new PlayerChange(2L, "username2", null, null, true, Instant.parse("2023-11-14T22:13:21Z"))),
+        "MTcwMDAwMDAwMTAwMDAwMDoy", false);
+    when(this.playerService.getChanges("MA", 3))
+        .thenReturn(changes);
+    this.mockMvc.perform(get("/players/changes?since=MA&limit=3")
         .accept(MediaType.APPLICATION_JSON))
         .andExpectAll(
             status().isOk(),
             content().contentType(MediaType.APPLICATION_JSON),
-            content().string(this.objectMapper.writeValueAsString(player)));
+            content().string(this.objectMapper.writeValueAsString(changes)));
   }
 
   @Test
-  @DisplayName("getByUsername(String) - player not found")
-  final void getByUsername_playerNotFound() throws Exception {
-    String username = "username";
-    PlayerNotFoundException e = new PlayerNotFoundException(username);
-    when(this.playerService.getByUsername(username))
+  @DisplayName("getChanges(String, int) - expired token")
+  final void getChanges_expiredToken() throws Exception {
+    PlayerChangesExpiredException e = new PlayerChangesExpiredException("MA");
+    when(this.playerService.getChanges("MA", 50))
         .thenThrow(e);
-    this.mockMvc.perform(get("/players/byUsername?username=" + username)
+    this.mockMvc.perform(get("/players/changes?since=MA")
         .accept(MediaType.APPLICATION_JSON))
         .andExpectAll(
-            status().isNotFound(),
+            status().isGone(),
             content().contentType(MediaType.APPLICATION_JSON),
             content().json(this.objectMapper.writeValueAsString(Map.of("error", e.getMessage()))));
   }
 
   @Test
-  @DisplayName("getPlayersWithBestResult() - normal return")
-  final void getPlayerWithBestResult_normalReturn() throws Exception {
-    when(this.playerService.getPlayersWithBestResult())
+  @DisplayName("getTopPlayers(int) - normal return")
+  final void getTopPlayers_normalReturn() throws Exception {
+    when(this.playerService.getTopPlayers(3))
         .thenReturn(this.existingPlayers);
-    this.mockMvc.perform(get("/players/withBestResult")
+    this.mockMvc.perform(get("/players/top")
+        .param("n", "3")
         .accept(MediaType.APPLICATION_JSON))
         .andExpectAll(
             status().isOk(),
@@ -161,16 +216,53 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("getPlayersWithBestResult() - empty return")
-  final void getPlayerWithBestResult_emptyReturn() throws Exception {
-    when(this.playerService.getPlayersWithBestResult())
-        .thenReturn(Collections.emptyList());
-    this.mockMvc.perform(get("/players/withBestResult")
+  @DisplayName("streamLeaderboard(int) - normal return")
+  final void streamLeaderboard_normalReturn() throws Exception {
+    when(this.leaderboardStream.subscribe(3))
+        .thenReturn(new SseEmitter());
+    this.mockMvc.perform(get("/players/leaderboard")
+        .param("n", "3")
+        .accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(request().asyncStarted());
+  }
+
+  @Test
+  @DisplayName("streamLeaderboard(int) - too many subscribers")
+  final void streamLeaderboard_tooManySubscribers() throws Exception {
+    when(this.leaderboardStream.subscribe(10))
+        .thenThrow(new LeaderboardStreamFullException(Duration.ofSeconds(5)));
+    this.mockMvc.perform(get("/players/leaderboard")
+        .accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpectAll(
+            status().isServiceUnavailable(),
+            header().string(HttpHeaders.RETRY_AFTER, "5"),
+            content().string(""));
+  }
+
+  @Test
+  @DisplayName("getRankById(Long) - normal return")
+  final void getRankById_normalReturn() throws Exception {
+    PlayerRank rank = new PlayerRank(2L, "username2", 2, 2, 2);
+    when(this.playerService.getRankById(2L))
+        .thenReturn(rank);
+    this.mockMvc.perform(get("/players/2/rank")
         .accept(MediaType.APPLICATION_JSON))
         .andExpectAll(
             status().isOk(),
             content().contentType(MediaType.APPLICATION_JSON),
-            content().string(this.objectMapper.writeValueAsString(Collections.emptyList())));
+            content().string(this.objectMapper.writeValueAsString(rank)));
+  }
+
+  @Test
+  @DisplayName("getRankById(Long) - player not found")
+  final void getRankById_playerNotFound() throws Exception {
+    when(this.playerService.getRankById(1L))
+        .thenThrow(new PlayerNotFoundException(1L));
+    this.mockMvc.perform(get("/players/1/rank")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isNotFound(),
+            content().contentType(MediaType.APPLICATION_JSON));
   }
 
   @Test
@@ -210,21 +302,247 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - normal return")
+  @DisplayName("createAll(List) - normal return")
+  @WithMockUser(roles = "ADMIN")
+  final void createAll_normalReturn() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    List<PlayerBatchResult> results = List.of(
+        PlayerBatchResult.created(0, new PlayerSummary(1L, "username", 1)),
+        PlayerBatchResult.failed(1, "Duplicating username"));
+    when(this.playerService.createAll(any()))
+        .thenReturn(results);
+    this.mockMvc.perform(post("/players/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .content(this.objectMapper.writeValueAsString(List.of(player, player))))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(results)));
+  }
+
+  @Test
+  @DisplayName("createAllFromStream(InputStream) - normal return")
+  @WithMockUser(roles = "ADMIN")
+  final void createAllFromStream_normalReturn() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    List<PlayerBatchResult> results = List.of(
+        PlayerBatchResult.created(0, new PlayerSummary(1L, "username", 1)),
+        PlayerBatchResult.failed(1, "Malformed player"));
+    doAnswer(invocation -> {
+      Iterator<PlayerSummary> players = invocation.getArgument(0);
+      assertEquals(players.next(), player);
+      assertNull(players.next());
+      assertFalse(players.hasNext());
+      return results;
+    }).when(this.playerService).createAll(any());
+    this.mockMvc.perform(post("/players/batch")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .content(this.objectMapper.writeValueAsString(player) + "\n{malformed\n"))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(results)));
+  }
+
+  @Test
+  @DisplayName("createAll(List) - not admin")
+  @WithMockUser(roles = "USER")
+  final void createAll_notAdmin() throws Exception {
+    this.mockMvc.perform(post("/players/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .content("[]"))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - normal return")
+  @WithMockUser(roles = "USER")
+  final void improveBestResult_normalReturn() throws Exception {
+    BestResultUpdate update = new BestResultUpdate(BestResultUpdate.Status.IMPROVED,
+        new PlayerSummary(1L, "username1", 5));
+    when(this.playerService.improveBestResult(1L, 5))
+        .thenReturn(update);
+    this.mockMvc.perform(patch("/players/1/bestResult")
+        .param("bestAttemptsCount", "5")
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader()))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(update)));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - accepted")
+  @WithMockUser(roles = "USER")
+  final void improveBestResult_accepted() throws Exception {
+    BestResultUpdate update = new BestResultUpdate(BestResultUpdate.Status.ACCEPTED,
+        new PlayerSummary(1L, "username1", 7));
+    when(this.playerService.improveBestResult(1L, 5))
+        .thenReturn(update);
+    this.mockMvc.perform(patch("/players/1/bestResult")
+        .param("bestAttemptsCount", "5")
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader()))
+        .andExpectAll(
+            status().isAccepted(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(update)));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - buffer is full")
+  @WithMockUser(roles = "USER")
+  final void improveBestResult_bufferIsFull() throws Exception {
+    when(this.playerService.improveBestResult(1L, 5))
+        .thenThrow(new BestResultBufferFullException(Duration.ofSeconds(2)));
+    this.mockMvc.perform(patch("/players/1/bestResult")
+        .param("bestAttemptsCount", "5")
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader()))
+        .andExpectAll(
+            status().isServiceUnavailable(),
+            header().string(HttpHeaders.RETRY_AFTER, "2"),
+            content().contentType(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - not positive attempts count")
+  @WithMockUser(roles = "USER")
+  final void improveBestResult_notPositiveAttemptsCount() throws Exception {
+    this.mockMvc.perform(patch("/players/1/bestResult")
+        .param("bestAttemptsCount", "0")
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader()))
+        .andExpectAll(
+            status().isBadRequest(),
+            content().contentType(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - player not found")
+  @WithMockUser(roles = "USER")
+  final void improveBestResult_playerNotFound() throws Exception {
+    when(this.playerService.improveBestResult(1L, 5))
+        .thenThrow(new PlayerNotFoundException(1L));
+    this.mockMvc.perform(patch("/players/1/bestResult")
+        .param("bestAttemptsCount", "5")
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader()))
+        .andExpectAll(
+            status().isNotFound(),
+            content().contentType(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  @DisplayName("improveBestResults(List) - normal return")
+  @WithMockUser(roles = "ADMIN")
+  final void improveBestResults_normalReturn() throws Exception {
+    List<BestResult> results = List.of(new BestResult(1L, 7), new BestResult(1L, 5));
+    List<PlayerSummary> changedPlayers = List.of(new PlayerSummary(1L, "username1", 5));
+    when(this.playerService.improveBestResults(results))
+        .thenReturn(changedPlayers);
+    this.mockMvc.perform(post("/players/bestResults")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .content(this.objectMapper.writeValueAsString(results)))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(changedPlayers)));
+  }
+
+  @Test
+  @DisplayName("improveBestResults(List) - invalid result")
+  @WithMockUser(roles = "ADMIN")
+  final void improveBestResults_invalidResult() throws Exception {
+    List<BestResult> results = List.of(new BestResult(1L, -1));
+    this.mockMvc.perform(post("/players/bestResults")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .content(this.objectMapper.writeValueAsString(results)))
+        .andExpectAll(
+            status().isBadRequest(),
+            content().contentType(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  @DisplayName("update(Long, String, PlayerSummary) - normal return")
   @WithMockUser(roles = "USER")
   final void update_normalReturn() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
+    when(this.playerService.update(1L, player, null))
+        .thenReturn(new PlayerVersion(1L, 4));
     this.mockMvc.perform(put("/players/1")
         .contentType(MediaType.APPLICATION_JSON)
         .accept(MediaType.APPLICATION_JSON)
         .with(csrf().asHeader())
         .content(this.objectMapper.writeValueAsString(player)))
         .andExpectAll(
-            status().isNoContent());
+            status().isNoContent(),
+            header().string(HttpHeaders.ETAG, "\"1.4\""));
+  }
+
+  @Test
+  @DisplayName("update(Long, String, PlayerSummary) - with matching version")
+  @WithMockUser(roles = "USER")
+  final void update_withMatchingVersion() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    when(this.playerService.update(1L, player, 3))
+        .thenReturn(new PlayerVersion(1L, 4));
+    this.mockMvc.perform(put("/players/1")
+        .header(HttpHeaders.IF_MATCH, "\"1.3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader())
+        .content(this.objectMapper.writeValueAsString(player)))
+        .andExpectAll(
+            status().isNoContent(),
+            header().string(HttpHeaders.ETAG, "\"1.4\""));
+  }
+
+  @Test
+  @DisplayName("update(Long, String, PlayerSummary) - version mismatch")
+  @WithMockUser(roles = "USER")
+  final void update_versionMismatch() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    PlayerVersionMismatchException e = new PlayerVersionMismatchException(1L);
+    when(this.playerService.update(1L, player, 3))
+        .thenThrow(e);
+    this.mockMvc.perform(put("/players/1")
+        .header(HttpHeaders.IF_MATCH, "\"1.3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader())
+        .content(this.objectMapper.writeValueAsString(player)))
+        .andExpectAll(
+            status().isPreconditionFailed(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(
+                this.objectMapper.writeValueAsString(Map.of("error", e.getMessage()))));
+  }
+
+  @Test
+  @DisplayName("update(Long, String, PlayerSummary) - tag of another player")
+  @WithMockUser(roles = "USER")
+  final void update_tagOfAnotherPlayer() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    this.mockMvc.perform(put("/players/1")
+        .header(HttpHeaders.IF_MATCH, "\"2.3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader())
+        .content(this.objectMapper.writeValueAsString(player)))
+        .andExpectAll(
+            status().isPreconditionFailed());
+    verify(this.playerService, never()).update(any(), any(), any());
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - player not found")
+  @DisplayName("update(Long, String, PlayerSummary) - player not found")
   @WithMockUser(roles = "USER")
   final void update_playerNotFound() throws Exception {
     Long id = 1L;
@@ -232,7 +550,7 @@ class PlayerControllerTest {
     PlayerNotFoundException e = new PlayerNotFoundException(id);
     doAnswer(invocation -> {
       throw e;
-    }).when(this.playerService).update(id, player);
+    }).when(this.playerService).update(id, player, null);
     this.mockMvc.perform(put("/players/1")
         .contentType(MediaType.APPLICATION_JSON)
         .accept(MediaType.APPLICATION_JSON)
@@ -246,7 +564,7 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - unauthenticated")
+  @DisplayName("update(Long, String, PlayerSummary) - unauthenticated")
   final void update_unauthenticated() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
     this.mockMvc.perform(put("/players/1")
@@ -259,7 +577,7 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - authenticated without role 'USER'")
+  @DisplayName("update(Long, String, PlayerSummary) - authenticated without role 'USER'")
   @WithMockUser(roles = {})
   final void update_authenticatedWithoutRoleUser() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
@@ -273,7 +591,7 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - missing CSRF token")
+  @DisplayName("update(Long, String, PlayerSummary) - missing CSRF token")
   @WithMockUser(roles = "USER")
   final void update_missingCsrfToken() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
@@ -286,7 +604,7 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - invalid CSRF token")
+  @DisplayName("update(Long, String, PlayerSummary) - invalid CSRF token")
   @WithMockUser(roles = "USER")
   final void update_invalidCsrfToken() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
@@ -300,21 +618,79 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - normal return")
+  @DisplayName("patch(Long, String, PlayerSummary) - normal return")
   @WithMockUser(roles = "USER")
   final void patch_normalReturn() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
+    when(this.playerService.patch(1L, player, null))
+        .thenReturn(new PlayerVersion(1L, 4));
     this.mockMvc.perform(patch("/players/1")
         .contentType(MediaType.APPLICATION_JSON)
         .accept(MediaType.APPLICATION_JSON)
         .with(csrf().asHeader())
         .content(this.objectMapper.writeValueAsString(player)))
         .andExpectAll(
-            status().isNoContent());
+            status().isNoContent(),
+            header().string(HttpHeaders.ETAG, "\"1.4\""));
+  }
+
+  @Test
+  @DisplayName("patch(Long, String, PlayerSummary) - with matching version")
+  @WithMockUser(roles = "USER")
+  final void patch_withMatchingVersion() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    when(this.playerService.patch(1L, player, 3))
+        .thenReturn(new PlayerVersion(1L, 4));
+    this.mockMvc.perform(patch("/players/1")
+        .header(HttpHeaders.IF_MATCH, "\"1.3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader())
+        .content(this.objectMapper.writeValueAsString(player)))
+        .andExpectAll(
+            status().isNoContent(),
+            header().string(HttpHeaders.ETAG, "\"1.4\""));
+  }
+
+  @Test
+  @DisplayName("patch(Long, String, PlayerSummary) - version mismatch")
+  @WithMockUser(roles = "USER")
+  final void patch_versionMismatch() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    PlayerVersionMismatchException e = new PlayerVersionMismatchException(1L);
+    when(this.playerService.patch(1L, player, 3))
+        .thenThrow(e);
+    this.mockMvc.perform(patch("/players/1")
+        .header(HttpHeaders.IF_MATCH, "\"1.3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader())
+        .content(this.objectMapper.writeValueAsString(player)))
+        .andExpectAll(
+            status().isPreconditionFailed(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(
+                this.objectMapper.writeValueAsString(Map.of("error", e.getMessage()))));
+  }
+
+  @Test
+  @DisplayName("patch(Long, String, PlayerSummary) - tag of another player")
+  @WithMockUser(roles = "USER")
+  final void patch_tagOfAnotherPlayer() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    this.mockMvc.perform(patch("/players/1")
+        .header(HttpHeaders.IF_MATCH, "\"2.3\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .with(csrf().asHeader())
+        .content(this.objectMapper.writeValueAsString(player)))
+        .andExpectAll(
+            status().isPreconditionFailed());
+    verify(this.playerService, never()).patch(any(), any(), any());
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - player not found")
+  @DisplayName("patch(Long, String, PlayerSummary) - player not found")
   @WithMockUser(roles = "USER")
   final void patch_playerNotFound() throws Exception {
     Long id = 1L;
@@ -322,7 +698,7 @@ class PlayerControllerTest {
     PlayerNotFoundException e = new PlayerNotFoundException(id);
     doAnswer(invocation -> {
       throw e;
-    }).when(this.playerService).patch(id, player);
+    }).when(this.playerService).patch(id, player, null);
     this.mockMvc.perform(patch("/players/1")
         .contentType(MediaType.APPLICATION_JSON)
         .accept(MediaType.APPLICATION_JSON)
@@ -336,7 +712,7 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - unauthenticated")
+  @DisplayName("patch(Long, String, PlayerSummary) - unauthenticated")
   final void patch_unauthenticated() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
     this.mockMvc.perform(patch("/players/1")
@@ -349,7 +725,7 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - authenticated without role 'USER'")
+  @DisplayName("patch(Long, String, PlayerSummary) - authenticated without role 'USER'")
   @WithMockUser(roles = {})
   final void patch_authenticatedWithoutRoleUser() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
@@ -363,7 +739,7 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - missing CSRF token")
+  @DisplayName("patch(Long, String, PlayerSummary) - missing CSRF token")
   @WithMockUser(roles = "USER")
   final void patch_missingCsrfToken() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
@@ -376,7 +752,7 @@ class PlayerControllerTest {
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - invalid CSRF token")
+  @DisplayName("patch(Long, String, PlayerSummary) - invalid CSRF token")
   @WithMockUser(roles = "USER")
   final void patch_invalidCsrfToken() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
@@ -0,0 +1,198 @@
+package com.guessnumbergame.playerservice.controller;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
+import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+@SpringBootTest(classes = Application.class)
+@DisplayName("PlayerLookupController")
+@Tag("controller")
+@Tag("player")
+@AutoConfigureMockMvc
+class PlayerLookupControllerTest {
+
+  @MockBean
+  private PlayerService playerService;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final List<PlayerSummary> existingPlayers;
+
+  {
+    List<PlayerSummary> players = new ArrayList<>(3);
+    players.add(new PlayerSummary(1l, "username1", 1));
+    players.add(new PlayerSummary(2l, "username2", 2));
+    players.add(new PlayerSummary(3l, "username3", 3));
+    this.existingPlayers = Collections.unmodifiableList(players);
+  }
+
+  @Test
+  @DisplayName("getById(Long) - normal return")
+  final void getById_normalReturn() throws Exception {
+    Long id = 1L;
+    PlayerSummary player = new PlayerSummary(id, "username", 1);
+    when(this.playerService.getById(id))
+        .thenReturn(player);
+    this.mockMvc.perform(get("/players/" + id)
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(player)));
+  }
+
+  @Test
+  @DisplayName("getById(Long) - player not found")
+  final void getById_playerNotFound() throws Exception {
+    Long id = 1L;
+    PlayerNotFoundException e = new PlayerNotFoundException(id);
+    when(this.playerService.getById(id))
+        .thenThrow(e);
+    this.mockMvc.perform(get("/players/" + id)
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isNotFound(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().json(this.objectMapper.writeValueAsString(Map.of("error", e.getMessage()))));
+  }
+
+  @Test
+  @DisplayName("getById(Long) - with entity tag")
+  final void getById_withETag() throws Exception {
+    Long id = 1L;
+    PlayerSummary player = new PlayerSummary(id, "username", 1);
+    when(this.playerService.findVersionById(id))
+        .thenReturn(Optional.of(new PlayerVersion(id, 3)));
+    when(this.playerService.getById(id))
+        .thenReturn(player);
+    this.mockMvc.perform(get("/players/" + id)
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isOk(),
+            header().string(HttpHeaders.ETAG, "\"1.3\""),
+            content().string(this.objectMapper.writeValueAsString(player)));
+  }
+
+  @Test
+  @DisplayName("getById(Long) - player not modified")
+  final void getById_notModified() throws Exception {
+    Long id = 1L;
+    when(this.playerService.findVersionById(id))
+        .thenReturn(Optional.of(new PlayerVersion(id, 3)));
+    this.mockMvc.perform(get("/players/" + id)
+        .header(HttpHeaders.IF_NONE_MATCH, "\"1.3\"")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isNotModified(),
+            header().string(HttpHeaders.ETAG, "\"1.3\""),
+            content().string(""));
+    verify(this.playerService, never()).getById(id);
+  }
+
+  @Test
+  @DisplayName("getById(Long) - player modified")
+  final void getById_modified() throws Exception {
+    Long id = 1L;
+    PlayerSummary player = new PlayerSummary(id, "username", 1);
+    when(this.playerService.findVersionById(id))
+        .thenReturn(Optional.of(new PlayerVersion(id, 4)));
+    when(this.playerService.getById(id))
+        .thenReturn(player);
+    this.mockMvc.perform(get("/players/" + id)
+        .header(HttpHeaders.IF_NONE_MATCH, "\"1.3\"")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isOk(),
+            header().string(HttpHeaders.ETAG, "\"1.4\""),
+            content().string(this.objectMapper.writeValueAsString(player)));
+  }
+
+  @Test
+  @DisplayName("getByUsername(String) - normal return")
+  final void getByUsername_normalReturn() throws Exception {
+    String username = "username";
+    PlayerSummary player = new PlayerSummary(1L, username, 1);
+    when(this.playerService.getByUsername(username))
+        .thenReturn(player);
+    this.mockMvc.perform(get("/players/byUsername?username=" + username)
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(player)));
+  }
+
+  @Test
+  @DisplayName("getByUsername(String) - player not found")
+  final void getByUsername_playerNotFound() throws Exception {
+    String username = "username";
+    PlayerNotFoundException e = new PlayerNotFoundException(username);
+    when(this.playerService.getByUsername(username))
+        .thenThrow(e);
+    this.mockMvc.perform(get("/players/byUsername?username=" + username)
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isNotFound(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().json(this.objectMapper.writeValueAsString(Map.of("error", e.getMessage()))));
+  }
+
+  @Test
+  @DisplayName("getPlayersWithBestResult() - normal return")
+  final void getPlayerWithBestResult_normalReturn() throws Exception {
+    when(this.playerService.getPlayersWithBestResult())
+        .thenReturn(this.existingPlayers);
+    this.mockMvc.perform(get("/players/withBestResult")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(this.existingPlayers)));
+  }
+
+  @Test
+  @DisplayName("getPlayersWithBestResult() - empty return")
+  final void getPlayerWithBestResult_emptyReturn() throws Exception {
+    when(this.playerService.getPlayersWithBestResult())
+        .thenReturn(Collections.emptyList());
+    this.mockMvc.perform(get("/players/withBestResult")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isOk(),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper.writeValueAsString(Collections.emptyList())));
+  }
+
+}
@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Map;
 
@@ -26,6 +27,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.guessnumbergame.playerservice.Application;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
 import com.guessnumbergame.playerservice.dto.RegistrationForm;
+import com.guessnumbergame.playerservice.exception.PasswordHashingRejectedException;
 import com.guessnumbergame.playerservice.service.RegistrationService;
 
 @SpringBootTest(classes = Application.class)
@@ -85,4 +87,27 @@ class RegistrationControllerTest {
                     Map.of("error", e.toString()))));
   }
 
+  @Test
+  @DisplayName("register(RegistrationForm) - password hashing is rejected")
+  final void register_passwordHashingRejected() throws Exception {
+    String credentials = "username:password";
+    byte[] credentialsBytes = credentials.getBytes(StandardCharsets.UTF_8);
+    String encodedCredentials = Base64.getEncoder().encodeToString(credentialsBytes);
+    RegistrationForm registrationForm = new RegistrationForm(encodedCredentials);
+    PasswordHashingRejectedException e = new PasswordHashingRejectedException(
+        Duration.ofSeconds(1));
+    when(this.registrationService.register(registrationForm))
+        .thenThrow(e);
+    this.mockMvc.perform(post("/register")
+        .accept(MediaType.APPLICATION_JSON)
+        .header("Registration", encodedCredentials))
+        .andExpectAll(
+            status().isTooManyRequests(),
+            header().string(HttpHeaders.RETRY_AFTER, "1"),
+            content().contentType(MediaType.APPLICATION_JSON),
+            content().string(this.objectMapper
+                .writeValueAsString(
+                    Map.of("error", e.getMessage()))));
+  }
+
 }
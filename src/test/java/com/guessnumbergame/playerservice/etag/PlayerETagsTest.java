@@ -0,0 +1,65 @@
+package com.guessnumbergame.playerservice.etag;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+
+@SpringBootTest(classes = Application.class)
+@DisplayName("PlayerETags")
+@Tag("etag")
+@Tag("player")
+class PlayerETagsTest {
+
+  @Autowired
+  private PlayerETags playerETags;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Test
+  @DisplayName("isNotModified(String, String) - matching tags")
+  final void isNotModified_matchingTags() {
+    assertTrue(this.playerETags.isNotModified("\"1.3\"", "\"1.3\""));
+    assertTrue(this.playerETags.isNotModified("\"1.2\", \"1.3\"", "\"1.3\""));
+    assertTrue(this.playerETags.isNotModified("W/\"a.1\"", "W/\"a.1\""));
+    assertTrue(this.playerETags.isNotModified("\"a.1\"", "W/\"a.1\""));
+    assertTrue(this.playerETags.isNotModified("*", "\"1.3\""));
+  }
+
+  @Test
+  @DisplayName("isNotModified(String, String) - not matching tags")
+  final void isNotModified_notMatchingTags() {
+    assertFalse(this.playerETags.isNotModified(null, "\"1.3\""));
+    assertFalse(this.playerETags.isNotModified("\"1.2\"", "\"1.3\""));
+    assertFalse(this.playerETags.isNotModified("1.3", "\"1.3\""));
+    assertFalse(this.playerETags.isNotModified("\"1.3", "\"1.3\""));
+  }
+
+  @Test
+  @DisplayName("forPlayers() - changed by PlayerChangeNotifiedEvent")
+  final void forPlayers_changedByPlayerChangeNotifiedEvent() {
+    String eTag = this.playerETags.forPlayers();
+    this.eventPublisher.publishEvent(new PlayerChangeNotifiedEvent(1L, "ivan", 3, false));
+    assertNotEquals(this.playerETags.forPlayers(), eTag);
+  }
+
+  @Test
+  @DisplayName("forPlayers() - changed by ChangeNotificationsMissedEvent")
+  final void forPlayers_changedByChangeNotificationsMissedEvent() {
+    String eTag = this.playerETags.forPlayers();
+    this.eventPublisher.publishEvent(new ChangeNotificationsMissedEvent());
+    assertNotEquals(this.playerETags.forPlayers(), eTag);
+  }
+
+}
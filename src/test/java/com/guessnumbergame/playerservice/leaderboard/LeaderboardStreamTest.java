@@ -0,0 +1,60 @@
+package com.guessnumbergame.playerservice.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.exception.LeaderboardStreamFullException;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+@SpringBootTest(classes = Application.class, properties = {
+    "app.leaderboard.stream.max-subscribers=1",
+    "app.leaderboard.stream.retry-after=PT3S" })
+@DisplayName("LeaderboardStream")
+@Tag("leaderboard")
+@Tag("player")
+class LeaderboardStreamTest {
+
+  @MockBean
+  private PlayerService playerService;
+
+  @Autowired
+  private LeaderboardStream leaderboardStream;
+
+  @Test
+  @DisplayName("subscribe(int) - too many subscribers")
+  @DirtiesContext
+  final void subscribe_tooManySubscribers() {
+    assertNotNull(this.leaderboardStream.subscribe(2000));
+    verify(this.playerService).getTopPlayers(1000);
+    LeaderboardStreamFullException e = assertThrows(LeaderboardStreamFullException.class,
+        () -> this.leaderboardStream.subscribe(10));
+    assertEquals(Duration.ofSeconds(3), e.getRetryAfter());
+  }
+
+  @Test
+  @DisplayName("subscribe(int) - failed subscription isn't counted")
+  @DirtiesContext
+  final void subscribe_failedSubscriptionNotCounted() {
+    when(this.playerService.getPlayersWithBestResult())
+        .thenThrow(new IllegalStateException("failed"));
+    assertThrows(IllegalStateException.class, () -> this.leaderboardStream.subscribe(10));
+    reset(this.playerService);
+    assertNotNull(this.leaderboardStream.subscribe(10));
+  }
+
+}
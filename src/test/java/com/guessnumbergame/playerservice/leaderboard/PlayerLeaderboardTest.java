@@ -0,0 +1,156 @@
+package com.guessnumbergame.playerservice.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.dto.PlayerRank;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.PlayerDeletedEvent;
+import com.guessnumbergame.playerservice.event.PlayerSavedEvent;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+
+@SpringBootTest(classes = Application.class)
+@DisplayName("PlayerLeaderboard")
+@Tag("leaderboard")
+@Tag("player")
+class PlayerLeaderboardTest {
+
+  @MockBean
+  private PlayerRepository playerRepository;
+
+  @Autowired
+  private PlayerLeaderboard playerLeaderboard;
+
+  private final List<PlayerSummary> existingPlayers;
+
+  {
+    List<PlayerSummary> players = new ArrayList<>(5);
+    players.add(new PlayerSummary(1L, "ivan", 8));
+    players.add(new PlayerSummary(6L, "pyotr", 5));
+    players.add(new PlayerSummary(11L, "nadezhda", 7));
+    players.add(new PlayerSummary(16L, "boris", 5));
+    players.add(new PlayerSummary(21L, "darya", null));
+    this.existingPlayers = Collections.unmodifiableList(players);
+  }
+
+  @BeforeEach
+  final void load() {
+    when(this.playerRepository.streamAllPlayerSummaries())
+        .thenReturn(this.existingPlayers.stream());
+    this.playerLeaderboard.load();
+  }
+
+  @Test
+  @DisplayName("load() - loaded")
+  final void load_loaded() {
+    assertTrue(this.playerLeaderboard.isLoaded());
+  }
+
+  @Test
+  @DisplayName("getPlayersWithBestResult() - normal return")
+  final void getPlayersWithBestResult_normalReturn() {
+    assertEquals(this.playerLeaderboard.getPlayersWithBestResult(),
+        List.of(this.existingPlayers.get(1), this.existingPlayers.get(3)));
+  }
+
+  @Test
+  @DisplayName("getTopPlayers(int) - normal return")
+  final void getTopPlayers_normalReturn() {
+    assertEquals(this.playerLeaderboard.getTopPlayers(3), List.of(this.existingPlayers.get(1),
+        this.existingPlayers.get(3), this.existingPlayers.get(2)));
+    assertEquals(this.playerLeaderboard.getTopPlayers(10).size(), 4);
+  }
+
+  @Test
+  @DisplayName("getRank(Long) - normal return")
+  final void getRank_normalReturn() {
+    assertEquals(this.playerLeaderboard.getRank(16L),
+        Optional.of(new PlayerRank(16L, "boris", 5, 1, 1)));
+    assertEquals(this.playerLeaderboard.getRank(11L),
+        Optional.of(new PlayerRank(11L, "nadezhda", 7, 3, 2)));
+    assertEquals(this.playerLeaderboard.getRank(1L),
+        Optional.of(new PlayerRank(1L, "ivan", 8, 4, 3)));
+    assertEquals(this.playerLeaderboard.getRank(21L),
+        Optional.of(new PlayerRank(21L, "darya", null, null, null)));
+    assertEquals(this.playerLeaderboard.getRank(2L), Optional.empty());
+  }
+
+  @Test
+  @DisplayName("getRank(Long) - rank changed by saved player")
+  final void getRank_rankChangedBySavedPlayer() {
+    this.playerLeaderboard.onPlayerSaved(new PlayerSavedEvent(new PlayerSummary(6L, "pyotr", 9)));
+    assertEquals(this.playerLeaderboard.getRank(11L),
+        Optional.of(new PlayerRank(11L, "nadezhda", 7, 2, 2)));
+    assertEquals(this.playerLeaderboard.getRank(6L),
+        Optional.of(new PlayerRank(6L, "pyotr", 9, 4, 4)));
+  }
+
+  @Test
+  @DisplayName("onPlayerSaved(PlayerSavedEvent) - new best result")
+  final void onPlayerSaved_newBestResult() {
+    PlayerSummary player = new PlayerSummary(21L, "darya", 3);
+    this.playerLeaderboard.onPlayerSaved(new PlayerSavedEvent(player));
+    assertEquals(this.playerLeaderboard.getPlayersWithBestResult(), List.of(player));
+  }
+
+  @Test
+  @DisplayName("onPlayerDeleted(PlayerDeletedEvent) - best result removed")
+  final void onPlayerDeleted_bestResultRemoved() {
+    this.playerLeaderboard.onPlayerDeleted(new PlayerDeletedEvent(6L, "pyotr"));
+    this.playerLeaderboard.onPlayerDeleted(new PlayerDeletedEvent(16L, "boris"));
+    assertEquals(this.playerLeaderboard.getPlayersWithBestResult(),
+        List.of(this.existingPlayers.get(2)));
+  }
+
+  @Test
+  @DisplayName("onPlayerChangeNotified(PlayerChangeNotifiedEvent) - notified player put")
+  final void onPlayerChangeNotified_notifiedPlayerPut() {
+    this.playerLeaderboard.onPlayerChangeNotified(new PlayerChangeNotifiedEvent(1L, "ivan", 2, false));
+    assertEquals(this.playerLeaderboard.getPlayersWithBestResult(),
+        List.of(new PlayerSummary(1L, "ivan", 2)));
+    verify(this.playerRepository, never()).findPlayerSummaryById(any());
+  }
+
+  @Test
+  @DisplayName("onPlayerChangeNotified(PlayerChangeNotifiedEvent) - deleted player removed")
+  final void onPlayerChangeNotified_deletedPlayerRemoved() {
+    this.playerLeaderboard.onPlayerChangeNotified(new PlayerChangeNotifiedEvent(6L, "pyotr", null, true));
+    assertEquals(this.playerLeaderboard.getPlayersWithBestResult(),
+        List.of(this.existingPlayers.get(3)));
+    assertEquals(this.playerLeaderboard.getRank(6L), Optional.empty());
+    verify(this.playerRepository, never()).findPlayerSummaryById(any());
+  }
+
+  @Test
+  @DisplayName("checkConsistency() - reloads differing leaderboard")
+  final void checkConsistency_reloadsDifferingLeaderboard() {
+    this.playerLeaderboard.onPlayerDeleted(new PlayerDeletedEvent(6L, "pyotr"));
+    when(this.playerRepository.findPlayerSummariesWithBestResult())
+        .thenReturn(List.of(this.existingPlayers.get(1), this.existingPlayers.get(3)));
+    when(this.playerRepository.streamAllPlayerSummaries())
+        .thenReturn(this.existingPlayers.stream());
+    this.playerLeaderboard.checkConsistency();
+    assertEquals(this.playerLeaderboard.getPlayersWithBestResult(),
+        List.of(this.existingPlayers.get(1), this.existingPlayers.get(3)));
+  }
+
+}
@@ -0,0 +1,219 @@
+package com.guessnumbergame.playerservice.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.guessnumbergame.playerservice.event.ChangeNotificationsMissedEvent;
+import com.guessnumbergame.playerservice.event.PlayerChangeNotifiedEvent;
+import com.guessnumbergame.playerservice.event.UserChangeNotifiedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ChangeNotificationListener")
+@Tag("notification")
+class ChangeNotificationListenerTest {
+
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ChangeNotificationListener listener;
+
+  @AfterEach
+  final void stopListener() {
+    if (this.listener != null) {
+      this.listener.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("publish(PGNotification[]) - malformed payloads ignored")
+  final void publish_malformedPayloadsIgnored() {
+    this.listener = createListener(() -> {
+      throw new SQLException("Not connected");
+    });
+    this.listener.publish(new PGNotification[] {
+        notification(ChangeNotificationListener.PLAYER_CHANNEL, ""),
+        notification(ChangeNotificationListener.PLAYER_CHANNEL, "U,1,3"),
+        notification(ChangeNotificationListener.PLAYER_CHANNEL, "U,1,3,"),
+        notification(ChangeNotificationListener.PLAYER_CHANNEL, "U,one,3,ivan"),
+        notification(ChangeNotificationListener.PLAYER_CHANNEL, "U,1,three,ivan") });
+    verifyNoInteractions(this.eventPublisher);
+    assertEquals(this.meterRegistry.get("notifications.received")
+        .tag("channel", ChangeNotificationListener.PLAYER_CHANNEL).counter().count(), 5);
+  }
+
+  @Test
+  @DisplayName("publish(PGNotification[]) - duplicates merged")
+  final void publish_duplicatesMerged() {
+    this.listener = createListener(() -> {
+      throw new SQLException("Not connected");
+    });
+    this.listener.publish(new PGNotification[] {
+        notification(ChangeNotificationListener.PLAYER_CHANNEL, "I,1,,ivan"),
+        notification(ChangeNotificationListener.USER_CHANNEL, "ivan"),
+        notification(ChangeNotificationListener.PLAYER_CHANNEL, "U,1,3,ivan"),
+        notification(ChangeNotificationListener.USER_CHANNEL, "ivan"),
+        notification(ChangeNotificationListener.PLAYER_CHANNEL, "D,6,,pyotr,the,great") });
+    verify(this.eventPublisher, times(1))
+        .publishEvent(new PlayerChangeNotifiedEvent(1L, "ivan", 3, false));
+    verify(this.eventPublisher, times(1))
+        .publishEvent(new PlayerChangeNotifiedEvent(6L, "pyotr,the,great", null, true));
+    verify(this.eventPublisher, times(1)).publishEvent(new UserChangeNotifiedEvent("ivan"));
+    verifyNoMoreInteractions(this.eventPublisher);
+  }
+
+  @Test
+  @DisplayName("publish(PGNotification[]) - unknown channel ignored")
+  final void publish_unknownChannelIgnored() {
+    this.listener = createListener(() -> {
+      throw new SQLException("Not connected");
+    });
+    this.listener.publish(new PGNotification[] { notification("unknown", "U,1,3,ivan") });
+    verifyNoInteractions(this.eventPublisher);
+  }
+
+  @Test
+  @DisplayName("start() - first listen made before return, missed event not published")
+  final void start_firstListenBeforeReturn() throws Exception {
+    PGConnection pgConnection = pgConnection();
+    Connection connection = connection(pgConnection);
+    this.listener = createListener(() -> connection);
+    this.listener.start();
+    verify(connection, times(1)).createStatement();
+    verify(pgConnection, timeout(TIMEOUT_MILLIS).atLeast(2)).getNotifications(anyInt());
+    verify(this.eventPublisher, never()).publishEvent(new ChangeNotificationsMissedEvent());
+  }
+
+  @Test
+  @DisplayName("start() - missed event published after failed first listen")
+  final void start_missedEventPublishedAfterFailedFirstListen() throws Exception {
+    Connection failingConnection = mock(Connection.class);
+    when(failingConnection.createStatement()).thenThrow(new SQLException("Connection refused"));
+    Connection connection = connection(pgConnection());
+    ChangeNotificationListener.ConnectionFactory connectionFactory = mock(
+        ChangeNotificationListener.ConnectionFactory.class);
+    when(connectionFactory.open()).thenReturn(failingConnection, connection);
+    this.listener = createListener(connectionFactory);
+    this.listener.start();
+    verify(this.eventPublisher, timeout(TIMEOUT_MILLIS).times(1))
+        .publishEvent(new ChangeNotificationsMissedEvent());
+    verify(connectionFactory, times(2)).open();
+    verify(failingConnection).close();
+  }
+
+  @Test
+  @DisplayName("start() - missed event published after reconnection")
+  final void start_missedEventPublishedAfterReconnection() throws Exception {
+    PGConnection lostPgConnection = mock(PGConnection.class);
+    when(lostPgConnection.getNotifications(anyInt())).thenThrow(new SQLException("Connection lost"));
+    Connection lostConnection = connection(lostPgConnection);
+    Connection connection = connection(pgConnection());
+    ChangeNotificationListener.ConnectionFactory connectionFactory = mock(
+        ChangeNotificationListener.ConnectionFactory.class);
+    when(connectionFactory.open()).thenReturn(lostConnection, connection);
+    this.listener = createListener(connectionFactory);
+    this.listener.start();
+    verify(this.eventPublisher, timeout(TIMEOUT_MILLIS).times(1))
+        .publishEvent(new ChangeNotificationsMissedEvent());
+    verify(connectionFactory, times(2)).open();
+    verify(lostConnection).close();
+    assertEquals(this.meterRegistry.get("notifications.reconnections").counter().count(), 1);
+  }
+
+  @Test
+  @DisplayName("start() - notifications received during missed event")
+  final void start_notificationsReceivedDuringMissedEvent() throws Exception {
+    CountDownLatch reloaded = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      reloaded.await();
+      return null;
+    }).when(this.eventPublisher).publishEvent(new ChangeNotificationsMissedEvent());
+    PGNotification notification = notification(ChangeNotificationListener.PLAYER_CHANNEL,
+        "U,1,3,ivan");
+    PGConnection pgConnection = pgConnection();
+    when(pgConnection.getNotifications(anyInt()))
+        .thenReturn(new PGNotification[] { notification })
+        .then(emptyPoll());
+    Connection connection = connection(pgConnection);
+    ChangeNotificationListener.ConnectionFactory connectionFactory = mock(
+        ChangeNotificationListener.ConnectionFactory.class);
+    when(connectionFactory.open())
+        .thenThrow(new SQLException("Connection refused"))
+        .thenReturn(connection);
+    this.listener = createListener(connectionFactory);
+    this.listener.start();
+    try {
+      verify(this.eventPublisher, timeout(TIMEOUT_MILLIS))
+          .publishEvent(new PlayerChangeNotifiedEvent(1L, "ivan", 3, false));
+    } finally {
+      reloaded.countDown();
+    }
+  }
+
+  private ChangeNotificationListener createListener(
+      ChangeNotificationListener.ConnectionFactory connectionFactory) {
+    return new ChangeNotificationListener(connectionFactory, this.eventPublisher,
+        this.meterRegistry, Duration.ofMillis(10), Duration.ofMillis(10));
+  }
+
+  private static Connection connection(PGConnection pgConnection) throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(connection.isValid(anyInt())).thenReturn(true);
+    return connection;
+  }
+
+  private static PGConnection pgConnection() throws SQLException {
+    PGConnection pgConnection = mock(PGConnection.class);
+    when(pgConnection.getNotifications(anyInt())).then(emptyPoll());
+    return pgConnection;
+  }
+
+  private static Answer<PGNotification[]> emptyPoll() {
+    return invocation -> {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    };
+  }
+
+  private static PGNotification notification(String channel, String payload) {
+    PGNotification notification = mock(PGNotification.class);
+    when(notification.getName()).thenReturn(channel);
+    when(notification.getParameter()).thenReturn(payload);
+    return notification;
+  }
+
+}
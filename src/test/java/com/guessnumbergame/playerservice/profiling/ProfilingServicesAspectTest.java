@@ -0,0 +1,88 @@
+package com.guessnumbergame.playerservice.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(classes = Application.class, properties = "app.profiling.services=true")
+@DisplayName("ProfilingServicesAspect")
+@Tag("profiling")
+class ProfilingServicesAspectTest {
+
+  @MockBean
+  private PlayerRepository playerRepository;
+
+  @Autowired
+  private PlayerService playerService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private ProfilingEndpoint profilingEndpoint;
+
+  @Test
+  @DisplayName("profilingAdvice(ProceedingJoinPoint) - normal return")
+  final void profilingAdvice_normalReturn() throws Exception {
+    when(this.playerRepository.findAllPlayerSummaries())
+        .thenReturn(List.of());
+    this.playerService.getAll();
+    Timer timer = this.meterRegistry.find("profiling.services")
+        .tags("class", "DefaultPlayerService", "method", "getAll")
+        .timer();
+    assertNotNull(timer);
+    long count = timer.count();
+    this.playerService.getAll();
+    assertEquals(count + 1, timer.count());
+  }
+
+  @Test
+  @DisplayName("profilingAdvice(ProceedingJoinPoint) - exception")
+  final void profilingAdvice_exception() throws Exception {
+    when(this.playerRepository.findPlayerSummaryById(-1L))
+        .thenReturn(Optional.empty());
+    assertThrows(PlayerNotFoundException.class, () -> this.playerService.getById(-1L));
+    Counter counter = this.meterRegistry.find("profiling.services.exceptions")
+        .tags("class", "DefaultPlayerService", "method", "getById",
+            "exception", "PlayerNotFoundException")
+        .counter();
+    assertNotNull(counter);
+    double count = counter.count();
+    assertThrows(PlayerNotFoundException.class, () -> this.playerService.getById(-1L));
+    assertEquals(count + 1, counter.count());
+  }
+
+  @Test
+  @DisplayName("slowestInvocations() - sampled invocation")
+  final void slowestInvocations_sampledInvocation() throws Exception {
+    when(this.playerRepository.findAllPlayerSummaries())
+        .thenReturn(List.of());
+    this.playerService.getAll();
+    List<ProfiledInvocation> invocations = this.profilingEndpoint.slowestInvocations()
+        .get("services")
+        .get("DefaultPlayerService.getAll");
+    assertNotNull(invocations);
+    assertEquals("[]", invocations.get(0).getArguments());
+  }
+
+}
@@ -1,12 +1,28 @@
 package com.guessnumbergame.playerservice.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -14,11 +30,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.guessnumbergame.playerservice.Application;
 import com.guessnumbergame.playerservice.config.test.PlayerRepositoryTestConfig;
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerChange;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerUpdate;
+import com.guessnumbergame.playerservice.dto.User;
 
 @SpringBootTest(classes = Application.class)
 @DisplayName("PlayerRepository")
@@ -30,16 +55,22 @@ class PlayerRepositoryTest {
   @Autowired
   private PlayerRepository playerRepository;
 
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
   private final List<PlayerSummary> existingPlayers;
 
   private final List<PlayerSummary> existingPlayersWithBestResult;
 
   {
     PlayerSummary player1 = new PlayerSummary(1L, "ivan", 8);
-    PlayerSummary player2 = new PlayerSummary(6L, "pyotr", 5);
-    PlayerSummary player3 = new PlayerSummary(11L, "nadezhda", 7);
-    PlayerSummary player4 = new PlayerSummary(16L, "boris", 5);
-    PlayerSummary player5 = new PlayerSummary(21L, "darya", null);
+    PlayerSummary player2 = new PlayerSummary(51L, "pyotr", 5);
+    PlayerSummary player3 = new PlayerSummary(101L, "nadezhda", 7);
+    PlayerSummary player4 = new PlayerSummary(151L, "boris", 5);
+    PlayerSummary player5 = new PlayerSummary(201L, "darya", null);
 
     List<PlayerSummary> players = new ArrayList<>(5);
     Collections.addAll(players, player1, player2, player3, player4, player5);
@@ -96,6 +127,226 @@ class PlayerRepositoryTest {
         && this.existingPlayersWithBestResult.containsAll(playersWithBestResult));
   }
 
+  @Test
+  @DisplayName("findExistingUsernames(Collection) - normal return")
+  final void findExistingUsernames_normalReturn() {
+    List<String> usernames = this.playerRepository
+        .findExistingUsernames(List.of("ivan", "notExistingUsername", "darya"));
+    assertEquals(Set.copyOf(usernames), Set.of("ivan", "darya"));
+  }
+
+  @Test
+  @DisplayName("improveBestResults(SortedMap) - normal return")
+  @Transactional
+  final void improveBestResults_normalReturn() {
+    List<PlayerSummary> changedPlayers = this.playerRepository
+        .improveBestResults(new TreeMap<>(Map.of(1L, 6, 51L, 6, 201L, 9)));
+    assertEquals(Set.copyOf(changedPlayers), Set.of(
+        new PlayerSummary(1L, "ivan", 6),
+        new PlayerSummary(201L, "darya", 9)));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int, String) - improved by owner")
+  @Transactional
+  final void improveBestResult_improvedByOwner() {
+    assertEquals(this.playerRepository.improveBestResult(1L, 6, "ivan"),
+        new BestResultUpdate(BestResultUpdate.Status.IMPROVED, new PlayerSummary(1L, "ivan", 6)));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int, String) - not improved")
+  @Transactional
+  final void improveBestResult_notImproved() {
+    assertEquals(this.playerRepository.improveBestResult(51L, 6, null),
+        new BestResultUpdate(BestResultUpdate.Status.NOT_IMPROVED,
+            new PlayerSummary(51L, "pyotr", 5)));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int, String) - not permitted")
+  @Transactional
+  final void improveBestResult_notPermitted() {
+    assertEquals(this.playerRepository.improveBestResult(1L, 6, "pyotr").getStatus(),
+        BestResultUpdate.Status.NOT_PERMITTED);
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int, String) - not found")
+  @Transactional
+  final void improveBestResult_notFound() {
+    assertEquals(this.playerRepository.improveBestResult(0L, 6, null).getStatus(),
+        BestResultUpdate.Status.NOT_FOUND);
+  }
+
+  @Test
+  @DisplayName("updateBestAttemptsCount(Long, Integer, boolean, Integer, String) - updated")
+  @Transactional
+  final void updateBestAttemptsCount_updated() {
+    Integer version = this.playerRepository.findPlayerVersionById(1L).orElseThrow().getVersion();
+    assertEquals(this.playerRepository.updateBestAttemptsCount(1L, 6, false, version, "ivan"),
+        new PlayerUpdate(PlayerUpdate.Status.UPDATED, new PlayerSummary(1L, "ivan", 6),
+            version + 1));
+  }
+
+  @Test
+  @DisplayName("updateBestAttemptsCount(Long, Integer, boolean, Integer, String) - partial")
+  @Transactional
+  final void updateBestAttemptsCount_partial() {
+    PlayerUpdate update = this.playerRepository.updateBestAttemptsCount(51L, null, true, null,
+        null);
+    assertEquals(update.getStatus(), PlayerUpdate.Status.UPDATED);
+    assertEquals(update.getPlayer(), new PlayerSummary(51L, "pyotr", 5));
+  }
+
+  @Test
+  @DisplayName(
+      "updateBestAttemptsCount(Long, Integer, boolean, Integer, String) - version mismatch")
+  @Transactional
+  final void updateBestAttemptsCount_versionMismatch() {
+    Integer version = this.playerRepository.findPlayerVersionById(1L).orElseThrow().getVersion();
+    assertEquals(this.playerRepository.updateBestAttemptsCount(1L, 6, false, version + 1, null)
+        .getStatus(), PlayerUpdate.Status.VERSION_MISMATCH);
+    assertEquals(this.playerRepository.findPlayerVersionById(1L).orElseThrow().getVersion(),
+        version);
+  }
+
+  @Test
+  @DisplayName("updateBestAttemptsCount(Long, Integer, boolean, Integer, String) - not permitted")
+  @Transactional
+  final void updateBestAttemptsCount_notPermitted() {
+    assertEquals(this.playerRepository.updateBestAttemptsCount(1L, 6, false, null, "pyotr")
+        .getStatus(), PlayerUpdate.Status.NOT_PERMITTED);
+  }
+
+  @Test
+  @DisplayName("updateBestAttemptsCount(Long, Integer, boolean, Integer, String) - not found")
+  @Transactional
+  final void updateBestAttemptsCount_notFound() {
+    assertEquals(this.playerRepository.updateBestAttemptsCount(0L, 6, false, null, null)
+        .getStatus(), PlayerUpdate.Status.NOT_FOUND);
+  }
+
+  @Test
+  @DisplayName("findChanges(Instant, Long, Instant, int) - all players")
+  @Transactional
+  final void findChanges_allPlayers() {
+    List<PlayerChange> changes = this.playerRepository.findChanges(Instant.EPOCH, 0L,
+        Instant.now().plusSeconds(60L), 10);
+    assertEquals(changes.stream()
+        .map(change -> new PlayerSummary(change.getId(), change.getUsername(),
+            change.getBestAttemptsCount()))
+        .collect(Collectors.toSet()), Set.copyOf(this.existingPlayers));
+    assertTrue(changes.stream().noneMatch(PlayerChange::isDeleted));
+  }
+
+  @Test
+  @DisplayName("findChanges(Instant, Long, Instant, int) - deleted player")
+  @Transactional
+  final void findChanges_deletedPlayer() {
+    List<PlayerChange> changes = this.playerRepository.findChanges(Instant.EPOCH, 0L,
+        Instant.now().plusSeconds(60L), 10);
+    PlayerChange lastChange = changes.get(changes.size() - 1);
+    this.playerRepository.deleteById(51L);
+    List<PlayerChange> newChanges = this.playerRepository.findChanges(lastChange.getChanged(),
+        lastChange.getId(), Instant.now().plusSeconds(60L), 10);
+    assertEquals(newChanges.size(), 1);
+    assertEquals(newChanges.get(0).getId(), 51L);
+    assertEquals(newChanges.get(0).getUsername(), "pyotr");
+    assertTrue(newChanges.get(0).isDeleted());
+  }
+
+  @Test
+  @DisplayName("findChanges(Instant, Long, Instant, int) - limit")
+  @Transactional
+  final void findChanges_limit() {
+    assertEquals(this.playerRepository.findChanges(Instant.EPOCH, 0L,
+        Instant.now().plusSeconds(60L), 2).size(), 2);
+  }
+
+  @Test
+  @DisplayName("findChangesWatermark(Duration) - change committed after the watermark")
+  @DirtiesContext
+  final void findChangesWatermark_changeCommittedAfterWatermark() throws Exception {
+    Instant watermark;
+    try (Connection connection = this.dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (Statement statement = connection.createStatement()) {
+        statement.executeUpdate("UPDATE player SET best_attempts_count = 3 WHERE id = 1");
+      }
+      Thread.sleep(100L);
+      watermark = this.playerRepository.findChangesWatermark(Duration.ZERO);
+      connection.commit();
+    }
+    List<PlayerChange> changes = this.playerRepository.findChanges(
+        watermark.minus(1L, ChronoUnit.MICROS), Long.MAX_VALUE, Instant.now().plusSeconds(60L),
+        10);
+    assertEquals(changes.stream()
+        .map(change -> new PlayerSummary(change.getId(), change.getUsername(),
+            change.getBestAttemptsCount()))
+        .toList(), List.of(new PlayerSummary(1L, "ivan", 3)));
+  }
+
+  @Test
+  @DisplayName("excludeFromChangesWatermark() - read-only scan doesn't hold the watermark")
+  final void excludeFromChangesWatermark_scanDoesNotHoldWatermark() throws Exception {
+    CountDownLatch excluded = new CountDownLatch(1);
+    CountDownLatch watermarkFound = new CountDownLatch(1);
+    TransactionTemplate readOnlyTemplate = new TransactionTemplate(this.transactionManager);
+    readOnlyTemplate.setReadOnly(true);
+    CompletableFuture<Instant> scanStarted = CompletableFuture.supplyAsync(
+        () -> readOnlyTemplate.execute(status -> {
+          this.playerRepository.excludeFromChangesWatermark();
+          Instant started = new JdbcTemplate(this.dataSource)
+              .queryForObject("SELECT now()", OffsetDateTime.class).toInstant();
+          excluded.countDown();
+          try {
+            watermarkFound.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return started;
+        }));
+    Instant watermark;
+    try {
+      excluded.await();
+      Thread.sleep(100L);
+      watermark = this.playerRepository.findChangesWatermark(Duration.ZERO);
+    } finally {
+      watermarkFound.countDown();
+    }
+    assertTrue(watermark.isAfter(scanStarted.get()));
+  }
+
+  @Test
+  @DisplayName("deleteTombstonesBefore(Instant) - normal return")
+  @Transactional
+  final void deleteTombstonesBefore_normalReturn() {
+    this.playerRepository.deleteById(51L);
+    assertEquals(this.playerRepository.deleteTombstonesBefore(Instant.EPOCH), 0);
+    assertEquals(this.playerRepository.deleteTombstonesBefore(Instant.now().plusSeconds(60L)), 1);
+  }
+
+  @Test
+  @DisplayName("createWithUser(UserDetails) - normal return")
+  @Transactional
+  final void createWithUser_normalReturn() {
+    PlayerSummary player = this.playerRepository
+        .createWithUser(new User("registered", "password", "ROLE_USER"));
+    assertEquals(player.getUsername(), "registered");
+    assertNull(player.getBestAttemptsCount());
+    assertEquals(this.playerRepository.findPlayerSummaryByUsername("registered"),
+        Optional.of(player));
+  }
+
+  @Test
+  @DisplayName("createWithUser(UserDetails) - duplicating username")
+  @Transactional
+  final void createWithUser_duplicatingUsername() {
+    assertThrows(DuplicateKeyException.class, () -> this.playerRepository
+        .createWithUser(new User("admin", "password", "ROLE_USER")));
+  }
+
   @Test
   @DisplayName("deleteById(Long) - normal return")
   @DirtiesContext
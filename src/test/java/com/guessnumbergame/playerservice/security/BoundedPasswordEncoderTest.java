@@ -0,0 +1,86 @@
+package com.guessnumbergame.playerservice.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.exception.PasswordHashingRejectedException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(classes = Application.class)
+@DisplayName("BoundedPasswordEncoder")
+@Tag("security")
+class BoundedPasswordEncoderTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private MeterRegistry meterRegistry;
+
+  private BoundedPasswordEncoder boundedPasswordEncoder;
+
+  @BeforeEach
+  final void createEncoder() {
+    PasswordEncoder delegate = mock(PasswordEncoder.class);
+    when(delegate.encode(any())).thenReturn("encoded");
+    when(delegate.matches(any(), anyString())).thenAnswer(invocation -> {
+      return this.release.await(10, TimeUnit.SECONDS);
+    });
+    this.meterRegistry = new SimpleMeterRegistry();
+    this.boundedPasswordEncoder = new BoundedPasswordEncoder(delegate, 1, 1,
+        Duration.ofSeconds(2), this.meterRegistry);
+  }
+
+  @AfterEach
+  final void closeEncoder() {
+    this.release.countDown();
+    this.boundedPasswordEncoder.close();
+  }
+
+  @Test
+  @DisplayName("encode(CharSequence) - normal return")
+  final void encode_normalReturn() {
+    assertEquals("encoded", this.boundedPasswordEncoder.encode("password"));
+    assertEquals(1, this.meterRegistry.get("password.hashing")
+        .tag("operation", "encode").timer().count());
+  }
+
+  @Test
+  @DisplayName("matches(CharSequence, String) - the pool is saturated")
+  final void matches_poolIsSaturated() throws Exception {
+    CompletableFuture<Boolean> running = CompletableFuture
+        .supplyAsync(() -> this.boundedPasswordEncoder.matches("password", "encoded"));
+    CompletableFuture<Boolean> queued = CompletableFuture
+        .supplyAsync(() -> this.boundedPasswordEncoder.matches("password", "encoded"));
+    while (this.meterRegistry.get("executor.queued").gauge().value() < 1) {
+      Thread.sleep(10);
+    }
+    PasswordHashingRejectedException e = assertThrows(PasswordHashingRejectedException.class,
+        () -> this.boundedPasswordEncoder.matches("password", "encoded"));
+    assertEquals(Duration.ofSeconds(2), e.getRetryAfter());
+    assertEquals(1.0, this.meterRegistry.get("password.hashing.rejections").counter().count());
+    this.release.countDown();
+    assertTrue(running.get(10, TimeUnit.SECONDS));
+    assertTrue(queued.get(10, TimeUnit.SECONDS));
+  }
+
+}
@@ -0,0 +1,118 @@
+package com.guessnumbergame.playerservice.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.UserDetailsManager;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.event.UserChangedEvent;
+
+@SpringBootTest(classes = Application.class,
+    properties = "app.security.credentials-cache.enabled=true")
+@DisplayName("CachingAuthenticationProvider")
+@Tag("security")
+class CachingAuthenticationProviderTest {
+
+  @Autowired
+  private CachingAuthenticationProvider cachingAuthenticationProvider;
+
+  @Autowired
+  private UserDetailsManager userDetailsManager;
+
+  @SpyBean
+  private PasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  final void evictAdmin() {
+    this.cachingAuthenticationProvider.onUserChanged(new UserChangedEvent("admin"));
+    clearInvocations(this.passwordEncoder);
+  }
+
+  @Test
+  @DisplayName("authenticate(Authentication) - the password is verified once")
+  final void authenticate_cached() {
+    Authentication first = this.cachingAuthenticationProvider
+        .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+    Authentication second = this.cachingAuthenticationProvider
+        .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+    verify(this.passwordEncoder, times(1)).matches(any(), anyString());
+    assertTrue(second.isAuthenticated());
+    assertEquals(first.getName(), second.getName());
+    assertEquals(AuthorityUtils.authorityListToSet(first.getAuthorities()),
+        AuthorityUtils.authorityListToSet(second.getAuthorities()));
+  }
+
+  @Test
+  @DisplayName("authenticate(Authentication) - bad credentials aren't cached")
+  final void authenticate_badCredentials() {
+    for (int i = 0; i < 2; i++) {
+      assertThrows(BadCredentialsException.class, () -> this.cachingAuthenticationProvider
+          .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "wrong")));
+    }
+    verify(this.passwordEncoder, times(2)).matches(any(), anyString());
+  }
+
+  @Test
+  @DisplayName("onUserChanged(UserChangedEvent) - the password is verified again")
+  final void onUserChanged_evicted() {
+    this.cachingAuthenticationProvider
+        .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+    this.cachingAuthenticationProvider.onUserChanged(new UserChangedEvent("admin"));
+    this.cachingAuthenticationProvider
+        .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+    verify(this.passwordEncoder, times(2)).matches(any(), anyString());
+  }
+
+  @Test
+  @DisplayName("onUserChanged(UserChangedEvent) - other users stay cached")
+  final void onUserChanged_otherUserNotEvicted() {
+    this.cachingAuthenticationProvider
+        .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+    this.cachingAuthenticationProvider.onUserChanged(new UserChangedEvent("otherUser"));
+    this.cachingAuthenticationProvider
+        .authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin"));
+    verify(this.passwordEncoder, times(1)).matches(any(), anyString());
+  }
+
+  @Test
+  @DisplayName("authenticate(Authentication) - the password is rehashed")
+  final void authenticate_rehashed() {
+    String legacyPassword = new BCryptPasswordEncoder(4).encode("password");
+    this.userDetailsManager.createUser(
+        User.withUsername("rehashedUser").password(legacyPassword).roles("USER").build());
+    try {
+      this.cachingAuthenticationProvider.authenticate(
+          UsernamePasswordAuthenticationToken.unauthenticated("rehashedUser", "password"));
+      String storedPassword = this.userDetailsManager.loadUserByUsername("rehashedUser")
+          .getPassword();
+      assertTrue(storedPassword.startsWith("{bcrypt}"));
+      assertFalse(this.passwordEncoder.upgradeEncoding(storedPassword));
+      assertTrue(this.passwordEncoder.matches("password", storedPassword));
+    } finally {
+      this.userDetailsManager.deleteUser("rehashedUser");
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+package com.guessnumbergame.playerservice.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.JdbcUserDetailsManager;
+
+import com.guessnumbergame.playerservice.Application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(classes = Application.class)
+@DisplayName("CachingUserDetailsManager")
+@Tag("security")
+class CachingUserDetailsManagerTest {
+
+  @Autowired
+  private DataSource dataSource;
+
+  private MeterRegistry meterRegistry;
+
+  private CachingUserDetailsManager cachingUserDetailsManager;
+
+  @BeforeEach
+  final void createManager() {
+    this.meterRegistry = new SimpleMeterRegistry();
+    this.cachingUserDetailsManager = new CachingUserDetailsManager(
+        new JdbcUserDetailsManager(this.dataSource), this.meterRegistry, Duration.ofMinutes(1),
+        100);
+  }
+
+  @Test
+  @DisplayName("loadUserByUsername(String) - loaded with authorities and cached")
+  final void loadUserByUsername_cached() {
+    UserDetails first = this.cachingUserDetailsManager.loadUserByUsername("admin");
+    UserDetails second = this.cachingUserDetailsManager.loadUserByUsername("admin");
+    assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"),
+        AuthorityUtils.authorityListToSet(first.getAuthorities()));
+    assertEquals(first, second);
+    assertEquals(1.0, this.meterRegistry.get("cache.gets")
+        .tag("cache", "users").tag("result", "hit").functionCounter().count());
+    assertEquals(0.5, this.meterRegistry.get("cache.hit.ratio")
+        .tag("cache", "users").gauge().value());
+  }
+
+  @Test
+  @DisplayName("loadUserByUsername(String) - erasing the credentials doesn't affect the cache")
+  final void loadUserByUsername_credentialsErased() {
+    ((User) this.cachingUserDetailsManager.loadUserByUsername("admin")).eraseCredentials();
+    assertNotNull(this.cachingUserDetailsManager.loadUserByUsername("admin").getPassword());
+  }
+
+  @Test
+  @DisplayName("loadUserByUsername(String) - not found")
+  final void loadUserByUsername_notFound() {
+    assertThrows(UsernameNotFoundException.class,
+        () -> this.cachingUserDetailsManager.loadUserByUsername("unknown"));
+  }
+
+  @Test
+  @DisplayName("updateUser(UserDetails), deleteUser(String) - evicted")
+  final void updateUserAndDeleteUser_evicted() {
+    this.cachingUserDetailsManager.createUser(
+        User.withUsername("cachedUser").password("password").roles("USER").build());
+    try {
+      this.cachingUserDetailsManager.loadUserByUsername("cachedUser");
+      this.cachingUserDetailsManager.updateUser(
+          User.withUsername("cachedUser").password("password").roles("USER", "ADMIN").build());
+      assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), AuthorityUtils.authorityListToSet(
+          this.cachingUserDetailsManager.loadUserByUsername("cachedUser").getAuthorities()));
+    } finally {
+      this.cachingUserDetailsManager.deleteUser("cachedUser");
+    }
+    assertThrows(UsernameNotFoundException.class,
+        () -> this.cachingUserDetailsManager.loadUserByUsername("cachedUser"));
+  }
+
+  @Test
+  @DisplayName("userExists(String) - cached user deleted elsewhere doesn't exist")
+  final void userExists_cachedUserDeletedElsewhere() {
+    JdbcUserDetailsManager otherManager = new JdbcUserDetailsManager(this.dataSource);
+    otherManager.createUser(
+        User.withUsername("cachedUser").password("password").roles("USER").build());
+    try {
+      this.cachingUserDetailsManager.loadUserByUsername("cachedUser");
+    } finally {
+      otherManager.deleteUser("cachedUser");
+    }
+    assertFalse(this.cachingUserDetailsManager.userExists("cachedUser"));
+  }
+
+}
@@ -0,0 +1,54 @@
+package com.guessnumbergame.playerservice.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.guessnumbergame.playerservice.Application;
+
+@SpringBootTest(classes = Application.class)
+@DisplayName("CalibratedBCryptPasswordEncoder")
+@Tag("security")
+class CalibratedBCryptPasswordEncoderTest {
+
+  @Test
+  @DisplayName("calibrate(Duration, int, int) - limited by the maximum strength")
+  final void calibrate_maxStrength() {
+    CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder
+        .calibrate(Duration.ofHours(1), 4, 6);
+    assertEquals(6, encoder.getStrength());
+  }
+
+  @Test
+  @DisplayName("calibrate(Duration, int, int) - limited by the minimum strength")
+  final void calibrate_minStrength() {
+    CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder
+        .calibrate(Duration.ZERO, 4, 6);
+    assertEquals(4, encoder.getStrength());
+  }
+
+  @Test
+  @DisplayName("upgradeEncoding(String) - another strength")
+  final void upgradeEncoding_anotherStrength() {
+    CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+    assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+    assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+  }
+
+  @Test
+  @DisplayName("upgradeEncoding(String) - the same strength")
+  final void upgradeEncoding_sameStrength() {
+    CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+    assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+    assertFalse(encoder.upgradeEncoding("not a bcrypt hash"));
+  }
+
+}
@@ -2,30 +2,65 @@ package com.guessnumbergame.playerservice.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.bloom.PlayerUsernameFilter;
+import com.guessnumbergame.playerservice.buffer.BestResultBuffer;
+import com.guessnumbergame.playerservice.dto.BestResult;
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerBatchResult;
+import com.guessnumbergame.playerservice.dto.PlayerChange;
+import com.guessnumbergame.playerservice.dto.PlayerChanges;
+import com.guessnumbergame.playerservice.dto.PlayerPage;
+import com.guessnumbergame.playerservice.dto.PlayerRank;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.dto.PlayerUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerVersion;
 import com.guessnumbergame.playerservice.entity.PlayerEntity;
+import com.guessnumbergame.playerservice.exception.BadPlayerCursorException;
+import com.guessnumbergame.playerservice.exception.PlayerChangesExpiredException;
 import com.guessnumbergame.playerservice.exception.PlayerNotFoundException;
+import com.guessnumbergame.playerservice.exception.PlayerVersionMismatchException;
+import com.guessnumbergame.playerservice.leaderboard.PlayerLeaderboard;
 import com.guessnumbergame.playerservice.mapper.PlayerMapper;
 import com.guessnumbergame.playerservice.repository.PlayerRepository;
 
@@ -41,9 +76,24 @@ class DefaultPlayerServiceTest {
   @MockBean
   private PlayerMapper playerMapper;
 
+  @MockBean
+  private PlayerLeaderboard playerLeaderboard;
+
+  @MockBean
+  private PlayerUsernameFilter playerUsernameFilter;
+
+  @MockBean
+  private BestResultBuffer bestResultBuffer;
+
+  @SpyBean
+  private PlatformTransactionManager transactionManager;
+
   @Autowired
   private DefaultPlayerService playerService;
 
+  @Autowired
+  private CacheManager cacheManager;
+
   private final List<PlayerSummary> existingPlayers;
 
   {
@@ -54,6 +104,14 @@ class DefaultPlayerServiceTest {
     this.existingPlayers = Collections.unmodifiableList(players);
   }
 
+  @BeforeEach
+  final void setUp() {
+    this.cacheManager.getCacheNames()
+        .forEach(name -> this.cacheManager.getCache(name).clear());
+    when(this.playerUsernameFilter.mightContain(any()))
+        .thenReturn(true);
+  }
+
   @Test
   @DisplayName("getAll() - normal return")
   final void getAll_normalReturn() throws Exception {
@@ -72,6 +130,102 @@ class DefaultPlayerServiceTest {
     assertIterableEquals(players, Collections.emptyList());
   }
 
+  @Test
+  @DisplayName("getPage(String, int) - first page with next cursor")
+  final void getPage_firstPageWithNextCursor() throws Exception {
+    when(this.playerRepository.findPlayerSummariesAfterId(eq(0L), any()))
+        .thenReturn(this.existingPlayers);
+    PlayerPage page = this.playerService.getPage(null, 2);
+    assertIterableEquals(page.getPlayers(), this.existingPlayers.subList(0, 2));
+    PlayerPage nextPage = new PlayerPage(this.existingPlayers.subList(2, 3), null);
+    when(this.playerRepository.findPlayerSummariesAfterId(eq(2L), any()))
+        .thenReturn(nextPage.getPlayers());
+    assertEquals(this.playerService.getPage(page.getNextCursor(), 2), nextPage);
+  }
+
+  @Test
+  @DisplayName("getPage(String, int) - last page")
+  final void getPage_lastPage() throws Exception {
+    when(this.playerRepository.findPlayerSummariesAfterId(eq(0L), any()))
+        .thenReturn(this.existingPlayers);
+    PlayerPage page = this.playerService.getPage(null, 3);
+    assertIterableEquals(page.getPlayers(), this.existingPlayers);
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("getPage(String, int) - bad cursor")
+  final void getPage_badCursor() throws Exception {
+    assertThrows(BadPlayerCursorException.class, () -> this.playerService.getPage("abc", 2));
+  }
+
+  @Test
+  @DisplayName("getChanges(String, int) - with more changes")
+  final void getChanges_withMoreChanges() throws Exception {
+    Instant changed = Instant.now().minusSeconds(60L);
+    List<PlayerChange> changes = List.of(
+        new PlayerChange(1L, "username1", 1, 2, false, changed),
+        new PlayerChange(2L, "username2", null, null, true, changed),
+        new PlayerChange(3L, "username3", 3, 1, false, changed.plusSeconds(1L)));
+    when(this.playerRepository.findChangesWatermark(any()))
+        .thenReturn(Instant.now().minusSeconds(5L));
+    when(this.playerRepository.findChanges(eq(Instant.EPOCH), eq(0L), any(), eq(3)))
+        .thenReturn(changes);
+    PlayerChanges firstChanges = this.playerService.getChanges(null, 2);
+    assertIterableEquals(firstChanges.getChanges(), changes.subList(0, 2));
+    assertTrue(firstChanges.isHasMore());
+    when(this.playerRepository.findChanges(eq(changed), eq(2L), any(), eq(3)))
+        .thenReturn(changes.subList(2, 3));
+    PlayerChanges nextChanges = this.playerService.getChanges(firstChanges.getNextSince(), 2);
+    assertIterableEquals(nextChanges.getChanges(), changes.subList(2, 3));
+    assertFalse(nextChanges.isHasMore());
+  }
+
+  @Test
+  @DisplayName("getChanges(String, int) - token moved without changes")
+  final void getChanges_tokenMovedWithoutChanges() throws Exception {
+    when(this.playerRepository.findChangesWatermark(any()))
+        .thenReturn(Instant.now().minusSeconds(5L));
+    when(this.playerRepository.findChanges(any(), any(), any(), anyInt()))
+        .thenReturn(List.of());
+    PlayerChanges changes = this.playerService.getChanges(null, 2);
+    assertTrue(changes.getChanges().isEmpty());
+    assertFalse(changes.isHasMore());
+    this.playerService.getChanges(changes.getNextSince(), 2);
+    verify(this.playerRepository).findChanges(any(), eq(Long.MAX_VALUE), any(), eq(3));
+  }
+
+  @Test
+  @DisplayName("getChanges(String, int) - bad token")
+  final void getChanges_badToken() throws Exception {
+    assertThrows(BadPlayerCursorException.class, () -> this.playerService.getChanges("abc", 2));
+  }
+
+  @Test
+  @DisplayName("getChanges(String, int) - expired token")
+  final void getChanges_expiredToken() throws Exception {
+    String since = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString("0:1".getBytes(StandardCharsets.UTF_8));
+    when(this.playerRepository.findChangesWatermark(any()))
+        .thenReturn(Instant.now());
+    assertThrows(PlayerChangesExpiredException.class,
+        () -> this.playerService.getChanges(since, 2));
+  }
+
+  @Test
+  @DisplayName("getChanges(String, int) - token expiry measured by the database clock")
+  final void getChanges_expiryByDatabaseClock() throws Exception {
+    Instant watermark = Instant.parse("2000-01-01T00:00:00Z");
+    long changedMicros = ChronoUnit.MICROS.between(Instant.EPOCH, watermark.minusSeconds(60L));
+    String since = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((changedMicros + ":1").getBytes(StandardCharsets.UTF_8));
+    when(this.playerRepository.findChangesWatermark(any()))
+        .thenReturn(watermark);
+    when(this.playerRepository.findChanges(any(), any(), any(), anyInt()))
+        .thenReturn(List.of());
+    assertTrue(this.playerService.getChanges(since, 2).getChanges().isEmpty());
+  }
+
   @Test
   @DisplayName("getById(Long) - normal return")
   final void getById_normalReturn() throws Exception {
@@ -91,6 +245,18 @@ class DefaultPlayerServiceTest {
     assertThrows(PlayerNotFoundException.class, () -> this.playerService.getById(id));
   }
 
+  @Test
+  @DisplayName("getById(Long) - cached return")
+  final void getById_cachedReturn() throws Exception {
+    Long id = 1L;
+    PlayerSummary player = new PlayerSummary(id, "username", 1);
+    when(this.playerRepository.findPlayerSummaryById(id))
+        .thenReturn(Optional.of(player));
+    assertEquals(this.playerService.getById(id), player);
+    assertEquals(this.playerService.getById(id), player);
+    verify(this.playerRepository, times(1)).findPlayerSummaryById(id);
+  }
+
   @Test
   @DisplayName("getByUsername(String) - normal return")
   final void getByUsername_normalReturn() throws Exception {
@@ -110,6 +276,28 @@ class DefaultPlayerServiceTest {
     assertThrows(PlayerNotFoundException.class, () -> this.playerService.getByUsername(username));
   }
 
+  @Test
+  @DisplayName("getByUsername(String) - filtered out")
+  final void getByUsername_filteredOut() throws Exception {
+    String username = "username";
+    when(this.playerUsernameFilter.mightContain(username))
+        .thenReturn(false);
+    assertThrows(PlayerNotFoundException.class, () -> this.playerService.getByUsername(username));
+    verify(this.playerRepository, times(0)).findPlayerSummaryByUsername(username);
+    verify(this.transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  @DisplayName("findVersionByUsername(String) - filtered out")
+  final void findVersionByUsername_filteredOut() throws Exception {
+    String username = "username";
+    when(this.playerUsernameFilter.mightContain(username))
+        .thenReturn(false);
+    assertEquals(this.playerService.findVersionByUsername(username), Optional.empty());
+    verify(this.playerRepository, times(0)).findPlayerVersionByUsername(username);
+    verify(this.transactionManager, never()).getTransaction(any());
+  }
+
   @Test
   @DisplayName("getPlayersWithBestResult() - normal return")
   final void getPlayerWithBestResult_normalReturn() throws Exception {
@@ -126,6 +314,70 @@ class DefaultPlayerServiceTest {
     assertEquals(this.playerService.getPlayersWithBestResult(), Collections.emptyList());
   }
 
+  @Test
+  @DisplayName("getPlayersWithBestResult() - loaded leaderboard")
+  final void getPlayerWithBestResult_loadedLeaderboard() throws Exception {
+    when(this.playerLeaderboard.isLoaded())
+        .thenReturn(true);
+    when(this.playerLeaderboard.getPlayersWithBestResult())
+        .thenReturn(this.existingPlayers);
+    assertEquals(this.playerService.getPlayersWithBestResult(), this.existingPlayers);
+    verify(this.transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  @DisplayName("getTopPlayers(int) - loaded leaderboard")
+  final void getTopPlayers_loadedLeaderboard() throws Exception {
+    when(this.playerLeaderboard.isLoaded())
+        .thenReturn(true);
+    when(this.playerLeaderboard.getTopPlayers(2))
+        .thenReturn(this.existingPlayers.subList(0, 2));
+    assertEquals(this.playerService.getTopPlayers(2), this.existingPlayers.subList(0, 2));
+    verify(this.transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  @DisplayName("getTopPlayers(int) - not loaded leaderboard")
+  final void getTopPlayers_notLoadedLeaderboard() throws Exception {
+    when(this.playerRepository.findPlayerSummariesOrderedByBestResult(any()))
+        .thenReturn(this.existingPlayers);
+    assertEquals(this.playerService.getTopPlayers(3), this.existingPlayers);
+  }
+
+  @Test
+  @DisplayName("getRankById(Long) - loaded leaderboard")
+  final void getRankById_loadedLeaderboard() throws Exception {
+    PlayerRank rank = new PlayerRank(2L, "username2", 2, 2, 2);
+    when(this.playerLeaderboard.isLoaded())
+        .thenReturn(true);
+    when(this.playerLeaderboard.getRank(2L))
+        .thenReturn(Optional.of(rank));
+    assertEquals(this.playerService.getRankById(2L), rank);
+    verify(this.transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  @DisplayName("getRankById(Long) - not loaded leaderboard")
+  final void getRankById_notLoadedLeaderboard() throws Exception {
+    when(this.playerRepository.findPlayerSummaryById(3L))
+        .thenReturn(Optional.of(this.existingPlayers.get(2)));
+    when(this.playerRepository.countPlayersWithBetterResult(3))
+        .thenReturn(2L);
+    when(this.playerRepository.countResultsBetterThan(3))
+        .thenReturn(2L);
+    assertEquals(this.playerService.getRankById(3L), new PlayerRank(3L, "username3", 3, 3, 3));
+  }
+
+  @Test
+  @DisplayName("getRankById(Long) - player not found")
+  final void getRankById_playerNotFound() throws Exception {
+    when(this.playerLeaderboard.isLoaded())
+        .thenReturn(true);
+    when(this.playerLeaderboard.getRank(1L))
+        .thenReturn(Optional.empty());
+    assertThrows(PlayerNotFoundException.class, () -> this.playerService.getRankById(1L));
+  }
+
   @Test
   @DisplayName("create(PlayerSummary) - normal return")
   final void create_normalReturn() throws Exception {
@@ -162,107 +414,245 @@ class DefaultPlayerServiceTest {
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - authenticated with matching username")
-  @WithMockUser(roles = "USER", username = "username")
-  final void update_authenticatedWithMatchingUsername() throws Exception {
-    Long id = 1L;
+  @DisplayName("createAll(Iterator) - created and failed players")
+  final void createAll_createdAndFailedPlayers() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
+    List<PlayerSummary> players = Arrays.asList(
+        player,
+        new PlayerSummary(null, "username2", -1),
+        new PlayerSummary(null, "username", 2),
+        new PlayerSummary(null, "existing", 3),
+        null);
     PlayerEntity playerEntity = new PlayerEntity();
-    playerEntity.setUsername("username");
-    when(this.playerRepository.findById(id))
-        .thenReturn(Optional.of(playerEntity));
-    assertDoesNotThrow(() -> this.playerService.update(id, player));
+    playerEntity.setUsername(player.getUsername());
+    playerEntity.setBestAttemptsCount(player.getBestAttemptsCount());
+    PlayerSummary savedPlayer = new PlayerSummary(1L, "username", 1);
+    when(this.playerRepository.findExistingUsernames(any()))
+        .thenReturn(List.of("existing"));
+    when(this.playerMapper.playerSummaryToPlayerEntity(List.of(player)))
+        .thenReturn(List.of(playerEntity));
+    when(this.playerRepository.saveAll(List.of(playerEntity)))
+        .thenReturn(List.of(playerEntity));
+    when(this.playerMapper.playerEntityToPlayerSummary(playerEntity))
+        .thenReturn(savedPlayer);
+    assertEquals(this.playerService.createAll(players.iterator()), List.of(
+        PlayerBatchResult.created(0, savedPlayer),
+        PlayerBatchResult.failed(1, "Best attempts count must be positive"),
+        PlayerBatchResult.failed(2, "Duplicating username"),
+        PlayerBatchResult.failed(3, "Duplicating username"),
+        PlayerBatchResult.failed(4, "Malformed player")));
+  }
+
+  @Test
+  @DisplayName("update(Long, PlayerSummary, Integer) - authenticated as owner")
+  @WithMockUser(roles = "USER", username = "username")
+  final void update_authenticatedAsOwner() throws Exception {
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, false, 3, "username"))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.UPDATED, player, 4));
+    assertEquals(this.playerService.update(1L, player, 3), new PlayerVersion(1L, 4));
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - authenticated with role 'ADMIN'")
+  @DisplayName("update(Long, PlayerSummary, Integer) - authenticated with role 'ADMIN'")
   @WithMockUser(roles = "ADMIN")
   final void update_authenticatedWithRoleAdmin() throws Exception {
-    Long id = 1L;
-    PlayerSummary player = new PlayerSummary(null, "username", 1);
-    PlayerEntity playerEntity = new PlayerEntity();
-    when(this.playerRepository.findById(id))
-        .thenReturn(Optional.of(playerEntity));
-    assertDoesNotThrow(() -> this.playerService.update(id, player));
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, false, null, null))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.UPDATED, player, 4));
+    assertEquals(this.playerService.update(1L, player, null), new PlayerVersion(1L, 4));
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - unauthenticated")
+  @DisplayName("update(Long, PlayerSummary, Integer) - unauthenticated")
   final void update_unauthenticated() throws Exception {
-    Long id = 1L;
     PlayerSummary player = new PlayerSummary(null, "username", 1);
-    PlayerEntity playerEntity = new PlayerEntity();
-    playerEntity.setUsername("username");
-    when(this.playerRepository.findById(id))
-        .thenReturn(Optional.of(playerEntity));
     assertThrows(AuthenticationCredentialsNotFoundException.class,
-        () -> this.playerService.update(id, player));
+        () -> this.playerService.update(1L, player, null));
   }
 
   @Test
-  @DisplayName("update(Long, PlayerSummary) - authenticated with not matching username")
+  @DisplayName("update(Long, PlayerSummary, Integer) - authenticated with not matching username")
   @WithMockUser(username = "notMatchingUsername", roles = "USER")
   final void update_authenticatedWithNotMatchingUsername() throws Exception {
-    Long id = 1L;
     PlayerSummary player = new PlayerSummary(null, "username", 1);
-    PlayerEntity playerEntity = new PlayerEntity();
-    playerEntity.setUsername("username");
-    when(this.playerRepository.findById(id))
-        .thenReturn(Optional.of(playerEntity));
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, false, null,
+        "notMatchingUsername"))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.NOT_PERMITTED, null, null));
     assertThrows(AccessDeniedException.class,
-        () -> this.playerService.update(id, player));
+        () -> this.playerService.update(1L, player, null));
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - authenticated with matching username")
-  @WithMockUser(roles = "USER", username = "username")
-  final void patch_authenticatedWithMatchingUsername() throws Exception {
-    Long id = 1L;
+  @DisplayName("update(Long, PlayerSummary, Integer) - player not found")
+  @WithMockUser(roles = "ADMIN")
+  final void update_playerNotFound() throws Exception {
     PlayerSummary player = new PlayerSummary(null, "username", 1);
-    PlayerEntity playerEntity = new PlayerEntity();
-    playerEntity.setUsername("username");
-    when(this.playerRepository.findById(id))
-        .thenReturn(Optional.of(playerEntity));
-    assertDoesNotThrow(() -> this.playerService.patch(id, player));
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, false, null, null))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.NOT_FOUND, null, null));
+    assertThrows(PlayerNotFoundException.class,
+        () -> this.playerService.update(1L, player, null));
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - authenticated with role 'ADMIN'")
+  @DisplayName("update(Long, PlayerSummary, Integer) - version mismatch")
+  @WithMockUser(roles = "ADMIN")
+  final void update_versionMismatch() throws Exception {
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, false, 3, null))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.VERSION_MISMATCH, player, 5));
+    assertThrows(PlayerVersionMismatchException.class,
+        () -> this.playerService.update(1L, player, 3));
+  }
+
+  @Test
+  @DisplayName("patch(Long, PlayerSummary, Integer) - authenticated as owner")
+  @WithMockUser(roles = "USER", username = "username")
+  final void patch_authenticatedAsOwner() throws Exception {
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, true, 3, "username"))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.UPDATED, player, 4));
+    assertEquals(this.playerService.patch(1L, player, 3), new PlayerVersion(1L, 4));
+  }
+
+  @Test
+  @DisplayName("patch(Long, PlayerSummary, Integer) - authenticated with role 'ADMIN'")
   @WithMockUser(roles = "ADMIN")
   final void patch_authenticatedWithRoleAdmin() throws Exception {
-    Long id = 1L;
-    PlayerSummary player = new PlayerSummary(null, "username", 1);
-    PlayerEntity playerEntity = new PlayerEntity();
-    when(this.playerRepository.findById(id))
-        .thenReturn(Optional.of(playerEntity));
-    assertDoesNotThrow(() -> this.playerService.patch(id, player));
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, true, null, null))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.UPDATED, player, 4));
+    assertEquals(this.playerService.patch(1L, player, null), new PlayerVersion(1L, 4));
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - unauthenticated")
+  @DisplayName("patch(Long, PlayerSummary, Integer) - unauthenticated")
   final void patch_unauthenticated() throws Exception {
-    Long id = 1L;
     PlayerSummary player = new PlayerSummary(null, "username", 1);
-    PlayerEntity playerEntity = new PlayerEntity();
-    playerEntity.setUsername("username");
-    when(this.playerRepository.findById(id))
-        .thenReturn(Optional.of(playerEntity));
     assertThrows(AuthenticationCredentialsNotFoundException.class,
-        () -> this.playerService.patch(id, player));
+        () -> this.playerService.patch(1L, player, null));
   }
 
   @Test
-  @DisplayName("patch(Long, PlayerSummary) - authenticated with not matching username")
+  @DisplayName("patch(Long, PlayerSummary, Integer) - authenticated with not matching username")
   @WithMockUser(username = "notMatchingUsername", roles = "USER")
   final void patch_authenticatedWithNotMatchingUsername() throws Exception {
-    Long id = 1L;
     PlayerSummary player = new PlayerSummary(null, "username", 1);
-    PlayerEntity playerEntity = new PlayerEntity();
-    playerEntity.setUsername("username");
-    when(this.playerRepository.findById(id))
-        .thenReturn(Optional.of(playerEntity));
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, true, null,
+        "notMatchingUsername"))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.NOT_PERMITTED, null, null));
+    assertThrows(AccessDeniedException.class,
+        () -> this.playerService.patch(1L, player, null));
+  }
+
+  @Test
+  @DisplayName("patch(Long, PlayerSummary, Integer) - player not found")
+  @WithMockUser(roles = "ADMIN")
+  final void patch_playerNotFound() throws Exception {
+    PlayerSummary player = new PlayerSummary(null, "username", 1);
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, true, null, null))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.NOT_FOUND, null, null));
+    assertThrows(PlayerNotFoundException.class,
+        () -> this.playerService.patch(1L, player, null));
+  }
+
+  @Test
+  @DisplayName("patch(Long, PlayerSummary, Integer) - version mismatch")
+  @WithMockUser(roles = "ADMIN")
+  final void patch_versionMismatch() throws Exception {
+    PlayerSummary player = new PlayerSummary(1L, "username", 1);
+    when(this.playerRepository.updateBestAttemptsCount(1L, 1, true, 3, null))
+        .thenReturn(new PlayerUpdate(PlayerUpdate.Status.VERSION_MISMATCH, player, 5));
+    assertThrows(PlayerVersionMismatchException.class,
+        () -> this.playerService.patch(1L, player, 3));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - authenticated as owner")
+  @WithMockUser(roles = "USER", username = "username1")
+  final void improveBestResult_authenticatedAsOwner() throws Exception {
+    BestResultUpdate update = new BestResultUpdate(BestResultUpdate.Status.IMPROVED,
+        new PlayerSummary(1L, "username1", 1));
+    when(this.playerRepository.improveBestResult(1L, 1, "username1"))
+        .thenReturn(update);
+    assertEquals(this.playerService.improveBestResult(1L, 1), update);
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - authenticated as admin")
+  @WithMockUser(roles = { "USER", "ADMIN" }, username = "admin")
+  final void improveBestResult_authenticatedAsAdmin() throws Exception {
+    BestResultUpdate update = new BestResultUpdate(BestResultUpdate.Status.NOT_IMPROVED,
+        new PlayerSummary(1L, "username1", 1));
+    when(this.playerRepository.improveBestResult(1L, 2, null))
+        .thenReturn(update);
+    assertEquals(this.playerService.improveBestResult(1L, 2), update);
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - not owner")
+  @WithMockUser(roles = "USER", username = "username2")
+  final void improveBestResult_notOwner() throws Exception {
+    when(this.playerRepository.improveBestResult(1L, 1, "username2"))
+        .thenReturn(new BestResultUpdate(BestResultUpdate.Status.NOT_PERMITTED, null));
+    assertThrows(AccessDeniedException.class, () -> this.playerService.improveBestResult(1L, 1));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - player not found")
+  @WithMockUser(roles = "USER", username = "username1")
+  final void improveBestResult_playerNotFound() throws Exception {
+    when(this.playerRepository.improveBestResult(1L, 1, "username1"))
+        .thenReturn(new BestResultUpdate(BestResultUpdate.Status.NOT_FOUND, null));
+    assertThrows(PlayerNotFoundException.class,
+        () -> this.playerService.improveBestResult(1L, 1));
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - write-behind")
+  @WithMockUser(roles = "USER", username = "username1")
+  final void improveBestResult_writeBehind() throws Exception {
+    PlayerSummary player = new PlayerSummary(1L, "username1", 5);
+    when(this.bestResultBuffer.isEnabled())
+        .thenReturn(true);
+    when(this.playerRepository.findPlayerSummaryById(1L))
+        .thenReturn(Optional.of(player));
+    assertEquals(this.playerService.improveBestResult(1L, 3),
+        new BestResultUpdate(BestResultUpdate.Status.ACCEPTED, player));
+    verify(this.bestResultBuffer).submit(1L, 3);
+  }
+
+  @Test
+  @DisplayName("improveBestResult(Long, int) - write-behind, not owner")
+  @WithMockUser(roles = "USER", username = "username2")
+  final void improveBestResult_writeBehindNotOwner() throws Exception {
+    when(this.bestResultBuffer.isEnabled())
+        .thenReturn(true);
+    when(this.playerRepository.findPlayerSummaryById(1L))
+        .thenReturn(Optional.of(new PlayerSummary(1L, "username1", 5)));
+    assertThrows(AccessDeniedException.class, () -> this.playerService.improveBestResult(1L, 3));
+    verify(this.bestResultBuffer, times(0)).submit(any(), eq(3));
+  }
+
+  @Test
+  @DisplayName("improveBestResults(List) - authenticated as admin")
+  @WithMockUser(roles = "ADMIN")
+  final void improveBestResults_authenticatedAsAdmin() throws Exception {
+    List<BestResult> results = List.of(new BestResult(1L, 7), new BestResult(2L, 9),
+        new BestResult(1L, 5));
+    TreeMap<Long, Integer> bestAttemptsCounts = new TreeMap<>(Map.of(1L, 5, 2L, 9));
+    List<PlayerSummary> changedPlayers = List.of(new PlayerSummary(1L, "username1", 5));
+    when(this.playerRepository.improveBestResults(bestAttemptsCounts))
+        .thenReturn(changedPlayers);
+    assertEquals(this.playerService.improveBestResults(results), changedPlayers);
+  }
+
+  @Test
+  @DisplayName("improveBestResults(List) - authenticated as user")
+  @WithMockUser(roles = "USER")
+  final void improveBestResults_authenticatedAsUser() throws Exception {
     assertThrows(AccessDeniedException.class,
-        () -> this.playerService.patch(id, player));
+        () -> this.playerService.improveBestResults(List.of(new BestResult(1L, 5))));
   }
 
   @Test
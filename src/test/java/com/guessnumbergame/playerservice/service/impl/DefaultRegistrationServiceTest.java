@@ -2,7 +2,6 @@ package com.guessnumbergame.playerservice.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
@@ -16,13 +15,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.UserDetailsManager;
 
 import com.guessnumbergame.playerservice.Application;
 import com.guessnumbergame.playerservice.dto.PlayerSummary;
 import com.guessnumbergame.playerservice.dto.RegistrationForm;
 import com.guessnumbergame.playerservice.dto.User;
-import com.guessnumbergame.playerservice.service.PlayerService;
+import com.guessnumbergame.playerservice.repository.PlayerRepository;
 
 @SpringBootTest(classes = Application.class)
 @DisplayName("DefaultRegistrationService")
@@ -31,14 +29,11 @@ import com.guessnumbergame.playerservice.service.PlayerService;
 class DefaultRegistrationServiceTest {
 
   @MockBean
-  private UserDetailsManager userDetailsManager;
+  private PlayerRepository playerRepository;
 
   @MockBean
   private PasswordEncoder passwordEncoder;
 
-  @MockBean
-  private PlayerService playerService;
-
   @Autowired
   DefaultRegistrationService registrationService;
 
@@ -49,11 +44,11 @@ class DefaultRegistrationServiceTest {
     byte[] credentialsBytes = credentials.getBytes(StandardCharsets.UTF_8);
     String encodedCredentials = Base64.getEncoder().encodeToString(credentialsBytes);
     RegistrationForm registrationForm = new RegistrationForm(encodedCredentials);
-    PlayerSummary player = new PlayerSummary(null, "username", null);
+    User user = new User("username", "password");
     PlayerSummary savedPlayer = new PlayerSummary(1L, "username", null);
     when(this.passwordEncoder.encode("password"))
         .thenReturn("password");
-    when(this.playerService.create(player))
+    when(this.playerRepository.createWithUser(user))
         .thenReturn(savedPlayer);
     assertEquals(this.registrationService.register(registrationForm), savedPlayer);
   }
@@ -68,8 +63,8 @@ class DefaultRegistrationServiceTest {
     User user = new User("username", "password");
     when(this.passwordEncoder.encode("password"))
         .thenReturn("password");
-    doThrow(DuplicateKeyException.class)
-        .when(this.userDetailsManager).createUser(user);
+    when(this.playerRepository.createWithUser(user))
+        .thenThrow(DuplicateKeyException.class);
     assertThrows(DuplicateKeyException.class,
         () -> this.registrationService.register(registrationForm));
   }
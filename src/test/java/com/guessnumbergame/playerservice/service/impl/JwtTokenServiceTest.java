@@ -0,0 +1,97 @@
+package com.guessnumbergame.playerservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.guessnumbergame.playerservice.Application;
+import com.guessnumbergame.playerservice.config.security.TokenSecurityConfig;
+import com.guessnumbergame.playerservice.dto.AccessToken;
+import com.guessnumbergame.playerservice.dto.BestResultUpdate;
+import com.guessnumbergame.playerservice.dto.PlayerSummary;
+import com.guessnumbergame.playerservice.service.PlayerService;
+
+@SpringBootTest(classes = Application.class, properties = {
+    "app.security.token.enabled=true",
+    "app.security.token.secret=dGVzdC10b2tlbi1zZWNyZXQtdGVzdC10b2tlbi1zZWNyZXQtdGVzdA==",
+    "app.security.token.issuer=test",
+    "app.security.token.time-to-live=PT15M" })
+@DisplayName("JwtTokenService")
+@Tag("service")
+@Tag("security")
+@AutoConfigureMockMvc
+class JwtTokenServiceTest {
+
+  @MockBean
+  private PlayerService playerService;
+
+  @Autowired
+  private JwtTokenService tokenService;
+
+  @Autowired
+  private JwtDecoder tokenDecoder;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  @DisplayName("issue(Authentication) - normal return")
+  final void issue_normalReturn() throws Exception {
+    AccessToken accessToken = this.tokenService.issue(
+        new TestingAuthenticationToken("username", null, "ROLE_USER"));
+    Jwt jwt = this.tokenDecoder.decode(accessToken.getToken());
+    assertEquals("username", jwt.getSubject());
+    assertEquals(List.of("ROLE_USER"), jwt.getClaimAsStringList(TokenSecurityConfig.ROLES_CLAIM));
+    assertEquals("Bearer", accessToken.getTokenType());
+    assertEquals(900L, accessToken.getExpiresIn());
+  }
+
+  @Test
+  @DisplayName("issue(Authentication) - token authenticates players requests")
+  final void issue_tokenAuthenticatesPlayersRequests() throws Exception {
+    AccessToken accessToken = this.tokenService.issue(
+        new TestingAuthenticationToken("username1", null, "ROLE_USER"));
+    when(this.playerService.improveBestResult(1L, 5))
+        .thenReturn(new BestResultUpdate(BestResultUpdate.Status.IMPROVED,
+            new PlayerSummary(1L, "username1", 5)));
+    MvcResult mvcResult = this.mockMvc.perform(patch("/players/1/bestResult")
+        .param("bestAttemptsCount", "5")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken.getToken())
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andReturn();
+    assertNull(mvcResult.getRequest().getSession(false));
+  }
+
+  @Test
+  @DisplayName("issue(Authentication) - tampered token")
+  final void issue_tamperedToken() throws Exception {
+    AccessToken accessToken = this.tokenService.issue(
+        new TestingAuthenticationToken("username1", null, "ROLE_USER"));
+    this.mockMvc.perform(patch("/players/1/bestResult")
+        .param("bestAttemptsCount", "5")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken.getToken() + "x")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isUnauthorized());
+  }
+
+}